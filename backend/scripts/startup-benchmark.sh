@@ -0,0 +1,82 @@
+#!/usr/bin/env sh
+# Startup benchmark: time-to-first-request of the plain fat jar (before)
+# versus the fast-startup build (AOT + AppCDS + prod profile, after).
+#
+# Requires a reachable, migrated database (the default datasource settings,
+# or SPRING_DATASOURCE_* env vars). Run from the backend directory:
+#
+#   ./scripts/startup-benchmark.sh [runs]
+#
+# "First request" is GET /actuator/health, which goes through the full
+# security filter chain.
+
+set -eu
+
+RUNS="${1:-5}"
+MVN="${MVN:-sh ./mvnw}"
+PORT="${BENCH_PORT:-18080}"
+WORK_DIR="${TMPDIR:-/tmp}/travelplanner-startup-benchmark"
+URL="http://localhost:${PORT}/actuator/health"
+
+rm -rf "$WORK_DIR"
+mkdir -p "$WORK_DIR/before" "$WORK_DIR/after"
+
+echo "==> Building plain jar"
+$MVN -q -DskipTests clean package > "$WORK_DIR/build-before.log" 2>&1
+cp target/*-SNAPSHOT.jar "$WORK_DIR/before/app.jar"
+
+echo "==> Building fast-startup jar and training the CDS archive"
+$MVN -q -DskipTests -Pfast-startup clean package > "$WORK_DIR/build-after.log" 2>&1
+mkdir -p "$WORK_DIR/after/build"
+cp target/*-SNAPSHOT.jar "$WORK_DIR/after/build/app.jar"
+(
+  cd "$WORK_DIR/after/build"
+  java -Djarmode=tools -jar app.jar extract --destination ../application
+)
+(
+  cd "$WORK_DIR/after/application"
+  java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+       -Dspring.aot.enabled=true -Dspring.profiles.active=prod \
+       -jar app.jar > training.log 2>&1
+)
+
+now_ms() {
+  # date +%s%N is not portable to every sh; fall back to python when needed
+  date +%s%3N 2>/dev/null | grep -v N || python3 -c 'import time; print(int(time.time() * 1000))'
+}
+
+measure() {
+  label="$1"
+  dir="$2"
+  shift 2
+  total=0
+  results=""
+  i=1
+  while [ "$i" -le "$RUNS" ]; do
+    start=$(now_ms)
+    (cd "$dir" && exec java "$@" -Dserver.port="$PORT" -jar app.jar > "run-$i.log" 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$label run $i: application exited, see $dir/run-$i.log" >&2
+        exit 1
+      fi
+      sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    results="$results $elapsed"
+    total=$(( total + elapsed ))
+    i=$(( i + 1 ))
+  done
+  sorted=$(echo "$results" | tr ' ' '\n' | grep -v '^$' | sort -n)
+  min=$(echo "$sorted" | head -n 1)
+  median=$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")
+  printf '%-8s runs=%s min=%sms median=%sms mean=%sms\n' "$label" "$RUNS" "$min" "$median" "$(( total / RUNS ))"
+}
+
+echo "==> Measuring time-to-first-request"
+measure before "$WORK_DIR/before"
+measure after "$WORK_DIR/after/application" \
+  -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod
@@ -1,24 +1,44 @@
 package com.travelapp.travelplanner.booking.controller;
 
+import com.travelapp.travelplanner.booking.dto.BookingPageResponse;
 import com.travelapp.travelplanner.booking.dto.BookingRequest;
 import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.dto.BookingSearchCriteria;
+import com.travelapp.travelplanner.booking.dto.DailyBookingStatsResponse;
 import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.service.BookingArchiveService;
+import com.travelapp.travelplanner.booking.service.BookingIdempotencyService;
+import com.travelapp.travelplanner.booking.service.BookingRollupService;
 import com.travelapp.travelplanner.booking.service.BookingService;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/bookings")
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingIdempotencyService bookingIdempotencyService;
+    private final BookingArchiveService bookingArchiveService;
+    private final BookingRollupService bookingRollupService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+                             BookingIdempotencyService bookingIdempotencyService,
+                             BookingArchiveService bookingArchiveService,
+                             BookingRollupService bookingRollupService) {
         this.bookingService = bookingService;
+        this.bookingIdempotencyService = bookingIdempotencyService;
+        this.bookingArchiveService = bookingArchiveService;
+        this.bookingRollupService = bookingRollupService;
     }
 
     private Long getUserIdFromRequest(HttpServletRequest request) {
@@ -29,20 +49,24 @@ public class BookingController {
         throw new IllegalStateException("User ID not found in request. Is JWT filter configured?");
     }
 
-    // USER: create booking
+    // USER: create booking; retries with the same Idempotency-Key return the first booking
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(@RequestBody BookingRequest request,
+                                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                                          HttpServletRequest httpRequest) {
         Long userId = getUserIdFromRequest(httpRequest);
-        BookingResponse created = bookingService.createBooking(userId, request);
+        BookingResponse created = idempotencyKey == null
+                ? bookingService.createBooking(userId, request)
+                : bookingIdempotencyService.createBooking(userId, idempotencyKey, request);
         return ResponseEntity.ok(created);
     }
 
-    // USER: list own bookings
+    // USER: list own bookings; includeArchived adds finished and cancelled ones from the archive
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getMyBookings(HttpServletRequest httpRequest) {
+    public ResponseEntity<List<BookingResponse>> getMyBookings(@RequestParam(defaultValue = "false") boolean includeArchived,
+                                                               HttpServletRequest httpRequest) {
         Long userId = getUserIdFromRequest(httpRequest);
-        List<BookingResponse> bookings = bookingService.getUserBookings(userId);
+        List<BookingResponse> bookings = bookingService.getUserBookings(userId, includeArchived);
         return ResponseEntity.ok(bookings);
     }
 
@@ -67,17 +91,74 @@ public class BookingController {
     // ADMIN: view all bookings
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin")
-    public ResponseEntity<List<BookingResponse>> getAll() {
-        List<BookingResponse> all = bookingService.getAllBookings();
+    public ResponseEntity<List<BookingResponse>> getAll(@RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<BookingResponse> all = bookingService.getAllBookings(includeArchived);
         return ResponseEntity.ok(all);
     }
 
-    // ADMIN: update status
+    // ADMIN: filtered bookings a page at a time; pass the returned nextCursor to get the next page
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/search")
+    public ResponseEntity<BookingPageResponse> search(@RequestParam(required = false) BookingStatus status,
+                                                      @RequestParam(required = false) Long destinationId,
+                                                      @RequestParam(required = false) String email,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startFrom,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startTo,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                                      @RequestParam(defaultValue = "desc") String order,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int size) {
+        BookingSearchCriteria criteria = new BookingSearchCriteria(status, destinationId, null,
+                startFrom, startTo, createdFrom, createdTo);
+        boolean ascending = switch (order.toLowerCase()) {
+            case "asc" -> true;
+            case "desc" -> false;
+            default -> throw new BadRequestException("order must be asc or desc");
+        };
+        return ResponseEntity.ok(bookingService.searchBookings(criteria, email, ascending, cursor, size));
+    }
+
+    // ADMIN: run the archival job now instead of waiting for its schedule
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/archive")
+    public ResponseEntity<Map<String, Integer>> archive() {
+        return ResponseEntity.ok(Map.of("archived", bookingArchiveService.archive()));
+    }
+
+    // ADMIN: daily booking totals over [from, to], of all destinations or one; read from the rollups only
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/stats/daily")
+    public ResponseEntity<List<DailyBookingStatsResponse>> getDailyStats(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                         @RequestParam(required = false) Long destinationId) {
+        return ResponseEntity.ok(bookingRollupService.getDailySeries(from, to, destinationId));
+    }
+
+    // ADMIN: rebuild the rollups of [from, to]; without from, since the first booking
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/stats/backfill")
+    public ResponseEntity<Map<String, Long>> backfillStats(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(Map.of("days", bookingRollupService.backfill(from, to)));
+    }
+
+    // ADMIN: bookings of one destination starting within [from, to]
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/destination/{destinationId}")
+    public ResponseEntity<List<BookingResponse>> getForDestination(@PathVariable Long destinationId,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(bookingService.getDestinationBookings(destinationId, from, to));
+    }
+
+    // ADMIN: update status; with version, only if the booking is still at that version
     @PreAuthorize("hasRole('ADMIN')")
     @PatchMapping("/admin/{id}/status")
     public ResponseEntity<BookingResponse> updateStatus(@PathVariable Long id,
-                                                        @RequestParam BookingStatus status) {
-        BookingResponse updated = bookingService.updateStatus(id, status);
+                                                        @RequestParam BookingStatus status,
+                                                        @RequestParam(required = false) Long version) {
+        BookingResponse updated = bookingService.updateStatus(id, status, version);
         return ResponseEntity.ok(updated);
     }
 }
@@ -0,0 +1,14 @@
+package com.travelapp.travelplanner.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of a search; nextCursor is null on the last page
+@Data
+@AllArgsConstructor
+public class BookingPageResponse {
+    private List<BookingResponse> items;
+    private String nextCursor;
+}
@@ -5,6 +5,7 @@ import com.travelapp.travelplanner.destination.model.Destination;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -18,5 +19,8 @@ public class BookingResponse {
     private LocalDate endDate;
     private Integer travelers;
     private BookingStatus status;
+    private BigDecimal totalPrice;
     private LocalDateTime createdAt;
+    // Pass back with a status change to have it fail if the booking changed meanwhile; null for archived bookings
+    private Long version;
 }
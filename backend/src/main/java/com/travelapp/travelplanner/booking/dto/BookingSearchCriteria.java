@@ -0,0 +1,21 @@
+package com.travelapp.travelplanner.booking.dto;
+
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Admin search filters; null fields do not filter. Date and time bounds are inclusive
+@Data
+@AllArgsConstructor
+public class BookingSearchCriteria {
+    private BookingStatus status;
+    private Long destinationId;
+    private Long userId;
+    private LocalDate startFrom;
+    private LocalDate startTo;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
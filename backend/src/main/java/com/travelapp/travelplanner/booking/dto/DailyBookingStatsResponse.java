@@ -0,0 +1,19 @@
+package com.travelapp.travelplanner.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Bookings created on one day: bookings, travelers and revenue count those not cancelled
+@Data
+@AllArgsConstructor
+public class DailyBookingStatsResponse {
+
+    private LocalDate day;
+    private long bookings;
+    private long cancelled;
+    private long travelers;
+    private BigDecimal revenue;
+}
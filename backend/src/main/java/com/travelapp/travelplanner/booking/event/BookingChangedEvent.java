@@ -0,0 +1,15 @@
+package com.travelapp.travelplanner.booking.event;
+
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+
+// Published by BookingService; previousStatus is null for newly created bookings
+public record BookingChangedEvent(Long bookingId,
+                                  Long userId,
+                                  Long destinationId,
+                                  BookingStatus previousStatus,
+                                  BookingStatus status) {
+
+    public boolean isCreation() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.travelapp.travelplanner.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Progress of a batch job over bookings, so an interrupted pass resumes where it stopped
+@Entity
+@Table(name = "archive_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    @Column(nullable = false)
+    private Long lastId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
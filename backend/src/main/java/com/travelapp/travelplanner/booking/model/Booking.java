@@ -5,6 +5,7 @@ import com.travelapp.travelplanner.user.model.User;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -44,6 +45,15 @@ public class Booking {
     @Column(nullable = false)
     private BookingStatus status;
 
+    // Price of the whole stay when booked; null if the destination had no price
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalPrice;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
+
+    // Bumped by every status change (BookingRepository.transition)
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,38 @@
+package com.travelapp.travelplanner.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Totals of the bookings created on one day for one destination, by current status
+@Entity
+@Table(name = "booking_daily_rollups")
+@IdClass(BookingDailyRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDailyRollup {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    private Long destinationId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private BookingStatus status;
+
+    @Column(nullable = false)
+    private Integer bookings;
+
+    @Column(nullable = false)
+    private Integer travelers;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,18 @@
+package com.travelapp.travelplanner.booking.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class BookingDailyRollupId implements Serializable {
+
+    private LocalDate day;
+    private Long destinationId;
+    private BookingStatus status;
+}
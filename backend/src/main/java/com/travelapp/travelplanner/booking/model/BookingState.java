@@ -0,0 +1,34 @@
+package com.travelapp.travelplanner.booking.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Column values of one booking, read without loading the entity and its
+ * destination. Status changes are decided on this snapshot and applied with
+ * a conditional update on (status, version).
+ */
+public record BookingState(Long id,
+                           Long userId,
+                           Long destinationId,
+                           LocalDate startDate,
+                           LocalDate endDate,
+                           Integer travelers,
+                           BookingStatus status,
+                           BigDecimal totalPrice,
+                           LocalDateTime createdAt,
+                           Long version) {
+
+    public static BookingState of(Booking booking) {
+        return new BookingState(booking.getId(), booking.getUser().getId(), booking.getDestination().getId(),
+                booking.getStartDate(), booking.getEndDate(), booking.getTravelers(), booking.getStatus(),
+                booking.getTotalPrice(), booking.getCreatedAt(), booking.getVersion());
+    }
+
+    // The state after a successful transition to status
+    public BookingState moveTo(BookingStatus status) {
+        return new BookingState(id, userId, destinationId, startDate, endDate, travelers, status,
+                totalPrice, createdAt, version + 1);
+    }
+}
@@ -1,7 +1,24 @@
 package com.travelapp.travelplanner.booking.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum BookingStatus {
     PENDING,
     CONFIRMED,
-    CANCELLED
+    CANCELLED;
+
+    // Statuses a booking may move to from this one; CANCELLED is final.
+    // CONFIRMED -> PENDING is the admin's "Set Pending", undoing a confirmation made by mistake.
+    public Set<BookingStatus> next() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(CONFIRMED, CANCELLED);
+            case CONFIRMED -> EnumSet.of(PENDING, CANCELLED);
+            case CANCELLED -> EnumSet.noneOf(BookingStatus.class);
+        };
+    }
+
+    public boolean canMoveTo(BookingStatus target) {
+        return next().contains(target);
+    }
 }
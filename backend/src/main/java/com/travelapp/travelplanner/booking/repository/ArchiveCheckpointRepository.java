@@ -0,0 +1,15 @@
+package com.travelapp.travelplanner.booking.repository;
+
+import com.travelapp.travelplanner.booking.model.ArchiveCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ArchiveCheckpointRepository extends JpaRepository<ArchiveCheckpoint, String> {
+
+    // Row lock: one instance at a time works on a job. Plain FOR UPDATE rather
+    // than @Lock, whose "for update of <alias>" MariaDB does not accept
+    @Query(value = "select * from archive_checkpoints where job_name = :jobName for update", nativeQuery = true)
+    Optional<ArchiveCheckpoint> findForUpdate(String jobName);
+}
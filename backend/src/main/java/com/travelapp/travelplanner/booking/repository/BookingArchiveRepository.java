@@ -0,0 +1,31 @@
+package com.travelapp.travelplanner.booking.repository;
+
+import com.travelapp.travelplanner.booking.model.ArchivedBooking;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingArchiveRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    // Served by idx_bookings_archive_user_created
+    List<ArchivedBooking> findByUser_IdOrderByCreatedAtDesc(Long userId);
+
+    // Served by idx_bookings_archive_created
+    List<ArchivedBooking> findAllByOrderByCreatedAtDesc();
+
+    // Moves rows as they are; the caller deletes them from bookings in the same transaction
+    @Modifying
+    @Query(value = "insert into bookings_archive " +
+            "(id, user_id, destination_id, start_date, end_date, travelers, status, total_price, created_at, archived_at) " +
+            "select id, user_id, destination_id, start_date, end_date, travelers, status, total_price, created_at, :archivedAt " +
+            "from bookings where id in (:ids)", nativeQuery = true)
+    int copyFromBookings(List<Long> ids, LocalDateTime archivedAt);
+
+    // Archived trips still count for recommendations
+    @Query("select b.user.id, b.destination.id from ArchivedBooking b where b.status <> :excluded")
+    List<Object[]> findUserDestinationPairsExcludingStatus(BookingStatus excluded);
+}
@@ -0,0 +1,26 @@
+package com.travelapp.travelplanner.booking.repository;
+
+import com.travelapp.travelplanner.booking.model.BookingIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingIdempotencyKeyRepository extends JpaRepository<BookingIdempotencyKey, Long> {
+
+    // Served by uk_booking_idempotency_user_key
+    Optional<BookingIdempotencyKey> findByUserIdAndKey(Long userId, String key);
+
+    // Served by idx_booking_idempotency_expires
+    @Modifying
+    @Query("delete from BookingIdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+
+    // Keys must not outlive the hot booking they point at (see BookingArchiveService)
+    @Modifying
+    @Query("delete from BookingIdempotencyKey k where k.bookingId in :bookingIds")
+    int deleteByBookingIdIn(List<Long> bookingIds);
+}
@@ -1,11 +1,61 @@
 package com.travelapp.travelplanner.booking.repository;
 
 import com.travelapp.travelplanner.booking.model.Booking;
+import com.travelapp.travelplanner.booking.model.BookingState;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findByUser_Id(Long userId);
+    // Served by idx_bookings_user_created
+    List<Booking> findByUser_IdOrderByCreatedAtDesc(Long userId);
+
+    // Served by idx_bookings_created
+    List<Booking> findAllByOrderByCreatedAtDesc();
+
+    // Served by idx_bookings_destination_start
+    List<Booking> findByDestination_IdAndStartDateBetweenOrderByStartDate(Long destinationId,
+                                                                          LocalDate from,
+                                                                          LocalDate to);
+
+    // Primary key lookup of the columns only; the destination is not joined
+    @Query("select new com.travelapp.travelplanner.booking.model.BookingState(b.id, b.user.id, b.destination.id, " +
+            "b.startDate, b.endDate, b.travelers, b.status, b.totalPrice, b.createdAt, b.version) " +
+            "from Booking b where b.id = :id")
+    Optional<BookingState> findStateById(Long id);
+
+    // Compare-and-set: 0 rows when the booking changed since (status, version) were read
+    @Modifying
+    @Query("update Booking b set b.status = :target, b.version = b.version + 1 " +
+            "where b.id = :id and b.user.id = :userId and b.status = :expectedStatus and b.version = :expectedVersion")
+    int transition(Long id, Long userId, BookingStatus expectedStatus, Long expectedVersion, BookingStatus target);
+
+    // Lightweight (userId, destinationId) pairs for building in-memory indexes
+    @Query("select b.user.id, b.destination.id from Booking b where b.status <> :excluded")
+    List<Object[]> findUserDestinationPairsExcludingStatus(BookingStatus excluded);
+
+    // (destinationId, createdAt) of recent bookings, served by idx_bookings_created
+    @Query("select b.destination.id, b.createdAt from Booking b where b.createdAt >= :since")
+    List<Object[]> findDestinationActivitySince(LocalDateTime since);
+
+    // Primary key range scan from the archive checkpoint
+    @Query("select b.id from Booking b where b.id > :afterId and b.createdAt < :createdBefore " +
+            "and (b.endDate < :endedBefore or b.status = :archivedStatus) order by b.id")
+    List<Long> findArchivableIds(Long afterId,
+                                 LocalDateTime createdBefore,
+                                 LocalDate endedBefore,
+                                 BookingStatus archivedStatus,
+                                 Pageable batch);
+
+    @Modifying
+    @Query("delete from Booking b where b.id in :ids")
+    int deleteByIdIn(List<Long> ids);
 }
@@ -0,0 +1,13 @@
+package com.travelapp.travelplanner.booking.repository;
+
+import com.travelapp.travelplanner.booking.dto.BookingSearchCriteria;
+import com.travelapp.travelplanner.booking.model.Booking;
+import com.travelapp.travelplanner.booking.model.BookingCursor;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    // Keyset page in (createdAt, id) order, after the cursor when given
+    List<Booking> search(BookingSearchCriteria criteria, boolean ascending, BookingCursor after, int limit);
+}
@@ -0,0 +1,84 @@
+package com.travelapp.travelplanner.booking.repository;
+
+import com.travelapp.travelplanner.booking.dto.BookingSearchCriteria;
+import com.travelapp.travelplanner.booking.model.Booking;
+import com.travelapp.travelplanner.booking.model.BookingCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Only the filters that are set become predicates, so each combination
+     * gets a plain query the optimizer can match to an index: status,
+     * user and destination filters to their (column, created_at) index,
+     * the rest to idx_bookings_created. InnoDB appends the id to every
+     * secondary index, so the (createdAt, id) seek and order need no sort.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> search(BookingSearchCriteria criteria, boolean ascending, BookingCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Path<LocalDateTime> createdAt = booking.get("createdAt");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(booking.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getDestinationId() != null) {
+            predicates.add(cb.equal(booking.get("destination").get("id"), criteria.getDestinationId()));
+        }
+        if (criteria.getUserId() != null) {
+            predicates.add(cb.equal(booking.get("user").get("id"), criteria.getUserId()));
+        }
+        Path<LocalDate> startDate = booking.get("startDate");
+        if (criteria.getStartFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(startDate, criteria.getStartFrom()));
+        }
+        if (criteria.getStartTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(startDate, criteria.getStartTo()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, criteria.getCreatedTo()));
+        }
+        if (after != null) {
+            // created_at <= c and (created_at < c or id < i): the first conjunct bounds the index range
+            if (ascending) {
+                predicates.add(cb.greaterThanOrEqualTo(createdAt, after.createdAt()));
+                predicates.add(cb.or(cb.greaterThan(createdAt, after.createdAt()), cb.greaterThan(id, after.id())));
+            } else {
+                predicates.add(cb.lessThanOrEqualTo(createdAt, after.createdAt()));
+                predicates.add(cb.or(cb.lessThan(createdAt, after.createdAt()), cb.lessThan(id, after.id())));
+            }
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(ascending
+                        ? List.of(cb.asc(createdAt), cb.asc(id))
+                        : List.of(cb.desc(createdAt), cb.desc(id)));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.travelapp.travelplanner.booking.repository;
+
+import com.travelapp.travelplanner.booking.model.BookingDailyRollup;
+import com.travelapp.travelplanner.booking.model.BookingDailyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRollupRepository extends JpaRepository<BookingDailyRollup, BookingDailyRollupId> {
+
+    // Adds a (possibly negative) delta to one row, creating it on first use
+    @Modifying
+    @Query(value = "insert into booking_daily_rollups (day, destination_id, status, bookings, travelers, revenue) " +
+            "values (:day, :destinationId, :status, :bookings, :travelers, :revenue) " +
+            "on duplicate key update bookings = bookings + values(bookings), " +
+            "travelers = travelers + values(travelers), revenue = revenue + values(revenue)", nativeQuery = true)
+    int addDelta(LocalDate day, Long destinationId, String status, int bookings, int travelers, BigDecimal revenue);
+
+    // Per day and status over all destinations, served by the primary key
+    @Query("select r.day, r.status, sum(r.bookings), sum(r.travelers), sum(r.revenue) from BookingDailyRollup r " +
+            "where r.day between :from and :to group by r.day, r.status")
+    List<Object[]> sumByDayAndStatus(LocalDate from, LocalDate to);
+
+    // Served by idx_booking_daily_rollups_destination
+    @Query("select r.day, r.status, sum(r.bookings), sum(r.travelers), sum(r.revenue) from BookingDailyRollup r " +
+            "where r.destinationId = :destinationId and r.day between :from and :to group by r.day, r.status")
+    List<Object[]> findDestinationSeries(Long destinationId, LocalDate from, LocalDate to);
+
+    // Share-locks the bookings a rebuild reads before it touches rollup rows,
+    // the same order as booking writes, so the two cannot deadlock
+    @Query(value = "select id from bookings where created_at >= :from and created_at < :to lock in share mode",
+            nativeQuery = true)
+    List<Long> lockBookingsCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query(value = "select id from bookings_archive where created_at >= :from and created_at < :to lock in share mode",
+            nativeQuery = true)
+    List<Long> lockArchivedBookingsCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("delete from BookingDailyRollup r where r.day between :from and :to")
+    int deleteDays(LocalDate from, LocalDate to);
+
+    // Recomputes the days of [from, to) from bookings and bookings_archive
+    @Modifying
+    @Query(value = "insert into booking_daily_rollups (day, destination_id, status, bookings, travelers, revenue) " +
+            "select date(created_at), destination_id, status, count(*), sum(travelers), coalesce(sum(total_price), 0) " +
+            "from (select created_at, destination_id, status, travelers, total_price from bookings " +
+            "      where created_at >= :from and created_at < :to " +
+            "      union all " +
+            "      select created_at, destination_id, status, travelers, total_price from bookings_archive " +
+            "      where created_at >= :from and created_at < :to) b " +
+            "group by date(created_at), destination_id, status", nativeQuery = true)
+    int rebuild(LocalDateTime from, LocalDateTime to);
+
+    @Query("select min(b.createdAt) from Booking b")
+    LocalDateTime findFirstBookingCreatedAt();
+
+    @Query("select min(b.createdAt) from ArchivedBooking b")
+    LocalDateTime findFirstArchivedBookingCreatedAt();
+}
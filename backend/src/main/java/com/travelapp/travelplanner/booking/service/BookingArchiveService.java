@@ -0,0 +1,152 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.travelapp.travelplanner.booking.model.ArchiveCheckpoint;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.ArchiveCheckpointRepository;
+import com.travelapp.travelplanner.booking.repository.BookingArchiveRepository;
+import com.travelapp.travelplanner.booking.repository.BookingIdempotencyKeyRepository;
+import com.travelapp.travelplanner.booking.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves finished bookings (ended more than completed-after-days ago) and
+ * cancelled bookings from bookings to bookings_archive, so the hot table
+ * and its indexes only hold bookings that are still relevant.
+ *
+ * A pass walks bookings by id in small batches, one transaction each, and
+ * records the last id in archive_checkpoints: a restarted or interrupted
+ * pass resumes there, and the checkpoint row lock keeps two instances from
+ * working at the same time. Batches are spaced by batch-pause so the job
+ * does not compete with request traffic. When a pass reaches the end the
+ * checkpoint goes back to 0 and the next run starts over.
+ */
+@Service
+@Lazy(false)
+public class BookingArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiveService.class);
+
+    static final String JOB_NAME = "booking-archive";
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository archiveRepository;
+    private final BookingIdempotencyKeyRepository idempotencyKeyRepository;
+    private final ArchiveCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration batchPause;
+    private final int completedAfterDays;
+    private final Duration minAge;
+
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 BookingArchiveRepository archiveRepository,
+                                 BookingIdempotencyKeyRepository idempotencyKeyRepository,
+                                 ArchiveCheckpointRepository checkpointRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.booking.archive.enabled:true}") boolean enabled,
+                                 @Value("${app.booking.archive.batch-size:500}") int batchSize,
+                                 @Value("${app.booking.archive.max-batches:200}") int maxBatches,
+                                 @Value("${app.booking.archive.batch-pause:200ms}") Duration batchPause,
+                                 @Value("${app.booking.archive.completed-after-days:30}") int completedAfterDays,
+                                 @Value("${app.booking.archive.min-age:7d}") Duration minAge) {
+        this.bookingRepository = bookingRepository;
+        this.archiveRepository = archiveRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPause = batchPause;
+        this.completedAfterDays = completedAfterDays;
+        this.minAge = minAge;
+    }
+
+    @Scheduled(cron = "${app.booking.archive.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Runs up to max-batches batches of the current pass.
+     *
+     * @return number of bookings moved to the archive
+     */
+    public int archive() {
+        long start = System.nanoTime();
+        int moved = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int count = archiveBatch();
+            if (count == 0) {
+                break;
+            }
+            moved += count;
+            if (!pause()) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("Archived {} bookings in {} ms", moved, (System.nanoTime() - start) / 1_000_000);
+        }
+        return moved;
+    }
+
+    // One batch in its own transaction; 0 means the pass is complete
+    private int archiveBatch() {
+        Integer moved = transactionTemplate.execute(status -> {
+            ArchiveCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB_NAME)
+                    .orElseThrow(() -> new IllegalStateException("Missing checkpoint " + JOB_NAME));
+            LocalDateTime now = LocalDateTime.now();
+
+            // Young bookings stay, so live idempotency keys never point into the archive
+            List<Long> ids = bookingRepository.findArchivableIds(
+                    checkpoint.getLastId(),
+                    now.minus(minAge),
+                    LocalDate.now().minusDays(completedAfterDays),
+                    BookingStatus.CANCELLED,
+                    PageRequest.of(0, batchSize));
+
+            checkpoint.setUpdatedAt(now);
+            if (ids.isEmpty()) {
+                checkpoint.setLastId(0L);
+                return 0;
+            }
+
+            archiveRepository.copyFromBookings(ids, now);
+            idempotencyKeyRepository.deleteByBookingIdIn(ids);
+            bookingRepository.deleteByIdIn(ids);
+            checkpoint.setLastId(Collections.max(ids));
+            return ids.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            // Shutting down; the checkpoint lets the next run resume
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travelapp.travelplanner.booking.dto.BookingRequest;
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.model.BookingIdempotencyKey;
+import com.travelapp.travelplanner.booking.repository.BookingIdempotencyKeyRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.exceptions.ConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs POST /api/bookings at most once per (user, Idempotency-Key).
+ *
+ * Recent keys live in a bounded in-memory cache with a TTL; a request that
+ * arrives while the first one with the same key is still running waits for
+ * its result instead of running again. The key is also stored in
+ * booking_idempotency_keys in the transaction that creates the booking, so
+ * retries that reach another instance, or arrive after a restart or cache
+ * eviction, still get the original booking back.
+ */
+@Service
+@Lazy(false)
+public class BookingIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingIdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final BookingService bookingService;
+    private final BookingIdempotencyKeyRepository keyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    // "userId:key" -> outcome of the first request; incomplete while it is still running
+    private final Cache<String, CompletableFuture<Outcome>> recent;
+
+    public BookingIdempotencyService(BookingService bookingService,
+                                     BookingIdempotencyKeyRepository keyRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${app.booking.idempotency.ttl:24h}") Duration ttl,
+                                     @Value("${app.booking.idempotency.max-entries:100000}") long maxEntries,
+                                     @Value("${app.booking.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.bookingService = bookingService;
+        this.keyRepository = keyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public BookingResponse createBooking(Long userId, String key, BookingRequest request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        String cacheKey = userId + ":" + key;
+
+        CompletableFuture<Outcome> mine = new CompletableFuture<>();
+        CompletableFuture<Outcome> existing = recent.asMap().putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            return replay(await(existing), fingerprint);
+        }
+
+        Outcome outcome;
+        try {
+            outcome = execute(userId, key, fingerprint, request);
+        } catch (RuntimeException e) {
+            // Failed attempts are not remembered, so a retry runs again
+            recent.asMap().remove(cacheKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        // Outside the try: a stored outcome for a different request stays cached for the waiters
+        mine.complete(outcome);
+        return replay(outcome, fingerprint);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.idempotency.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = keyRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired booking idempotency keys", purged);
+        }
+    }
+
+    private Outcome execute(Long userId, String key, String fingerprint, BookingRequest request) {
+        try {
+            return transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                Optional<BookingIdempotencyKey> stored = keyRepository.findByUserIdAndKey(userId, key);
+                if (stored.isPresent()) {
+                    if (stored.get().getExpiresAt().isAfter(now)) {
+                        return load(stored.get());
+                    }
+                    keyRepository.delete(stored.get());
+                    keyRepository.flush();
+                }
+
+                BookingResponse created = bookingService.createBooking(userId, request);
+                keyRepository.saveAndFlush(BookingIdempotencyKey.builder()
+                        .userId(userId)
+                        .key(key)
+                        .requestFingerprint(fingerprint)
+                        .bookingId(created.getId())
+                        .createdAt(now)
+                        .expiresAt(now.plus(ttl))
+                        .build());
+                return new Outcome(fingerprint, created);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the same key first; our booking was rolled back, theirs wins
+            return keyRepository.findByUserIdAndKey(userId, key)
+                    .map(this::load)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Outcome load(BookingIdempotencyKey stored) {
+        BookingResponse booking = bookingService.getUserBooking(stored.getUserId(), stored.getBookingId());
+        return new Outcome(stored.getRequestFingerprint(), booking);
+    }
+
+    private Outcome await(CompletableFuture<Outcome> inFlight) {
+        try {
+            return inFlight.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            // The first request failed; report the same error to its duplicates
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private BookingResponse replay(Outcome outcome, String fingerprint) {
+        if (!outcome.fingerprint().equals(fingerprint)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different booking request");
+        }
+        return outcome.response();
+    }
+
+    private static String fingerprint(BookingRequest request) {
+        return request.getDestinationId() + "|" + request.getStartDate() + "|"
+                + request.getEndDate() + "|" + request.getTravelers();
+    }
+
+    private record Outcome(String fingerprint, BookingResponse response) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.travelapp.travelplanner.booking.dto.DailyBookingStatsResponse;
+import com.travelapp.travelplanner.booking.model.BookingState;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.BookingRollupRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily booking totals per destination and status, for admin time series.
+ *
+ * Every booking write applies its delta to booking_daily_rollups in the same
+ * transaction, so the rollups commit or roll back with the booking and charts
+ * never read the bookings tables. A booking counts on the day it was created,
+ * under its current status: a status change moves it between rows.
+ *
+ * The backfill recomputes a range of days from bookings and bookings_archive
+ * (delete and re-insert, so running it twice changes nothing), and a nightly
+ * run rebuilds the last rebuild-days days to repair any drift.
+ */
+@Service
+@Lazy(false)
+public class BookingRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingRollupService.class);
+
+    private final BookingRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkDays;
+    private final int rebuildDays;
+    private final int maxRangeDays;
+
+    public BookingRollupService(BookingRollupRepository rollupRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.booking.rollup.backfill-chunk-days:7}") int chunkDays,
+                                @Value("${app.booking.rollup.rebuild-days:2}") int rebuildDays,
+                                @Value("${app.booking.rollup.max-range-days:3660}") int maxRangeDays) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkDays = Math.max(1, chunkDays);
+        this.rebuildDays = rebuildDays;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    // Called by BookingService for every created booking and status change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(BookingState booking, BookingStatus previousStatus) {
+        LocalDate day = booking.createdAt().toLocalDate();
+        Long destinationId = booking.destinationId();
+        int travelers = booking.travelers();
+        BigDecimal revenue = booking.totalPrice() == null ? BigDecimal.ZERO : booking.totalPrice();
+        if (previousStatus != null) {
+            rollupRepository.addDelta(day, destinationId, previousStatus.name(), -1, -travelers, revenue.negate());
+        }
+        rollupRepository.addDelta(day, destinationId, booking.status().name(), 1, travelers, revenue);
+    }
+
+    // One entry per day of [from, to], days without bookings included
+    @Transactional(readOnly = true)
+    public List<DailyBookingStatsResponse> getDailySeries(LocalDate from, LocalDate to, Long destinationId) {
+        validateRange(from, to);
+        Map<LocalDate, DailyBookingStatsResponse> series = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            series.put(day, new DailyBookingStatsResponse(day, 0, 0, 0, BigDecimal.ZERO));
+        }
+        List<Object[]> rows = destinationId == null
+                ? rollupRepository.sumByDayAndStatus(from, to)
+                : rollupRepository.findDestinationSeries(destinationId, from, to);
+        for (Object[] row : rows) {
+            DailyBookingStatsResponse entry = series.get((LocalDate) row[0]);
+            long bookings = ((Number) row[2]).longValue();
+            if (row[1] == BookingStatus.CANCELLED) {
+                entry.setCancelled(entry.getCancelled() + bookings);
+            } else {
+                entry.setBookings(entry.getBookings() + bookings);
+                entry.setTravelers(entry.getTravelers() + ((Number) row[3]).longValue());
+                entry.setRevenue(entry.getRevenue().add((BigDecimal) row[4]));
+            }
+        }
+        return new ArrayList<>(series.values());
+    }
+
+    /**
+     * Rebuilds the rollups of [from, to] in chunks of backfill-chunk-days,
+     * one transaction each. A null from starts at the first booking.
+     *
+     * @return number of days rebuilt
+     */
+    public long backfill(LocalDate from, LocalDate to) {
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from == null) {
+            from = firstBookingDay(to);
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        long start = System.nanoTime();
+        for (LocalDate chunk = from; !chunk.isAfter(to); chunk = chunk.plusDays(chunkDays)) {
+            LocalDate chunkEnd = chunk.plusDays(chunkDays - 1).isAfter(to) ? to : chunk.plusDays(chunkDays - 1);
+            LocalDate first = chunk;
+            transactionTemplate.executeWithoutResult(status -> rebuild(first, chunkEnd));
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        log.info("Rebuilt booking rollups of {} days ({} to {}) in {} ms",
+                days, from, to, (System.nanoTime() - start) / 1_000_000);
+        return days;
+    }
+
+    @Scheduled(cron = "${app.booking.rollup.cron:0 15 4 * * *}")
+    public void scheduledRebuild() {
+        if (rebuildDays > 0) {
+            LocalDate today = LocalDate.now();
+            backfill(today.minusDays(rebuildDays - 1), today);
+        }
+    }
+
+    private void rebuild(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        // Bookings first: a booking write holds its booking row before it updates a rollup row
+        rollupRepository.lockBookingsCreatedBetween(start, end);
+        rollupRepository.lockArchivedBookingsCreatedBetween(start, end);
+        rollupRepository.deleteDays(from, to);
+        rollupRepository.rebuild(start, end);
+    }
+
+    private LocalDate firstBookingDay(LocalDate fallback) {
+        LocalDateTime hot = rollupRepository.findFirstBookingCreatedAt();
+        LocalDateTime archived = rollupRepository.findFirstArchivedBookingCreatedAt();
+        if (hot == null && archived == null) {
+            return fallback;
+        }
+        if (hot == null || archived != null && archived.isBefore(hot)) {
+            return archived.toLocalDate();
+        }
+        return hot.toLocalDate();
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("from and to are required and from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new BadRequestException("At most " + maxRangeDays + " days per series");
+        }
+    }
+}
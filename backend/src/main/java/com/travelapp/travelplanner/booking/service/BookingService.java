@@ -1,35 +1,79 @@
 package com.travelapp.travelplanner.booking.service;
 
+import com.travelapp.travelplanner.booking.dto.BookingPageResponse;
 import com.travelapp.travelplanner.booking.dto.BookingRequest;
 import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.dto.BookingSearchCriteria;
+import com.travelapp.travelplanner.booking.event.BookingChangedEvent;
+import com.travelapp.travelplanner.booking.model.ArchivedBooking;
 import com.travelapp.travelplanner.booking.model.Booking;
+import com.travelapp.travelplanner.booking.model.BookingCursor;
+import com.travelapp.travelplanner.booking.model.BookingState;
 import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.BookingArchiveRepository;
 import com.travelapp.travelplanner.booking.repository.BookingRepository;
 import com.travelapp.travelplanner.destination.model.Destination;
 import com.travelapp.travelplanner.destination.repository.DestinationRepository;
 import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.exceptions.ConflictException;
 import com.travelapp.travelplanner.exceptions.ResourceNotFoundException;
+import com.travelapp.travelplanner.pricing.service.PricingService;
 import com.travelapp.travelplanner.user.model.User;
 import com.travelapp.travelplanner.user.repository.UserRepository;
+import com.travelapp.travelplanner.util.AfterCommit;
+import com.travelapp.travelplanner.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
 
     private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository archiveRepository;
     private final UserRepository userRepository;
     private final DestinationRepository destinationRepository;
+    private final BookingRollupService rollupService;
+    private final PricingService pricingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<UserBookingsKey, List<BookingResponse>> userBookingLoads;
+    private final int maxSearchPageSize;
 
     public BookingService(BookingRepository bookingRepository,
+                          BookingArchiveRepository archiveRepository,
                           UserRepository userRepository,
-                          DestinationRepository destinationRepository) {
+                          DestinationRepository destinationRepository,
+                          BookingRollupService rollupService,
+                          PricingService pricingService,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.coalescing.user-bookings-timeout:2s}") Duration loadTimeout,
+                          @Value("${app.booking.search.max-page-size:100}") int maxSearchPageSize) {
         this.bookingRepository = bookingRepository;
+        this.archiveRepository = archiveRepository;
         this.userRepository = userRepository;
         this.destinationRepository = destinationRepository;
+        this.rollupService = rollupService;
+        this.pricingService = pricingService;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.userBookingLoads = new SingleFlight<>("user-bookings", loadTimeout);
+        this.userBookingLoads.bindTo(meterRegistry);
+        this.maxSearchPageSize = maxSearchPageSize;
     }
 
     @Transactional
@@ -60,24 +104,63 @@ public class BookingService {
                 .endDate(request.getEndDate())
                 .travelers(request.getTravelers())
                 .status(BookingStatus.PENDING)
+                .totalPrice(pricingService.priceStay(destination, request.getStartDate(),
+                        request.getEndDate(), request.getTravelers()))
                 .createdAt(LocalDateTime.now())
                 .build();
 
         Booking saved = bookingRepository.save(booking);
+        recordChange(BookingState.of(saved), null);
         return toResponse(saved);
     }
 
-    @Transactional(readOnly = true)
     public List<BookingResponse> getUserBookings(Long userId) {
-        return bookingRepository.findByUser_Id(userId).stream()
+        return getUserBookings(userId, false);
+    }
+
+    /**
+     * includeArchived reads through to bookings_archive for full history views.
+     * Concurrent calls for the same list (several tabs) share one load; the
+     * transaction is opened inside it, so waiting callers hold no connection.
+     */
+    public List<BookingResponse> getUserBookings(Long userId, boolean includeArchived) {
+        return userBookingLoads.load(new UserBookingsKey(userId, includeArchived),
+                () -> readOnlyTransaction.execute(status -> loadUserBookings(userId, includeArchived)));
+    }
+
+    // Bookings not cancelled and starting today or later, soonest first; read from the coalesced list
+    public List<BookingResponse> getUpcomingBookings(Long userId, int limit) {
+        LocalDate today = LocalDate.now();
+        return getUserBookings(userId, false).stream()
+                .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED
+                        && !booking.getStartDate().isBefore(today))
+                .sorted(Comparator.comparing(BookingResponse::getStartDate).thenComparing(BookingResponse::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    private List<BookingResponse> loadUserBookings(Long userId, boolean includeArchived) {
+        List<BookingResponse> hot = bookingRepository.findByUser_IdOrderByCreatedAtDesc(userId).stream()
                 .map(this::toResponse)
                 .toList();
+        if (!includeArchived) {
+            return hot;
+        }
+        return newestFirst(hot, archiveRepository.findByUser_IdOrderByCreatedAtDesc(userId));
     }
 
     @Transactional(readOnly = true)
     public BookingResponse getUserBooking(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null) {
+            // Finished and cancelled bookings may have been archived
+            ArchivedBooking archived = archiveRepository.findById(bookingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+            if (!archived.getUser().getId().equals(userId)) {
+                throw new BadRequestException("You cannot access someone else's booking");
+            }
+            return toResponse(archived);
+        }
 
         if (!booking.getUser().getId().equals(userId)) {
             throw new BadRequestException("You cannot access someone else's booking");
@@ -86,33 +169,176 @@ public class BookingService {
         return toResponse(booking);
     }
 
+    // Cancelling an already cancelled booking is a no-op, so retries are safe
     @Transactional
     public void cancelBooking(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        BookingState booking = bookingRepository.findStateById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-
-        if (!booking.getUser().getId().equals(userId)) {
+        if (!booking.userId().equals(userId)) {
             throw new BadRequestException("You cannot cancel someone else's booking");
         }
-
-        booking.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        transition(booking, BookingStatus.CANCELLED, null);
     }
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream()
+        return getAllBookings(false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getAllBookings(boolean includeArchived) {
+        List<BookingResponse> hot = bookingRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::toResponse)
+                .toList();
+        if (!includeArchived) {
+            return hot;
+        }
+        return newestFirst(hot, archiveRepository.findAllByOrderByCreatedAtDesc());
+    }
+
+    /**
+     * One page of the admin search, newest first unless ascending. A page is
+     * fetched with one extra row to learn whether another follows, so no
+     * count query runs; the cursor points at the page's last row.
+     */
+    @Transactional(readOnly = true)
+    public BookingPageResponse searchBookings(BookingSearchCriteria criteria, String email,
+                                              boolean ascending, String cursor, int size) {
+        if (size < 1 || size > maxSearchPageSize) {
+            throw new BadRequestException("size must be between 1 and " + maxSearchPageSize);
+        }
+        if (criteria.getStartFrom() != null && criteria.getStartTo() != null
+                && criteria.getStartFrom().isAfter(criteria.getStartTo())
+                || criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+                && criteria.getCreatedFrom().isAfter(criteria.getCreatedTo())) {
+            throw new BadRequestException("Range starts must not be after their ends");
+        }
+        BookingCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = BookingCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        if (email != null && !email.isBlank()) {
+            User user = userRepository.findByEmail(email.trim()).orElse(null);
+            if (user == null) {
+                return new BookingPageResponse(List.of(), null);
+            }
+            criteria.setUserId(user.getId());
+        }
+
+        List<Booking> rows = bookingRepository.search(criteria, ascending, after, size + 1);
+        List<Booking> page = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = rows.size() > size ? BookingCursor.after(page.get(size - 1)).encode() : null;
+        return new BookingPageResponse(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getDestinationBookings(Long destinationId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("from and to are required and from must not be after to");
+        }
+        return bookingRepository.findByDestination_IdAndStartDateBetweenOrderByStartDate(destinationId, from, to)
+                .stream()
                 .map(this::toResponse)
                 .toList();
     }
 
+    // expectedVersion (optional) is the version the caller last saw; the change fails if it is stale
     @Transactional
-    public BookingResponse updateStatus(Long bookingId, BookingStatus status) {
-        Booking booking = bookingRepository.findById(bookingId)
+    public BookingResponse updateStatus(Long bookingId, BookingStatus status, Long expectedVersion) {
+        if (status == null) {
+            throw new BadRequestException("status is required");
+        }
+        BookingState booking = bookingRepository.findStateById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-        booking.setStatus(status);
-        Booking saved = bookingRepository.save(booking);
-        return toResponse(saved);
+        BookingState updated = transition(booking, status, expectedVersion);
+        Destination destination = destinationRepository.findById(updated.destinationId())
+                .orElseThrow(() -> new ResourceNotFoundException("Destination not found"));
+        return toResponse(updated, destination);
+    }
+
+    /**
+     * Moves a booking read as the given snapshot to target. The status
+     * machine is checked against the snapshot, then one conditional UPDATE
+     * applies the change only if status and version are still those read.
+     * No row lock is held between the read and the write: a concurrent
+     * change makes the update match no row and is reported as a conflict.
+     */
+    private BookingState transition(BookingState booking, BookingStatus target, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(booking.version())) {
+            throw new ConflictException("Booking was changed by someone else; reload it and try again");
+        }
+        if (booking.status() == target) {
+            return booking;
+        }
+        if (!booking.status().canMoveTo(target)) {
+            throw new ConflictException("A " + booking.status() + " booking cannot become " + target);
+        }
+        int updated = bookingRepository.transition(booking.id(), booking.userId(),
+                booking.status(), booking.version(), target);
+        if (updated == 0) {
+            throw new ConflictException("Booking was changed by someone else; reload it and try again");
+        }
+        BookingState moved = booking.moveTo(target);
+        recordChange(moved, booking.status());
+        return moved;
+    }
+
+    // Rollups change with the booking; list loads and listeners only see it after commit
+    private void recordChange(BookingState booking, BookingStatus previousStatus) {
+        rollupService.apply(booking, previousStatus);
+        Long userId = booking.userId();
+        AfterCommit.run(() -> {
+            userBookingLoads.forget(new UserBookingsKey(userId, false));
+            userBookingLoads.forget(new UserBookingsKey(userId, true));
+        });
+        eventPublisher.publishEvent(new BookingChangedEvent(
+                booking.id(),
+                booking.userId(),
+                booking.destinationId(),
+                previousStatus,
+                booking.status()
+        ));
+    }
+
+    private record UserBookingsKey(Long userId, boolean includeArchived) {
+    }
+
+    private List<BookingResponse> newestFirst(List<BookingResponse> hot, List<ArchivedBooking> archived) {
+        return Stream.concat(hot.stream(), archived.stream().map(this::toResponse))
+                .sorted(Comparator.comparing(BookingResponse::getCreatedAt).reversed())
+                .toList();
+    }
+
+    private BookingResponse toResponse(ArchivedBooking booking) {
+        return new BookingResponse(
+                booking.getId(),
+                booking.getDestination(),
+                booking.getStartDate(),
+                booking.getEndDate(),
+                booking.getTravelers(),
+                booking.getStatus(),
+                booking.getTotalPrice(),
+                booking.getCreatedAt(),
+                null
+        );
+    }
+
+    private BookingResponse toResponse(BookingState booking, Destination destination) {
+        return new BookingResponse(
+                booking.id(),
+                destination,
+                booking.startDate(),
+                booking.endDate(),
+                booking.travelers(),
+                booking.status(),
+                booking.totalPrice(),
+                booking.createdAt(),
+                booking.version()
+        );
     }
 
     private BookingResponse toResponse(Booking booking) {
@@ -123,7 +349,9 @@ public class BookingService {
                 booking.getEndDate(),
                 booking.getTravelers(),
                 booking.getStatus(),
-                booking.getCreatedAt()
+                booking.getTotalPrice(),
+                booking.getCreatedAt(),
+                booking.getVersion()
         );
     }
 }
@@ -0,0 +1,71 @@
+package com.travelapp.travelplanner.bulkhead;
+
+import com.travelapp.travelplanner.bulkhead.model.Bulkhead;
+import com.travelapp.travelplanner.bulkhead.model.BulkheadGroup;
+import com.travelapp.travelplanner.bulkhead.service.BulkheadRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admits a request only while its endpoint group has a free slot; otherwise
+ * answers 503 straight away, before the token is verified or a connection
+ * is taken. The entered bulkhead stays bound to the thread for the rest of
+ * the request, which is what the connection quota is charged against.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    // Seconds; rejections are about momentary saturation, not a longer outage
+    private static final String RETRY_AFTER = "1";
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public BulkheadFilter(BulkheadRegistry bulkheadRegistry) {
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        BulkheadGroup group = BulkheadGroup.classify(request.getMethod(), path);
+        if (group == null || !bulkheadRegistry.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead bulkhead = bulkheadRegistry.get(group);
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter(bulkheadRegistry.getRequestWait());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many concurrent " + group.tag() + " requests, retry shortly\"}");
+            return;
+        }
+
+        Bulkhead previous = Bulkhead.bind(bulkhead);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Bulkhead.restore(previous);
+            bulkhead.exit();
+        }
+    }
+}
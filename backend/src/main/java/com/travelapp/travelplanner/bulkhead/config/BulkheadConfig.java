@@ -0,0 +1,34 @@
+package com.travelapp.travelplanner.bulkhead.config;
+
+import com.travelapp.travelplanner.bulkhead.model.BulkheadDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class BulkheadConfig {
+
+    // Wraps the pool after it is configured; pool metrics and health still unwrap to Hikari
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(
+            @Value("${app.bulkhead.connection-wait:100ms}") Duration connectionWait) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, connectionWait);
+                }
+                return bean;
+            }
+        };
+    }
+}
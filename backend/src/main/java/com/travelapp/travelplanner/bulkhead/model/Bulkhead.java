@@ -0,0 +1,136 @@
+package com.travelapp.travelplanner.bulkhead.model;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two permit pools for one endpoint group: requests in progress, and
+ * database connections those requests hold. Acquiring never queues beyond
+ * the given wait; a caller that gets no permit is turned away.
+ *
+ * The bulkhead a request entered is bound to its thread, so the connection
+ * quota can be charged where connections are handed out. Work handed to
+ * other threads carries it along through {@link #propagate(Callable)}.
+ */
+public final class Bulkhead {
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private final BulkheadGroup group;
+    private final int maxConcurrent;
+    private final int maxConnections;
+    private final Semaphore requests;
+    private final Semaphore connections;
+    private final LongAdder permittedRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder permittedConnections = new LongAdder();
+    private final LongAdder rejectedConnections = new LongAdder();
+
+    public Bulkhead(BulkheadGroup group, int maxConcurrent, int maxConnections) {
+        this.group = group;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxConnections = Math.max(1, maxConnections);
+        this.requests = new Semaphore(this.maxConcurrent);
+        this.connections = new Semaphore(this.maxConnections);
+    }
+
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    /** Binds the bulkhead to the calling thread and returns the one bound before. */
+    public static Bulkhead bind(Bulkhead bulkhead) {
+        Bulkhead previous = CURRENT.get();
+        CURRENT.set(bulkhead);
+        return previous;
+    }
+
+    public static void restore(Bulkhead previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /** Runs the task under the caller's bulkhead, whichever thread ends up running it. */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Bulkhead caller = current();
+        if (caller == null) {
+            return task;
+        }
+        return () -> {
+            Bulkhead previous = bind(caller);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public BulkheadGroup getGroup() {
+        return group;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public boolean tryEnter(Duration wait) throws InterruptedException {
+        return tryAcquire(requests, wait, permittedRequests, rejectedRequests);
+    }
+
+    public void exit() {
+        requests.release();
+    }
+
+    public boolean tryAcquireConnection(Duration wait) throws InterruptedException {
+        return tryAcquire(connections, wait, permittedConnections, rejectedConnections);
+    }
+
+    public void releaseConnection() {
+        connections.release();
+    }
+
+    public int activeRequests() {
+        return maxConcurrent - requests.availablePermits();
+    }
+
+    public int activeConnections() {
+        return maxConnections - connections.availablePermits();
+    }
+
+    public long permittedRequests() {
+        return permittedRequests.sum();
+    }
+
+    public long rejectedRequests() {
+        return rejectedRequests.sum();
+    }
+
+    public long permittedConnections() {
+        return permittedConnections.sum();
+    }
+
+    public long rejectedConnections() {
+        return rejectedConnections.sum();
+    }
+
+    private static boolean tryAcquire(Semaphore permits, Duration wait,
+                                      LongAdder permitted, LongAdder rejected) throws InterruptedException {
+        // Barging tryAcquire(): a free permit is taken even if others are waiting for one
+        boolean acquired = wait.isZero()
+                ? permits.tryAcquire()
+                : permits.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS);
+        (acquired ? permitted : rejected).increment();
+        return acquired;
+    }
+}
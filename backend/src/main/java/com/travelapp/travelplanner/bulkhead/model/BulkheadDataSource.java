@@ -0,0 +1,96 @@
+package com.travelapp.travelplanner.bulkhead.model;
+
+import com.travelapp.travelplanner.exceptions.BulkheadFullException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Charges every connection handed out on a thread bound to a bulkhead
+ * against that bulkhead's connection quota, until the connection is closed
+ * (returned to the pool). Threads outside any bulkhead (startup, migrations,
+ * scheduled jobs) use the pool directly.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Duration wait;
+
+    public BulkheadDataSource(DataSource target, Duration wait) {
+        super(target);
+        this.wait = wait;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead bulkhead = acquire();
+        return bulkhead == null ? super.getConnection() : guard(super::getConnection, bulkhead);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead bulkhead = acquire();
+        return bulkhead == null
+                ? super.getConnection(username, password)
+                : guard(() -> super.getConnection(username, password), bulkhead);
+    }
+
+    private Bulkhead acquire() throws SQLException {
+        Bulkhead bulkhead = Bulkhead.current();
+        if (bulkhead == null) {
+            return null;
+        }
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquireConnection(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            String message = "No database connection left for " + bulkhead.getGroup().tag() + " requests, retry shortly";
+            throw new SQLTransientConnectionException(message, null, new BulkheadFullException(message));
+        }
+        return bulkhead;
+    }
+
+    private Connection guard(ConnectionSource source, Bulkhead bulkhead) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.releaseConnection();
+            throw e;
+        }
+        // close() may be called more than once; only the first returns the permit
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            bulkhead.releaseConnection();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
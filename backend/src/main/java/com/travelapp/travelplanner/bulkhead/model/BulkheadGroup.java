@@ -0,0 +1,48 @@
+package com.travelapp.travelplanner.bulkhead.model;
+
+/**
+ * Endpoint groups that get their own request and connection limits, so that
+ * one group running hot cannot take the workers and connections the others need.
+ */
+public enum BulkheadGroup {
+
+    // Login, register and refresh: BCrypt bound
+    AUTH,
+    // Destination and recommendation reads
+    CATALOG,
+    // The signed-in user's bookings, favorites, home screen, itineraries and quotes
+    USER,
+    // Admin listings, exports, archival, rule management and profiling dumps
+    ADMIN;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * The group a request belongs to, or null for requests no bulkhead
+     * applies to (health checks and other actuator endpoints, static paths).
+     */
+    public static BulkheadGroup classify(String method, String path) {
+        if (path.startsWith("/actuator/profiling")) {
+            return ADMIN;
+        }
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.contains("/admin/") || path.endsWith("/admin")) {
+            return ADMIN;
+        }
+        if (path.equals("/api/destinations") || path.startsWith("/api/destinations/")) {
+            // Destination writes are admin only
+            return "GET".equals(method) ? CATALOG : ADMIN;
+        }
+        if (path.equals("/api/recommendations") || path.startsWith("/api/recommendations/")) {
+            return CATALOG;
+        }
+        return USER;
+    }
+}
@@ -0,0 +1,87 @@
+package com.travelapp.travelplanner.bulkhead.service;
+
+import com.travelapp.travelplanner.bulkhead.model.Bulkhead;
+import com.travelapp.travelplanner.bulkhead.model.BulkheadGroup;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * One bulkhead per endpoint group, sized from app.bulkhead.*, with metrics:
+ * - bulkhead.active, bulkhead.limit, bulkhead.saturation{bulkhead,resource}
+ * - bulkhead.calls{bulkhead,resource,outcome=permitted|rejected}
+ * where resource is requests or connections.
+ */
+@Service
+public class BulkheadRegistry {
+
+    private final boolean enabled;
+    private final Duration requestWait;
+    private final Map<BulkheadGroup, Bulkhead> bulkheads = new EnumMap<>(BulkheadGroup.class);
+
+    public BulkheadRegistry(MeterRegistry meterRegistry,
+                            @Value("${app.bulkhead.enabled:true}") boolean enabled,
+                            @Value("${app.bulkhead.request-wait:0ms}") Duration requestWait,
+                            @Value("${app.bulkhead.auth.max-concurrent:16}") int authConcurrent,
+                            @Value("${app.bulkhead.auth.max-connections:2}") int authConnections,
+                            @Value("${app.bulkhead.catalog.max-concurrent:80}") int catalogConcurrent,
+                            @Value("${app.bulkhead.catalog.max-connections:3}") int catalogConnections,
+                            @Value("${app.bulkhead.user.max-concurrent:100}") int userConcurrent,
+                            @Value("${app.bulkhead.user.max-connections:6}") int userConnections,
+                            @Value("${app.bulkhead.admin.max-concurrent:8}") int adminConcurrent,
+                            @Value("${app.bulkhead.admin.max-connections:2}") int adminConnections) {
+        this.enabled = enabled;
+        this.requestWait = requestWait;
+        bulkheads.put(BulkheadGroup.AUTH, new Bulkhead(BulkheadGroup.AUTH, authConcurrent, authConnections));
+        bulkheads.put(BulkheadGroup.CATALOG, new Bulkhead(BulkheadGroup.CATALOG, catalogConcurrent, catalogConnections));
+        bulkheads.put(BulkheadGroup.USER, new Bulkhead(BulkheadGroup.USER, userConcurrent, userConnections));
+        bulkheads.put(BulkheadGroup.ADMIN, new Bulkhead(BulkheadGroup.ADMIN, adminConcurrent, adminConnections));
+        bulkheads.values().forEach(bulkhead -> bindMetrics(bulkhead, meterRegistry));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getRequestWait() {
+        return requestWait;
+    }
+
+    public Bulkhead get(BulkheadGroup group) {
+        return bulkheads.get(group);
+    }
+
+    private static void bindMetrics(Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        bindResource(bulkhead, meterRegistry, "requests",
+                Bulkhead::activeRequests, Bulkhead::getMaxConcurrent,
+                Bulkhead::permittedRequests, Bulkhead::rejectedRequests);
+        bindResource(bulkhead, meterRegistry, "connections",
+                Bulkhead::activeConnections, Bulkhead::getMaxConnections,
+                Bulkhead::permittedConnections, Bulkhead::rejectedConnections);
+    }
+
+    private static void bindResource(Bulkhead bulkhead, MeterRegistry meterRegistry, String resource,
+                                     ToDoubleFunction<Bulkhead> active, ToDoubleFunction<Bulkhead> limit,
+                                     ToDoubleFunction<Bulkhead> permitted, ToDoubleFunction<Bulkhead> rejected) {
+        Tags tags = Tags.of("bulkhead", bulkhead.getGroup().tag(), "resource", resource);
+        Gauge.builder("bulkhead.active", bulkhead, active).tags(tags).register(meterRegistry);
+        Gauge.builder("bulkhead.limit", bulkhead, limit).tags(tags).register(meterRegistry);
+        Gauge.builder("bulkhead.saturation", bulkhead, b -> active.applyAsDouble(b) / limit.applyAsDouble(b))
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("bulkhead.calls", bulkhead, permitted)
+                .tags(tags).tag("outcome", "permitted")
+                .register(meterRegistry);
+        FunctionCounter.builder("bulkhead.calls", bulkhead, rejected)
+                .tags(tags).tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+}
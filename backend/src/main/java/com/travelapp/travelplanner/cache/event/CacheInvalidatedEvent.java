@@ -0,0 +1,8 @@
+package com.travelapp.travelplanner.cache.event;
+
+import com.travelapp.travelplanner.cache.model.CachedEntity;
+
+// Published by CacheInvalidationService for changes made on other instances,
+// after the second-level cache entry has been evicted
+public record CacheInvalidatedEvent(CachedEntity entityType, Long entityId) {
+}
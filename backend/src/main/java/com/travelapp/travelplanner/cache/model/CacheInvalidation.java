@@ -0,0 +1,34 @@
+package com.travelapp.travelplanner.cache.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One change to a cached entity; origin is the instance that made it
+@Entity
+@Table(name = "cache_invalidations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private CachedEntity entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.travelapp.travelplanner.cache.model;
+
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.pricing.model.PricingRule;
+import com.travelapp.travelplanner.user.model.User;
+
+// Entities held in second-level cache regions or in-memory indexes on every instance
+public enum CachedEntity {
+
+    DESTINATION(Destination.class),
+    USER(User.class),
+    PRICING_RULE(PricingRule.class);
+
+    private final Class<?> entityClass;
+
+    CachedEntity(Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+}
@@ -0,0 +1,30 @@
+package com.travelapp.travelplanner.cache.repository;
+
+import com.travelapp.travelplanner.cache.model.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    @Query("select coalesce(max(c.id), 0) from CacheInvalidation c")
+    long findMaxId();
+
+    // Primary key range scan past the high-water mark
+    @Query("select c from CacheInvalidation c where c.id > :afterId order by c.id")
+    List<CacheInvalidation> findAfter(long afterId, Pageable batch);
+
+    // Same, plus ids skipped earlier that may belong to transactions committed late
+    @Query("select c from CacheInvalidation c where c.id > :afterId or c.id in :gaps order by c.id")
+    List<CacheInvalidation> findAfterOrIn(long afterId, Collection<Long> gaps, Pageable batch);
+
+    // Served by idx_cache_invalidations_created
+    @Modifying
+    @Query("delete from CacheInvalidation c where c.createdAt < :before")
+    int deleteOlderThan(LocalDateTime before);
+}
@@ -0,0 +1,136 @@
+package com.travelapp.travelplanner.cache.service;
+
+import com.travelapp.travelplanner.cache.event.CacheInvalidatedEvent;
+import com.travelapp.travelplanner.cache.model.CacheInvalidation;
+import com.travelapp.travelplanner.cache.model.CachedEntity;
+import com.travelapp.travelplanner.cache.repository.CacheInvalidationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps cached entities coherent across backend instances.
+ *
+ * Mutations record a row in cache_invalidations inside their own
+ * transaction. Every instance polls the rows past its high-water mark
+ * (a primary key range scan), evicts the second-level cache entries changed
+ * by other instances and publishes a CacheInvalidatedEvent for in-memory
+ * indexes. A change is seen everywhere within one poll interval of its commit.
+ *
+ * Auto-increment ids are not committed in order: a transaction can commit
+ * id 11 before another commits id 10. Ids skipped by the high-water mark are
+ * re-checked on every poll until they show up or gap-timeout passes (ids of
+ * rolled-back transactions never do).
+ */
+@Service
+@Lazy(false)
+public class CacheInvalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    // Larger jumps come from bulk rollbacks or an id offset, not from commit order
+    private static final int MAX_GAP_SPAN = 1000;
+
+    private final CacheInvalidationRepository invalidationRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+
+    // Identifies this instance's own rows, which need no eviction here
+    private final String origin = UUID.randomUUID().toString();
+
+    // Poll state; -1 until start() ran
+    private long highWaterMark = -1;
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    public CacheInvalidationService(CacheInvalidationRepository invalidationRepository,
+                                    EntityManagerFactory entityManagerFactory,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.cache.invalidation.batch-size:500}") int batchSize,
+                                    @Value("${app.cache.invalidation.gap-timeout:30s}") Duration gapTimeout,
+                                    @Value("${app.cache.invalidation.retention:1h}") Duration retention) {
+        this.invalidationRepository = invalidationRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+    }
+
+    // Called by StartupIndexLoader before anything is cached, so no later change is missed
+    public synchronized void start() {
+        highWaterMark = invalidationRepository.findMaxId();
+        log.info("Cache invalidation log starts after id {}", highWaterMark);
+    }
+
+    // Joins the caller's transaction: the row commits or rolls back with the change itself
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(CachedEntity entityType, Long entityId) {
+        invalidationRepository.save(CacheInvalidation.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .origin(origin)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval:1s}")
+    public synchronized void poll() {
+        if (highWaterMark < 0) {
+            return;
+        }
+        List<CacheInvalidation> rows;
+        do {
+            PageRequest batch = PageRequest.of(0, batchSize);
+            rows = gaps.isEmpty()
+                    ? invalidationRepository.findAfter(highWaterMark, batch)
+                    : invalidationRepository.findAfterOrIn(highWaterMark, gaps.keySet(), batch);
+            rows.forEach(this::apply);
+        } while (rows.size() == batchSize);
+
+        long now = System.nanoTime();
+        gaps.values().removeIf(seen -> now - seen > gapTimeoutNanos);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval:10m}")
+    @Transactional
+    public void purge() {
+        invalidationRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+
+    private void apply(CacheInvalidation row) {
+        long id = row.getId();
+        if (gaps.remove(id) == null && id > highWaterMark) {
+            if (id - highWaterMark <= MAX_GAP_SPAN) {
+                long now = System.nanoTime();
+                for (long skipped = highWaterMark + 1; skipped < id; skipped++) {
+                    gaps.put(skipped, now);
+                }
+            }
+            highWaterMark = id;
+        }
+        if (origin.equals(row.getOrigin())) {
+            return;
+        }
+        entityManagerFactory.getCache().evict(row.getEntityType().getEntityClass(), row.getEntityId());
+        eventPublisher.publishEvent(new CacheInvalidatedEvent(row.getEntityType(), row.getEntityId()));
+        log.debug("Evicted {} {} changed by {}", row.getEntityType(), row.getEntityId(), row.getOrigin());
+    }
+}
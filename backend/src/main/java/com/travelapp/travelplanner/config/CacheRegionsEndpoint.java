@@ -0,0 +1,59 @@
+package com.travelapp.travelplanner.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Exposes Hibernate second-level cache hit ratios at /actuator/cacheregions
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    private final Statistics statistics;
+
+    public CacheRegionsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> regions() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            result.put(region, describe(statistics.getCacheRegionStatistics(region)));
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Object> region(@Selector String name) {
+        return describe(statistics.getCacheRegionStatistics(name));
+    }
+
+    private Map<String, Object> describe(CacheRegionStatistics stats) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (stats == null) {
+            return body;
+        }
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        long lookups = hits + misses;
+
+        body.put("hits", hits);
+        body.put("misses", misses);
+        body.put("puts", stats.getPutCount());
+        body.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        // JCache regions cannot report their size, Hibernate signals that with a negative count
+        if (stats.getElementCountInMemory() >= 0) {
+            body.put("elementsInMemory", stats.getElementCountInMemory());
+        }
+        return body;
+    }
+}
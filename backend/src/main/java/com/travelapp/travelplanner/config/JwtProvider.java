@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtProvider {
@@ -31,6 +32,8 @@ public class JwtProvider {
         Date expiry = new Date(now.getTime() + jwtExpirationMillis);
 
         return Jwts.builder()
+                // Token id, so a single token can be revoked (TokenRevocationService)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(String.valueOf(userId))
                 .claim("role", role)
                 .setIssuedAt(now)
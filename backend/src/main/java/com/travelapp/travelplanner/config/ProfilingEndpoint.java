@@ -0,0 +1,39 @@
+package com.travelapp.travelplanner.config;
+
+import com.travelapp.travelplanner.profiling.service.ContinuousProfiler;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Continuous JFR recording at /actuator/profiling (ADMIN only, see SecurityConfig);
+// POST {"minutes": 5, "top": 20} dumps the last minutes to a file and returns its summary
+@Component
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private static final int MAX_MINUTES = 24 * 60;
+    private static final int MAX_TOP = 200;
+
+    private final ContinuousProfiler profiler;
+
+    public ProfilingEndpoint(ContinuousProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return profiler.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump(@Nullable Integer minutes, @Nullable Integer top) throws IOException {
+        int lastMinutes = minutes == null ? 5 : Math.max(1, Math.min(minutes, MAX_MINUTES));
+        int topEntries = top == null ? 20 : Math.max(1, Math.min(top, MAX_TOP));
+        return profiler.dump(lastMinutes, topEntries);
+    }
+}
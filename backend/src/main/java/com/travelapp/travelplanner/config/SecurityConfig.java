@@ -1,6 +1,9 @@
 package com.travelapp.travelplanner.config;
 
+import com.travelapp.travelplanner.bulkhead.BulkheadFilter;
+import com.travelapp.travelplanner.bulkhead.service.BulkheadRegistry;
 import com.travelapp.travelplanner.security.JwtAuthenticationFilter;
+import com.travelapp.travelplanner.security.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -18,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.web.cors.CorsConfiguration;
@@ -35,6 +40,12 @@ public class SecurityConfig {
     @Autowired
     private JwtProvider jwtProvider;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -82,16 +93,26 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtProvider);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtProvider, tokenRevocationService);
+        BulkheadFilter bulkheadFilter = new BulkheadFilter(bulkheadRegistry);
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Missing, expired or revoked token: 401, so clients know to refresh
+                .exceptionHandling(eh -> eh.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Profiling dumps reveal code paths and write files
+                        .requestMatchers("/actuator/profiling", "/actuator/profiling/**").hasRole("ADMIN")
+                        // Meters and cache region stats describe traffic and data volumes
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**",
+                                "/actuator/cacheregions", "/actuator/cacheregions/**").hasRole("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()
+                        // Error dispatches carry no token; securing them turns every 403 into a 401
+                        .requestMatchers("/error").permitAll()
 
                         // Destinations - GET is allowed for authenticated users
                         .requestMatchers(HttpMethod.GET, "/api/destinations", "/api/destinations/**").authenticated()
@@ -104,10 +125,18 @@ public class SecurityConfig {
                         // Admin booking management
                         .requestMatchers("/api/bookings/admin/**").hasRole("ADMIN")
 
+                        // Admin user management
+                        .requestMatchers("/api/users/admin/**").hasRole("ADMIN")
+
+                        // Pricing rule management
+                        .requestMatchers("/api/pricing/admin/**").hasRole("ADMIN")
+
                         // All other authenticated endpoints
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // After CORS, so rejections still carry CORS headers; before token verification
+                .addFilterBefore(bulkheadFilter, JwtAuthenticationFilter.class)
                 .addFilterAfter(userIdInjector(), JwtAuthenticationFilter.class);
 
         return http.build();
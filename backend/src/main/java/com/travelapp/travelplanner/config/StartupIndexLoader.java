@@ -0,0 +1,72 @@
+package com.travelapp.travelplanner.config;
+
+import com.travelapp.travelplanner.cache.service.CacheInvalidationService;
+import com.travelapp.travelplanner.destination.service.DestinationGeoIndex;
+import com.travelapp.travelplanner.recommendation.service.RecommendationService;
+import com.travelapp.travelplanner.recommendation.service.TrendingService;
+import com.travelapp.travelplanner.security.service.TokenRevocationService;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the in-memory indexes from the database once the context is refreshed.
+ *
+ * Runs as a lifecycle phase (before the web server starts) instead of in
+ * @PostConstruct, so a context refresh alone never touches the database.
+ * The CDS training run in the Dockerfile relies on that. The seed profile
+ * serves no requests, so it skips the loading.
+ */
+@Component
+@Lazy(false)
+@Profile("!seed")
+public class StartupIndexLoader implements SmartLifecycle {
+
+    private final CacheInvalidationService cacheInvalidationService;
+    private final DestinationGeoIndex destinationGeoIndex;
+    private final RecommendationService recommendationService;
+    private final TrendingService trendingService;
+    private final TokenRevocationService tokenRevocationService;
+
+    private volatile boolean running;
+
+    public StartupIndexLoader(CacheInvalidationService cacheInvalidationService,
+                              DestinationGeoIndex destinationGeoIndex,
+                              RecommendationService recommendationService,
+                              TrendingService trendingService,
+                              TokenRevocationService tokenRevocationService) {
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.destinationGeoIndex = destinationGeoIndex;
+        this.recommendationService = recommendationService;
+        this.trendingService = trendingService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    public void start() {
+        // First, so changes committed while loading are still picked up
+        cacheInvalidationService.start();
+        destinationGeoIndex.load();
+        recommendationService.rebuild();
+        trendingService.load();
+        tokenRevocationService.load();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Lower than the web server's phase, so indexes are ready before the first request
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
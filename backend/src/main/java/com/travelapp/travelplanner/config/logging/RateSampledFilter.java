@@ -0,0 +1,84 @@
+package com.travelapp.travelplanner.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Logback filter that lets at most {@code permitsPerSecond} events through per
+ * logger and message template in every one-second window and drops the rest.
+ * The first event let through after a window with drops carries a
+ * {@code suppressed} key-value pair with the number of dropped events.
+ *
+ * Attached to the async appender, it runs on the thread that logs, before
+ * the event is queued, so it only does a map lookup and a short critical
+ * section per event. Configured in logback-spring.xml.
+ */
+public class RateSampledFilter extends Filter<ILoggingEvent> {
+
+    private int permitsPerSecond = 20;
+    private int maxKeys = 1024;
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        String key = event.getLoggerName() + '|' + event.getMessage();
+        Window window = windows.get(key);
+        if (window == null) {
+            // Unbounded message templates (e.g. concatenated strings) must not grow the map forever
+            if (windows.size() >= maxKeys) {
+                windows.clear();
+            }
+            window = windows.computeIfAbsent(key, k -> new Window());
+        }
+
+        int suppressed = window.acquire(event.getTimeStamp() / 1000, permitsPerSecond);
+        if (suppressed < 0) {
+            return FilterReply.DENY;
+        }
+        if (suppressed > 0 && event instanceof LoggingEvent loggingEvent) {
+            loggingEvent.addKeyValuePair(new KeyValuePair("suppressed", suppressed));
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public void setPermitsPerSecond(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    private static final class Window {
+
+        private long second = Long.MIN_VALUE;
+        private int used;
+        private int dropped;
+
+        // Number of events dropped since the last accepted one, or -1 if this one is dropped
+        synchronized int acquire(long now, int permits) {
+            if (now != second) {
+                second = now;
+                used = 0;
+            }
+            if (used >= permits) {
+                dropped++;
+                return -1;
+            }
+            used++;
+            int suppressed = dropped;
+            dropped = 0;
+            return suppressed;
+        }
+    }
+}
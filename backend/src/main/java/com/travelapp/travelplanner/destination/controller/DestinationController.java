@@ -1,5 +1,6 @@
 package com.travelapp.travelplanner.destination.controller;
 
+import com.travelapp.travelplanner.destination.dto.NearbyDestinationResponse;
 import com.travelapp.travelplanner.destination.model.Destination;
 import com.travelapp.travelplanner.destination.service.DestinationService;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,25 @@ public class DestinationController {
         return ResponseEntity.ok(list);
     }
 
+    // Destinations within radiusKm of a point, nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyDestinationResponse>> nearby(@RequestParam double lat,
+                                                                  @RequestParam double lon,
+                                                                  @RequestParam(defaultValue = "50") double radiusKm,
+                                                                  @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(destinationService.findNearby(lat, lon, radiusKm, limit));
+    }
+
+    // Destinations inside a bounding box (minLon > maxLon crosses the antimeridian)
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyDestinationResponse>> within(@RequestParam double minLat,
+                                                                  @RequestParam double minLon,
+                                                                  @RequestParam double maxLat,
+                                                                  @RequestParam double maxLon,
+                                                                  @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(destinationService.findWithin(minLat, minLon, maxLat, maxLon, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Destination> getById(@PathVariable Long id) {
         Destination dest = destinationService.getDestination(id);
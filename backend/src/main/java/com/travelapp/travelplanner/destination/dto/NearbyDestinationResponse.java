@@ -0,0 +1,13 @@
+package com.travelapp.travelplanner.destination.dto;
+
+import com.travelapp.travelplanner.destination.model.Destination;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NearbyDestinationResponse {
+    private Destination destination;
+    // null for bounding-box results
+    private Double distanceKm;
+}
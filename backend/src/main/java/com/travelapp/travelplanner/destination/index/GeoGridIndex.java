@@ -0,0 +1,213 @@
+package com.travelapp.travelplanner.destination.index;
+
+import com.travelapp.travelplanner.util.LongObjectHashMap;
+import com.travelapp.travelplanner.util.TopK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-size latitude/longitude grid over destination coordinates.
+ * Radius and bounding-box queries only visit the cells that overlap the
+ * query area, and exact distances are computed for those candidates only.
+ *
+ * Not thread-safe; DestinationGeoIndex guards access with a lock.
+ */
+public class GeoGridIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+
+    // cell key -> points in that cell
+    private final LongObjectHashMap<Cell> cells = new LongObjectHashMap<>(1024);
+
+    // destination id -> {lat, lon}, needed to find the cell on move/removal
+    private final LongObjectHashMap<double[]> positions = new LongObjectHashMap<>(1024);
+
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 90) {
+            throw new IllegalArgumentException("cellDegrees must be in (0, 90]");
+        }
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180.0 / cellDegrees);
+        this.lonCells = (int) Math.ceil(360.0 / cellDegrees);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    public void put(long id, double lat, double lon) {
+        remove(id);
+        positions.put(id, new double[]{lat, lon});
+        cells.computeIfAbsent(cellKey(latCell(lat), lonCell(lon)), key -> new Cell()).add(id, lat, lon);
+    }
+
+    public void remove(long id) {
+        double[] previous = positions.remove(id);
+        if (previous == null) {
+            return;
+        }
+        long key = cellKey(latCell(previous[0]), lonCell(previous[1]));
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(id) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    /**
+     * Destinations within radiusKm of (lat, lon), nearest first.
+     */
+    public List<Hit> nearby(double lat, double lon, double radiusKm, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        int minLatCell = latCell(Math.max(-90.0, lat - latDelta));
+        int maxLatCell = latCell(Math.min(90.0, lat + latDelta));
+
+        // widest longitude span occurs at the latitude edge closest to a pole
+        double maxAbsLat = Math.min(90.0, Math.abs(lat) + latDelta);
+        double cosLat = Math.cos(Math.toRadians(maxAbsLat));
+        boolean allLongitudes = cosLat <= 1e-9 || radiusKm / (KM_PER_DEGREE_LAT * cosLat) >= 180.0;
+        double lonDelta = allLongitudes ? 180.0 : radiusKm / (KM_PER_DEGREE_LAT * cosLat);
+
+        double latRad = Math.toRadians(lat);
+        double cosQueryLat = Math.cos(latRad);
+        TopK top = new TopK(limit);
+
+        int lonSpan = allLongitudes ? lonCells : Math.min(lonCells, 2 * (int) Math.ceil(lonDelta / cellDegrees) + 1);
+        int firstLonCell = allLongitudes ? 0 : lonCell(lon - lonDelta);
+
+        for (int latC = minLatCell; latC <= maxLatCell; latC++) {
+            for (int i = 0; i < lonSpan; i++) {
+                Cell cell = cells.get(cellKey(latC, Math.floorMod(firstLonCell + i, lonCells)));
+                if (cell == null) {
+                    continue;
+                }
+                for (int p = 0; p < cell.size; p++) {
+                    double d = haversineKm(latRad, cosQueryLat, lon, cell.lats[p], cell.lons[p]);
+                    // negated so the max-heap keeps the nearest points
+                    if (d <= radiusKm && -d > top.threshold()) {
+                        top.offer(cell.ids[p], -d);
+                    }
+                }
+            }
+        }
+        return drain(top, true);
+    }
+
+    /**
+     * Destinations inside the box. A box with minLon > maxLon crosses the antimeridian.
+     */
+    public List<Hit> within(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        TopK top = new TopK(limit);
+        int minLatCell = latCell(minLat);
+        int maxLatCell = latCell(maxLat);
+        int firstLonCell = lonCell(minLon);
+        int lastLonCell = maxLon >= 180.0 ? lonCells - 1 : lonCell(maxLon);
+        boolean wraps = minLon > maxLon;
+        int lonSpan = wraps
+                ? lonCells - firstLonCell + lastLonCell + 1
+                : lastLonCell - firstLonCell + 1;
+
+        for (int latC = minLatCell; latC <= maxLatCell; latC++) {
+            for (int i = 0; i < Math.min(lonSpan, lonCells); i++) {
+                Cell cell = cells.get(cellKey(latC, (firstLonCell + i) % lonCells));
+                if (cell == null) {
+                    continue;
+                }
+                for (int p = 0; p < cell.size; p++) {
+                    double pLat = cell.lats[p];
+                    double pLon = cell.lons[p];
+                    boolean lonInside = wraps
+                            ? pLon >= minLon || pLon <= maxLon
+                            : pLon >= minLon && pLon <= maxLon;
+                    if (pLat >= minLat && pLat <= maxLat && lonInside) {
+                        // ordered by id for stable paging of box results
+                        top.offer(cell.ids[p], -cell.ids[p]);
+                    }
+                }
+            }
+        }
+        return drain(top, false);
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double lat1Rad = Math.toRadians(lat1);
+        return haversineKm(lat1Rad, Math.cos(lat1Rad), lon1, lat2, lon2);
+    }
+
+    private static double haversineKm(double lat1Rad, double cosLat1, double lon1, double lat2, double lon2) {
+        double lat2Rad = Math.toRadians(lat2);
+        double dLat = lat2Rad - lat1Rad;
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double h = sinLat * sinLat + cosLat1 * Math.cos(lat2Rad) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+
+    private int latCell(double lat) {
+        return Math.min(latCells - 1, (int) Math.floor((lat + 90.0) / cellDegrees));
+    }
+
+    private int lonCell(double lon) {
+        double normalized = ((lon + 180.0) % 360.0 + 360.0) % 360.0;
+        return Math.min(lonCells - 1, (int) Math.floor(normalized / cellDegrees));
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    private List<Hit> drain(TopK top, boolean scoreIsDistance) {
+        long[] ids = new long[top.size()];
+        double[] scores = new double[top.size()];
+        int n = top.drainDescending(ids, scores);
+        List<Hit> hits = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            hits.add(new Hit(ids[i], scoreIsDistance ? -scores[i] : null));
+        }
+        return hits;
+    }
+
+    public record Hit(long destinationId, Double distanceKm) {
+    }
+
+    // Parallel primitive arrays; removal swaps the last point into the hole
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lons = new double[4];
+        private int size;
+
+        void add(long id, double lat, double lon) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lons = Arrays.copyOf(lons, size * 2);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lons[size] = lon;
+            size++;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lons[i] = lons[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
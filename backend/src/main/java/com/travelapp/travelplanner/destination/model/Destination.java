@@ -2,9 +2,13 @@ package com.travelapp.travelplanner.destination.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "destinations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "destination")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,4 +32,8 @@ public class Destination {
     private String imageUrl;
 
     private Double price;
+
+    // WGS84 coordinates, optional; used by the nearby search index
+    private Double latitude;
+    private Double longitude;
 }
@@ -1,7 +1,22 @@
 package com.travelapp.travelplanner.destination.repository;
 
 import com.travelapp.travelplanner.destination.model.Destination;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface DestinationRepository extends JpaRepository<Destination, Long> {
+
+    // (id, latitude, longitude) rows for building the in-memory geo index
+    @Query("select d.id, d.latitude, d.longitude from Destination d " +
+            "where d.latitude is not null and d.longitude is not null")
+    List<Object[]> findAllCoordinates();
+
+    List<Destination> findAllByOrderByIdAsc(Limit limit);
+
+    @Query("select d.id from Destination d where d.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
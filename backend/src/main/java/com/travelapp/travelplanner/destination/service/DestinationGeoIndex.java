@@ -0,0 +1,87 @@
+package com.travelapp.travelplanner.destination.service;
+
+import com.travelapp.travelplanner.destination.index.GeoGridIndex;
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.destination.repository.DestinationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory spatial index over destination coordinates, kept in sync by DestinationService
+// (changes made on other instances arrive through CacheInvalidatedEvent)
+@Component
+@Lazy(false)
+public class DestinationGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinationGeoIndex.class);
+
+    private final DestinationRepository destinationRepository;
+    private final GeoGridIndex index;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public DestinationGeoIndex(DestinationRepository destinationRepository,
+                               @Value("${app.geo.cell-degrees:0.5}") double cellDegrees) {
+        this.destinationRepository = destinationRepository;
+        this.index = new GeoGridIndex(cellDegrees);
+    }
+
+    // Called by StartupIndexLoader before the web server starts accepting requests
+    public void load() {
+        List<Object[]> rows = destinationRepository.findAllCoordinates();
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                index.put((Long) row[0], (Double) row[1], (Double) row[2]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} destinations into the geo index", rows.size());
+    }
+
+    public void update(Destination destination) {
+        lock.writeLock().lock();
+        try {
+            if (destination.getLatitude() == null || destination.getLongitude() == null) {
+                index.remove(destination.getId());
+            } else {
+                index.put(destination.getId(), destination.getLatitude(), destination.getLongitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long destinationId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(destinationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<GeoGridIndex.Hit> nearby(double lat, double lon, double radiusKm, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.nearby(lat, lon, radiusKm, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<GeoGridIndex.Hit> within(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.within(minLat, minLon, maxLat, maxLon, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
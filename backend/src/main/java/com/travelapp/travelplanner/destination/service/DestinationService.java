@@ -1,37 +1,85 @@
 package com.travelapp.travelplanner.destination.service;
 
+import com.travelapp.travelplanner.cache.event.CacheInvalidatedEvent;
+import com.travelapp.travelplanner.cache.model.CachedEntity;
+import com.travelapp.travelplanner.cache.service.CacheInvalidationService;
+import com.travelapp.travelplanner.destination.dto.NearbyDestinationResponse;
+import com.travelapp.travelplanner.destination.index.GeoGridIndex;
 import com.travelapp.travelplanner.destination.model.Destination;
 import com.travelapp.travelplanner.destination.repository.DestinationRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
 import com.travelapp.travelplanner.exceptions.ResourceNotFoundException;
+import com.travelapp.travelplanner.pricing.service.PricingService;
+import com.travelapp.travelplanner.util.AfterCommit;
+import com.travelapp.travelplanner.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class DestinationService {
 
+    private static final int MAX_SEARCH_RESULTS = 500;
+    private static final double MAX_RADIUS_KM = 5000;
+
     private final DestinationRepository destinationRepository;
+    private final DestinationGeoIndex geoIndex;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final PricingService pricingService;
+    private final SingleFlight<Long, Destination> loads;
 
-    public DestinationService(DestinationRepository destinationRepository) {
+    public DestinationService(DestinationRepository destinationRepository,
+                              DestinationGeoIndex geoIndex,
+                              CacheInvalidationService cacheInvalidationService,
+                              PricingService pricingService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.coalescing.destination-timeout:2s}") Duration loadTimeout) {
         this.destinationRepository = destinationRepository;
+        this.geoIndex = geoIndex;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.pricingService = pricingService;
+        this.loads = new SingleFlight<>("destination", loadTimeout);
+        this.loads.bindTo(meterRegistry);
     }
 
     public List<Destination> getAllDestinations() {
         return destinationRepository.findAll();
     }
 
+    // The first destinations by id, without the count query of a Page
+    @Transactional(readOnly = true)
+    public List<Destination> getFirstDestinations(int limit) {
+        return destinationRepository.findAllByOrderByIdAsc(Limit.of(limit));
+    }
+
+    // Concurrent requests for the same destination share one load
     public Destination getDestination(Long id) {
-        return destinationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Destination not found with id " + id));
+        return loads.load(id, () -> findDestination(id));
     }
 
+    @Transactional
     public Destination createDestination(Destination destination) {
         destination.setId(null);
-        return destinationRepository.save(destination);
+        validateCoordinates(destination.getLatitude(), destination.getLongitude());
+        Destination saved = destinationRepository.save(destination);
+        AfterCommit.run(() -> geoIndex.update(saved));
+        cacheInvalidationService.publish(CachedEntity.DESTINATION, saved.getId());
+        return saved;
     }
 
+    @Transactional
     public Destination updateDestination(Long id, Destination updated) {
-        Destination existing = getDestination(id);
+        Destination existing = findDestination(id);
+        validateCoordinates(updated.getLatitude(), updated.getLongitude());
 
         existing.setName(updated.getName());
         existing.setCountry(updated.getCountry());
@@ -39,12 +87,90 @@ public class DestinationService {
         existing.setDescription(updated.getDescription());
         existing.setImageUrl(updated.getImageUrl());
         existing.setPrice(updated.getPrice());
+        existing.setLatitude(updated.getLatitude());
+        existing.setLongitude(updated.getLongitude());
 
-        return destinationRepository.save(existing);
+        Destination saved = destinationRepository.save(existing);
+        AfterCommit.run(() -> geoIndex.update(saved));
+        pricingService.evict(id);
+        AfterCommit.run(() -> loads.forget(id));
+        cacheInvalidationService.publish(CachedEntity.DESTINATION, id);
+        return saved;
     }
 
+    @Transactional
     public void deleteDestination(Long id) {
-        Destination existing = getDestination(id);
+        Destination existing = findDestination(id);
         destinationRepository.delete(existing);
+        AfterCommit.run(() -> geoIndex.remove(id));
+        pricingService.evict(id);
+        AfterCommit.run(() -> loads.forget(id));
+        cacheInvalidationService.publish(CachedEntity.DESTINATION, id);
+    }
+
+    // A destination changed on another instance: re-read it into the geo index
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.entityType() != CachedEntity.DESTINATION) {
+            return;
+        }
+        loads.forget(event.entityId());
+        destinationRepository.findById(event.entityId())
+                .ifPresentOrElse(geoIndex::update, () -> geoIndex.remove(event.entityId()));
+    }
+
+    public List<NearbyDestinationResponse> findNearby(double lat, double lon, double radiusKm, int limit) {
+        validateCoordinates(lat, lon);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be > 0 and <= " + (int) MAX_RADIUS_KM);
+        }
+        return toResponses(geoIndex.nearby(lat, lon, radiusKm, clampLimit(limit)));
+    }
+
+    public List<NearbyDestinationResponse> findWithin(double minLat, double minLon,
+                                                      double maxLat, double maxLon, int limit) {
+        validateCoordinates(minLat, minLon);
+        validateCoordinates(maxLat, maxLon);
+        if (minLat > maxLat) {
+            throw new BadRequestException("minLat must be <= maxLat");
+        }
+        return toResponses(geoIndex.within(minLat, minLon, maxLat, maxLon, clampLimit(limit)));
+    }
+
+    private Destination findDestination(Long id) {
+        return destinationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Destination not found with id " + id));
+    }
+
+    private List<NearbyDestinationResponse> toResponses(List<GeoGridIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Destination> byId = destinationRepository
+                .findAllById(hits.stream().map(GeoGridIndex.Hit::destinationId).toList())
+                .stream()
+                .collect(Collectors.toMap(Destination::getId, Function.identity()));
+
+        // keep index order (nearest first); skip ids deleted concurrently
+        return hits.stream()
+                .filter(hit -> byId.containsKey(hit.destinationId()))
+                .map(hit -> new NearbyDestinationResponse(byId.get(hit.destinationId()), hit.distanceKm()))
+                .toList();
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    private void validateCoordinates(Double lat, Double lon) {
+        if (lat == null && lon == null) {
+            return;
+        }
+        if (lat == null || lon == null) {
+            throw new BadRequestException("latitude and longitude must be provided together");
+        }
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || !Double.isFinite(lat) || !Double.isFinite(lon)) {
+            throw new BadRequestException("latitude must be in [-90, 90] and longitude in [-180, 180]");
+        }
     }
 }
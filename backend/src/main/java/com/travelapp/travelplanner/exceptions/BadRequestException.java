@@ -1,7 +1,8 @@
 package com.travelapp.travelplanner.exceptions;
 
+// Expected outcome of a request, not a bug: no stack trace capture, no suppression
 public class BadRequestException extends RuntimeException {
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,8 @@
+package com.travelapp.travelplanner.exceptions;
+
+// Load shedding, not a bug: no stack trace capture, no suppression
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message, null, false, false);
+    }
+}
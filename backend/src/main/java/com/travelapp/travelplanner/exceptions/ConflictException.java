@@ -0,0 +1,8 @@
+package com.travelapp.travelplanner.exceptions;
+
+// Expected outcome of a request, not a bug: no stack trace capture, no suppression
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
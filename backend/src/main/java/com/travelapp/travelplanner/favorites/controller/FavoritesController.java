@@ -2,6 +2,8 @@ package com.travelapp.travelplanner.favorites.controller;
 
 import com.travelapp.travelplanner.favorites.dto.FavoriteRequest;
 import com.travelapp.travelplanner.favorites.dto.FavoriteResponse;
+import com.travelapp.travelplanner.favorites.dto.FavoritesSyncRequest;
+import com.travelapp.travelplanner.favorites.dto.FavoritesSyncResponse;
 import com.travelapp.travelplanner.favorites.service.FavoritesService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
@@ -42,6 +44,14 @@ public class FavoritesController {
         return ResponseEntity.ok(created);
     }
 
+    // Applies a full wanted set or a batch of add/remove operations at once (offline and mobile clients)
+    @PostMapping("/sync")
+    public ResponseEntity<FavoritesSyncResponse> sync(@RequestBody FavoritesSyncRequest body,
+                                                      HttpServletRequest request) {
+        Long userId = getUserIdFromRequest(request);
+        return ResponseEntity.ok(favoritesService.sync(userId, body));
+    }
+
     @DeleteMapping("/{favoriteId}")
     public ResponseEntity<Void> deleteFavorite(@PathVariable Long favoriteId,
                                                HttpServletRequest request) {
@@ -0,0 +1,17 @@
+package com.travelapp.travelplanner.favorites.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Either the full set of favorite destinations the client wants
+ * (destinationIds, an empty list clears all favorites), or a batch of
+ * operations (add / remove). Ids already in the wanted state are skipped.
+ */
+@Data
+public class FavoritesSyncRequest {
+    private List<Long> destinationIds;
+    private List<Long> add;
+    private List<Long> remove;
+}
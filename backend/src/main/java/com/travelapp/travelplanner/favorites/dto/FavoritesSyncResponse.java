@@ -0,0 +1,15 @@
+package com.travelapp.travelplanner.favorites.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// The delta that was applied, and the user's favorites after it
+@Data
+@AllArgsConstructor
+public class FavoritesSyncResponse {
+    private List<Long> added;
+    private List<Long> removed;
+    private List<FavoriteResponse> favorites;
+}
@@ -0,0 +1,7 @@
+package com.travelapp.travelplanner.favorites.event;
+
+// Published by FavoritesService whenever a favorite is added or removed
+public record FavoriteChangedEvent(Long userId,
+                                   Long destinationId,
+                                   boolean added) {
+}
@@ -5,6 +5,8 @@ import com.travelapp.travelplanner.user.model.User;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(
         name = "favorites",
@@ -28,4 +30,7 @@ public class Favorite {
     @ManyToOne(fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "destination_id", nullable = false)
     private Destination destination;
+
+    // Null for favorites added before the column existed
+    private LocalDateTime createdAt;
 }
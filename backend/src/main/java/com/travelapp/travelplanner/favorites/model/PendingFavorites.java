@@ -0,0 +1,116 @@
+package com.travelapp.travelplanner.favorites.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One user's favorite changes that are not in the favorites table yet, as
+ * destination id to wanted state, on top of the destination ids stored when
+ * the entry was created.
+ *
+ * A change back to the stored state cancels the pending one, so add/remove
+ * pairs never reach the database. A flush takes the changes as one batch;
+ * toggles during the flush are compared with that batch, not the table.
+ *
+ * Not thread-safe: callers synchronize on the instance. The flush lock
+ * keeps two flushes of the same user apart without blocking toggles.
+ */
+public final class PendingFavorites {
+
+    public enum Outcome {
+        // Already the user's state, pending or stored
+        UNCHANGED,
+        RECORDED,
+        // Cancelled a pending change
+        COLLAPSED
+    }
+
+    private final Set<Long> stored;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<Long, Boolean> changes = new HashMap<>();
+    private Map<Long, Boolean> inFlight = Map.of();
+    private boolean retired;
+
+    public PendingFavorites(Set<Long> stored) {
+        this.stored = stored;
+    }
+
+    public Outcome change(Long destinationId, boolean favorite) {
+        if (isFavorite(destinationId) == favorite) {
+            return Outcome.UNCHANGED;
+        }
+        if (base(destinationId) == favorite) {
+            changes.remove(destinationId);
+            return Outcome.COLLAPSED;
+        }
+        changes.put(destinationId, favorite);
+        return Outcome.RECORDED;
+    }
+
+    public boolean isFavorite(Long destinationId) {
+        Boolean change = changes.get(destinationId);
+        return change != null ? change : base(destinationId);
+    }
+
+    /** Changes being written and changes still waiting, the latter winning. */
+    public Map<Long, Boolean> overlay() {
+        Map<Long, Boolean> overlay = new HashMap<>(inFlight);
+        overlay.putAll(changes);
+        return overlay;
+    }
+
+    /** Number of changes not yet written, the batch being written included. */
+    public int size() {
+        return changes.size() + inFlight.size();
+    }
+
+    /** Hands the waiting changes to a flush; later toggles start a new batch. */
+    public Map<Long, Boolean> beginFlush() {
+        inFlight = changes;
+        changes = new HashMap<>();
+        return inFlight;
+    }
+
+    /**
+     * Ends the flush started last. A written batch becomes the stored state;
+     * a failed one is kept unless a later toggle replaced it.
+     */
+    public void endFlush(boolean written) {
+        Map<Long, Boolean> batch = inFlight;
+        inFlight = Map.of();
+        if (written) {
+            batch.forEach((destinationId, favorite) -> {
+                if (favorite) {
+                    stored.add(destinationId);
+                } else {
+                    stored.remove(destinationId);
+                }
+            });
+        } else {
+            batch.forEach(changes::putIfAbsent);
+            // A toggle made during the flush may have returned to the stored state
+            changes.entrySet().removeIf(change -> stored.contains(change.getKey()) == change.getValue());
+        }
+    }
+
+    public ReentrantLock getFlushLock() {
+        return flushLock;
+    }
+
+    public boolean isRetired() {
+        return retired;
+    }
+
+    // Flushed and dropped from the pending map; a new toggle must start a new entry
+    public void retire() {
+        retired = true;
+    }
+
+    // The state a pending change is compared with: being written, else stored
+    private boolean base(Long destinationId) {
+        Boolean change = inFlight.get(destinationId);
+        return change != null ? change : stored.contains(destinationId);
+    }
+}
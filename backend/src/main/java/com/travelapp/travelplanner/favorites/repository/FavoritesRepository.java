@@ -2,7 +2,11 @@ package com.travelapp.travelplanner.favorites.repository;
 
 import com.travelapp.travelplanner.favorites.model.Favorite;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +20,27 @@ public interface FavoritesRepository extends JpaRepository<Favorite, Long> {
 
     // For deleting by user and destination (if you want)
     Optional<Favorite> findByUser_IdAndDestination_Id(Long userId, Long destinationId);
+
+    // Served by uk_favorites_user_destination
+    @Query("select f.destination.id from Favorite f where f.user.id = :userId")
+    List<Long> findDestinationIdsByUserId(Long userId);
+
+    // One statement for a whole batch; a favorite added concurrently is left as it is
+    @Modifying
+    @Query(value = "insert into favorites (user_id, destination_id, created_at) " +
+            "select :userId, d.id, :createdAt from destinations d where d.id in (:destinationIds) " +
+            "on duplicate key update favorites.id = favorites.id", nativeQuery = true)
+    int insertAll(Long userId, Collection<Long> destinationIds, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("delete from Favorite f where f.user.id = :userId and f.destination.id in :destinationIds")
+    int deleteAll(Long userId, Collection<Long> destinationIds);
+
+    // Lightweight (userId, destinationId) pairs for building in-memory indexes
+    @Query("select f.user.id, f.destination.id from Favorite f")
+    List<Object[]> findAllUserDestinationPairs();
+
+    // (destinationId, createdAt) of recent favorites, served by idx_favorites_created
+    @Query("select f.destination.id, f.createdAt from Favorite f where f.createdAt >= :since")
+    List<Object[]> findDestinationActivitySince(LocalDateTime since);
 }
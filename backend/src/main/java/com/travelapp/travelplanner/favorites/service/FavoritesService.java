@@ -6,14 +6,27 @@ import com.travelapp.travelplanner.exceptions.BadRequestException;
 import com.travelapp.travelplanner.exceptions.ResourceNotFoundException;
 import com.travelapp.travelplanner.favorites.dto.FavoriteRequest;
 import com.travelapp.travelplanner.favorites.dto.FavoriteResponse;
+import com.travelapp.travelplanner.favorites.dto.FavoritesSyncRequest;
+import com.travelapp.travelplanner.favorites.dto.FavoritesSyncResponse;
+import com.travelapp.travelplanner.favorites.event.FavoriteChangedEvent;
 import com.travelapp.travelplanner.favorites.model.Favorite;
 import com.travelapp.travelplanner.favorites.repository.FavoritesRepository;
 import com.travelapp.travelplanner.user.model.User;
 import com.travelapp.travelplanner.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class FavoritesService {
@@ -21,13 +34,22 @@ public class FavoritesService {
     private final FavoritesRepository favoritesRepository;
     private final UserRepository userRepository;
     private final DestinationRepository destinationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FavoritesWriteBehind writeBehind;
+    private final int maxSyncItems;
 
     public FavoritesService(FavoritesRepository favoriteRepository,
                             UserRepository userRepository,
-                            DestinationRepository destinationRepository) {
+                            DestinationRepository destinationRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            FavoritesWriteBehind writeBehind,
+                            @Value("${app.favorites.sync.max-items:500}") int maxSyncItems) {
         this.favoritesRepository = favoriteRepository;
         this.userRepository = userRepository;
         this.destinationRepository = destinationRepository;
+        this.eventPublisher = eventPublisher;
+        this.writeBehind = writeBehind;
+        this.maxSyncItems = maxSyncItems;
     }
 
     @Transactional
@@ -38,6 +60,16 @@ public class FavoritesService {
             throw new BadRequestException("destinationId is required");
         }
 
+        if (writeBehind.isEnabled()) {
+            Destination destination = destinationRepository.findById(destId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Destination not found"));
+            if (!writeBehind.record(userId, destId, true)) {
+                throw new BadRequestException("Destination already in favorites");
+            }
+            // No row yet, so no id; clients remove by destination
+            return new FavoriteResponse(null, destination);
+        }
+
         if (favoritesRepository.existsByUser_IdAndDestination_Id(userId, destId)) {
             throw new BadRequestException("Destination already in favorites");
         }
@@ -51,17 +83,56 @@ public class FavoritesService {
         Favorite favorite = Favorite.builder()
                 .user(user)
                 .destination(destination)
+                .createdAt(LocalDateTime.now())
                 .build();
 
         Favorite saved = favoritesRepository.save(favorite);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(userId, destId, true));
         return new FavoriteResponse(saved.getId(), saved.getDestination());
     }
 
+    @Transactional(readOnly = true)
+    public List<Long> getFavoriteDestinationIds(Long userId) {
+        // Pending changes first: one flushed in between is then in the table
+        Map<Long, Boolean> pending = writeBehind.pendingChanges(userId);
+        List<Long> stored = favoritesRepository.findDestinationIdsByUserId(userId);
+        if (pending.isEmpty()) {
+            return stored;
+        }
+        Set<Long> ids = new LinkedHashSet<>(stored);
+        pending.forEach((destinationId, favorite) -> {
+            if (favorite) {
+                ids.add(destinationId);
+            } else {
+                ids.remove(destinationId);
+            }
+        });
+        return List.copyOf(ids);
+    }
+
     @Transactional(readOnly = true)
     public List<FavoriteResponse> getFavorites(Long userId) {
-        return favoritesRepository.findByUser_Id(userId).stream()
-                .map(fav -> new FavoriteResponse(fav.getId(), fav.getDestination()))
+        Map<Long, Boolean> pending = writeBehind.pendingChanges(userId);
+        List<FavoriteResponse> favorites = new ArrayList<>();
+        Set<Long> listed = new HashSet<>();
+        for (Favorite fav : favoritesRepository.findByUser_Id(userId)) {
+            Long destinationId = fav.getDestination().getId();
+            if (!Boolean.FALSE.equals(pending.get(destinationId))) {
+                favorites.add(new FavoriteResponse(fav.getId(), fav.getDestination()));
+                listed.add(destinationId);
+            }
+        }
+        // Pending adds: not in the table yet, so no favorite id
+        List<Long> added = pending.entrySet().stream()
+                .filter(change -> change.getValue() && !listed.contains(change.getKey()))
+                .map(Map.Entry::getKey)
+                .sorted()
                 .toList();
+        if (!added.isEmpty()) {
+            destinationRepository.findAllById(added)
+                    .forEach(destination -> favorites.add(new FavoriteResponse(null, destination)));
+        }
+        return favorites;
     }
 
     @Transactional
@@ -73,14 +144,93 @@ public class FavoritesService {
             throw new BadRequestException("You cannot delete someone else's favorite");
         }
 
+        if (writeBehind.isEnabled()) {
+            if (!writeBehind.record(userId, favorite.getDestination().getId(), false)) {
+                throw new ResourceNotFoundException("Favorite not found");
+            }
+            return;
+        }
+
         favoritesRepository.delete(favorite);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(userId, favorite.getDestination().getId(), false));
     }
 
     @Transactional
     public void removeFavoriteByDestination(Long userId, Long destinationId) {
+        if (writeBehind.isEnabled()) {
+            if (!writeBehind.record(userId, destinationId, false)) {
+                throw new ResourceNotFoundException("Favorite not found");
+            }
+            return;
+        }
         Favorite favorite = favoritesRepository
                 .findByUser_IdAndDestination_Id(userId, destinationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Favorite not found"));
         favoritesRepository.delete(favorite);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(userId, destinationId, false));
+    }
+
+    /**
+     * Brings the user's favorites to the requested state in one transaction:
+     * diffs it against the stored destination ids, then applies the delta
+     * with one insert and one delete statement. Pending write-behind changes
+     * are flushed first, so the diff is taken against the user's real state.
+     */
+    @Transactional
+    public FavoritesSyncResponse sync(Long userId, FavoritesSyncRequest request) {
+        boolean fullSet = request.getDestinationIds() != null;
+        if (fullSet && (request.getAdd() != null || request.getRemove() != null)) {
+            throw new BadRequestException("Send either destinationIds or add/remove, not both");
+        }
+        Set<Long> wanted = ids(fullSet ? request.getDestinationIds() : request.getAdd());
+        Set<Long> unwanted = ids(fullSet ? null : request.getRemove());
+        if (wanted.size() + unwanted.size() > maxSyncItems) {
+            throw new BadRequestException("At most " + maxSyncItems + " destinations per sync");
+        }
+        if (!Collections.disjoint(wanted, unwanted)) {
+            throw new BadRequestException("A destination cannot be both added and removed");
+        }
+
+        writeBehind.flush(userId);
+        Set<Long> stored = new HashSet<>(favoritesRepository.findDestinationIdsByUserId(userId));
+        List<Long> toAdd = wanted.stream().filter(id -> !stored.contains(id)).sorted().toList();
+        List<Long> toRemove = (fullSet
+                ? stored.stream().filter(id -> !wanted.contains(id))
+                : unwanted.stream().filter(stored::contains))
+                .sorted()
+                .toList();
+
+        List<Long> added = toAdd;
+        if (!toAdd.isEmpty()) {
+            Set<Long> existing = new HashSet<>(destinationRepository.findExistingIds(toAdd));
+            List<Long> missing = toAdd.stream().filter(id -> !existing.contains(id)).toList();
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException("Destinations not found: " + missing);
+            }
+            favoritesRepository.insertAll(userId, toAdd, LocalDateTime.now());
+            // The insert skips a destination deleted since the check; reading the
+            // stored ids fixed the repeatable-read snapshot, so rows another
+            // transaction committed meanwhile are not reported as ours either
+            Set<Long> now = new HashSet<>(favoritesRepository.findDestinationIdsByUserId(userId));
+            added = toAdd.stream().filter(now::contains).toList();
+        }
+        if (!toRemove.isEmpty()) {
+            favoritesRepository.deleteAll(userId, toRemove);
+        }
+
+        added.forEach(id -> eventPublisher.publishEvent(new FavoriteChangedEvent(userId, id, true)));
+        toRemove.forEach(id -> eventPublisher.publishEvent(new FavoriteChangedEvent(userId, id, false)));
+        return new FavoritesSyncResponse(added, toRemove, getFavorites(userId));
+    }
+
+    private static Set<Long> ids(List<Long> ids) {
+        if (ids == null) {
+            return Set.of();
+        }
+        // Not contains(null): immutable lists throw on it
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Destination ids must not be null");
+        }
+        return new HashSet<>(ids);
     }
 }
@@ -0,0 +1,235 @@
+package com.travelapp.travelplanner.favorites.service;
+
+import com.travelapp.travelplanner.favorites.event.FavoriteChangedEvent;
+import com.travelapp.travelplanner.favorites.model.PendingFavorites;
+import com.travelapp.travelplanner.favorites.repository.FavoritesRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind mode for favorite toggles (app.favorites.write-behind.enabled).
+ *
+ * A toggle only records the wanted state per user and destination in
+ * memory; reads overlay those pending changes on the table, so the user
+ * sees the toggle at once. Toggling back to the stored state drops the
+ * pending change, so add/remove pairs never reach the database. Every
+ * flush-interval, and on shutdown, each user's net changes are written in
+ * one transaction (one insert and one delete statement), after which
+ * FavoriteChangedEvent is published for them.
+ *
+ * What a crash can lose is bounded by flush-interval and by max-pending:
+ * once that many changes are pending over all users, the toggling request
+ * flushes all of them itself, which brings the count back down. Requests
+ * that reach the bound while such a flush runs do not wait for it. A failed
+ * flush keeps the changes for the next one.
+ */
+@Service
+@Lazy(false)
+public class FavoritesWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(FavoritesWriteBehind.class);
+
+    private final FavoritesRepository favoritesRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate flushTransaction;
+    private final boolean enabled;
+    private final int maxPending;
+
+    private final Map<Long, PendingFavorites> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    // Set while a request that reached max-pending flushes all users
+    private final AtomicBoolean overflowFlush = new AtomicBoolean();
+    private final Counter collapsed;
+    private final Counter flushed;
+    private final Counter flushFailures;
+    private volatile boolean closed;
+
+    public FavoritesWriteBehind(FavoritesRepository favoritesRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.favorites.write-behind.enabled:false}") boolean enabled,
+                                @Value("${app.favorites.write-behind.max-pending:10000}") int maxPending) {
+        this.favoritesRepository = favoritesRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxPending = Math.max(1, maxPending);
+        // Own transaction, also when flushing ahead of a sync that already has one open
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("favorites.write_behind.pending", pendingChanges, AtomicInteger::get).register(meterRegistry);
+        this.collapsed = meterRegistry.counter("favorites.write_behind.collapsed");
+        this.flushed = meterRegistry.counter("favorites.write_behind.flushed");
+        this.flushFailures = meterRegistry.counter("favorites.write_behind.flush.failures");
+    }
+
+    // Off after shutdown has flushed, so late toggles are written directly
+    public boolean isEnabled() {
+        return enabled && !closed;
+    }
+
+    /**
+     * Records that the user wants the destination favorited or not.
+     *
+     * @return false if that already is the user's state, pending or stored
+     */
+    public boolean record(Long userId, Long destinationId, boolean favorite) {
+        while (true) {
+            PendingFavorites entry = pending.get(userId);
+            if (entry == null) {
+                // Read outside computeIfAbsent, which must not block on the database
+                Set<Long> stored = new HashSet<>(favoritesRepository.findDestinationIdsByUserId(userId));
+                entry = pending.computeIfAbsent(userId, id -> new PendingFavorites(stored));
+            }
+            PendingFavorites.Outcome outcome;
+            synchronized (entry) {
+                if (entry.isRetired()) {
+                    continue;
+                }
+                outcome = entry.change(destinationId, favorite);
+            }
+            switch (outcome) {
+                case UNCHANGED -> {
+                    return false;
+                }
+                case COLLAPSED -> {
+                    pendingChanges.decrementAndGet();
+                    collapsed.increment();
+                }
+                case RECORDED -> {
+                    if (pendingChanges.incrementAndGet() >= maxPending && overflowFlush.compareAndSet(false, true)) {
+                        try {
+                            flushAll();
+                        } finally {
+                            overflowFlush.set(false);
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /** The user's changes not yet known to be in the table: destination id to wanted state. */
+    public Map<Long, Boolean> pendingChanges(Long userId) {
+        PendingFavorites entry = pending.get(userId);
+        if (entry == null) {
+            return Map.of();
+        }
+        synchronized (entry) {
+            return entry.overlay();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.favorites.write-behind.flush-interval:2s}")
+    public void flushAll() {
+        for (Long userId : pending.keySet()) {
+            flush(userId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closed = true;
+        flushAll();
+        if (pendingChanges.get() > 0) {
+            log.error("{} favorite changes could not be written before shutdown", pendingChanges.get());
+        }
+    }
+
+    /** Writes the user's pending changes now; returns once they are in the table or the write failed. */
+    public void flush(Long userId) {
+        PendingFavorites entry = pending.get(userId);
+        if (entry == null) {
+            return;
+        }
+        entry.getFlushLock().lock();
+        try {
+            Map<Long, Boolean> batch;
+            synchronized (entry) {
+                if (entry.isRetired()) {
+                    return;
+                }
+                batch = entry.beginFlush();
+            }
+
+            boolean written = batch.isEmpty() || write(userId, batch);
+
+            synchronized (entry) {
+                int before = entry.size();
+                entry.endFlush(written);
+                pendingChanges.addAndGet(entry.size() - before);
+                if (entry.size() == 0) {
+                    entry.retire();
+                    pending.remove(userId, entry);
+                }
+            }
+        } finally {
+            entry.getFlushLock().unlock();
+        }
+    }
+
+    private boolean write(Long userId, Map<Long, Boolean> batch) {
+        List<Long> added = batch.entrySet().stream().filter(Map.Entry::getValue).map(Map.Entry::getKey).sorted().toList();
+        List<Long> removed = batch.entrySet().stream().filter(change -> !change.getValue()).map(Map.Entry::getKey).sorted().toList();
+        try {
+            flushTransaction.executeWithoutResult(status -> {
+                List<Long> inserted = added.isEmpty() ? List.of() : insert(userId, added);
+                if (!removed.isEmpty()) {
+                    favoritesRepository.deleteAll(userId, removed);
+                }
+                // Delivered after commit (TransactionalEventListener)
+                inserted.forEach(id -> eventPublisher.publishEvent(new FavoriteChangedEvent(userId, id, true)));
+                removed.forEach(id -> eventPublisher.publishEvent(new FavoriteChangedEvent(userId, id, false)));
+            });
+            flushed.increment(batch.size());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // The user was deleted meanwhile; retrying cannot succeed
+            log.warn("Dropping {} favorite changes of user {}", batch.size(), userId, e);
+            flushFailures.increment();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} favorite changes of user {}, retrying on the next flush", batch.size(), userId, e);
+            flushFailures.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Inserts the favorites and returns the destinations actually added: the
+     * insert skips destinations deleted since the toggle, and ones the user
+     * favorited meanwhile in another transaction. The read before the insert
+     * fixes the repeatable-read snapshot, so rows committed concurrently
+     * stay out of both reads.
+     */
+    private List<Long> insert(Long userId, List<Long> added) {
+        Set<Long> before = new HashSet<>(favoritesRepository.findDestinationIdsByUserId(userId));
+        favoritesRepository.insertAll(userId, added, LocalDateTime.now());
+        Set<Long> after = new HashSet<>(favoritesRepository.findDestinationIdsByUserId(userId));
+        return added.stream().filter(id -> !before.contains(id) && after.contains(id)).toList();
+    }
+}
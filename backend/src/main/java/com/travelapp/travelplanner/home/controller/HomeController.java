@@ -0,0 +1,34 @@
+package com.travelapp.travelplanner.home.controller;
+
+import com.travelapp.travelplanner.home.dto.HomeResponse;
+import com.travelapp.travelplanner.home.service.HomeService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+
+    private final HomeService homeService;
+
+    public HomeController(HomeService homeService) {
+        this.homeService = homeService;
+    }
+
+    private Long getUserIdFromRequest(HttpServletRequest request) {
+        Object attr = request.getAttribute("userId");
+        if (attr instanceof Long id) {
+            return id;
+        }
+        throw new IllegalStateException("User ID not found in request. Is JWT filter configured?");
+    }
+
+    // USER: upcoming bookings, favorite destination ids and the first destinations in one round trip
+    @GetMapping
+    public ResponseEntity<HomeResponse> getHome(HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(homeService.getHome(getUserIdFromRequest(httpRequest)));
+    }
+}
@@ -0,0 +1,19 @@
+package com.travelapp.travelplanner.home.dto;
+
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.destination.model.Destination;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// Everything the first screen shows; a part named in failedParts is null and can be fetched on its own
+@Data
+@AllArgsConstructor
+public class HomeResponse {
+    private List<BookingResponse> upcomingBookings;
+    private List<Long> favoriteDestinationIds;
+    private List<Destination> destinations;
+    private boolean moreDestinations;
+    private List<String> failedParts;
+}
@@ -0,0 +1,147 @@
+package com.travelapp.travelplanner.home.service;
+
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.service.BookingService;
+import com.travelapp.travelplanner.bulkhead.model.Bulkhead;
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.destination.service.DestinationService;
+import com.travelapp.travelplanner.favorites.service.FavoritesService;
+import com.travelapp.travelplanner.home.dto.HomeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The first screen in one request: the user's upcoming bookings, favorite
+ * destination ids and the first page of destinations.
+ *
+ * The three reads run in parallel on a bounded pool, each in its own
+ * transaction, so the response takes as long as the slowest part rather
+ * than their sum. Each part has its own timeout; a part that fails or runs
+ * late is left out and named in failedParts instead of failing the whole
+ * response. When the pool and its queue are full the request thread runs
+ * the part itself, so overload degrades to sequential reads.
+ */
+@Service
+public class HomeService {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeService.class);
+
+    private final BookingService bookingService;
+    private final FavoritesService favoritesService;
+    private final DestinationService destinationService;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final int upcomingLimit;
+    private final int destinationPageSize;
+    private final Duration bookingsTimeout;
+    private final Duration favoritesTimeout;
+    private final Duration destinationsTimeout;
+
+    public HomeService(BookingService bookingService,
+                       FavoritesService favoritesService,
+                       DestinationService destinationService,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.home.threads:16}") int threads,
+                       @Value("${app.home.queue-capacity:64}") int queueCapacity,
+                       @Value("${app.home.upcoming-limit:10}") int upcomingLimit,
+                       @Value("${app.home.destination-page-size:100}") int destinationPageSize,
+                       @Value("${app.home.bookings-timeout:1s}") Duration bookingsTimeout,
+                       @Value("${app.home.favorites-timeout:500ms}") Duration favoritesTimeout,
+                       @Value("${app.home.destinations-timeout:1s}") Duration destinationsTimeout) {
+        this.bookingService = bookingService;
+        this.favoritesService = favoritesService;
+        this.destinationService = destinationService;
+        this.meterRegistry = meterRegistry;
+        this.upcomingLimit = upcomingLimit;
+        this.destinationPageSize = destinationPageSize;
+        this.bookingsTimeout = bookingsTimeout;
+        this.favoritesTimeout = favoritesTimeout;
+        this.destinationsTimeout = destinationsTimeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "home-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "home", List.of()).bindTo(meterRegistry);
+    }
+
+    public HomeResponse getHome(Long userId) {
+        long started = System.nanoTime();
+        // Parts run under the caller's bulkhead, so they count against its connection quota
+        Future<List<BookingResponse>> bookings =
+                executor.submit(Bulkhead.propagate(() -> bookingService.getUpcomingBookings(userId, upcomingLimit)));
+        Future<List<Long>> favorites =
+                executor.submit(Bulkhead.propagate(() -> favoritesService.getFavoriteDestinationIds(userId)));
+        // One extra row tells whether the client should fetch the rest
+        Future<List<Destination>> destinations =
+                executor.submit(Bulkhead.propagate(() -> destinationService.getFirstDestinations(destinationPageSize + 1)));
+
+        List<String> failedParts = new ArrayList<>(0);
+        List<BookingResponse> upcoming = await("upcomingBookings", bookings, started, bookingsTimeout, failedParts);
+        List<Long> favoriteIds = await("favoriteDestinationIds", favorites, started, favoritesTimeout, failedParts);
+        List<Destination> firstDestinations = await("destinations", destinations, started, destinationsTimeout, failedParts);
+
+        boolean moreDestinations = firstDestinations != null && firstDestinations.size() > destinationPageSize;
+        if (moreDestinations) {
+            firstDestinations = firstDestinations.subList(0, destinationPageSize);
+        }
+        return new HomeResponse(upcoming, favoriteIds, firstDestinations, moreDestinations, failedParts);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Timeouts count from the start of the request, so parts that ran in parallel are not charged twice
+    private <T> T await(String part, Future<T> future, long started, Duration timeout, List<String> failedParts) {
+        long remaining = timeout.toNanos() - (System.nanoTime() - started);
+        try {
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Home part {} timed out after {} ms", part, timeout.toMillis());
+            return failed(part, "timeout", failedParts);
+        } catch (ExecutionException e) {
+            log.warn("Home part {} failed", part, e.getCause());
+            return failed(part, "error", failedParts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return failed(part, "interrupted", failedParts);
+        }
+    }
+
+    private <T> T failed(String part, String reason, List<String> failedParts) {
+        failedParts.add(part);
+        Counter.builder("home.part.failures")
+                .tag("part", part)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.travelapp.travelplanner.itinerary.controller;
+
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryBookingRequest;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryRequest;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryResponse;
+import com.travelapp.travelplanner.itinerary.service.ItineraryService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/itineraries")
+public class ItineraryController {
+
+    private final ItineraryService itineraryService;
+
+    public ItineraryController(ItineraryService itineraryService) {
+        this.itineraryService = itineraryService;
+    }
+
+    private Long getUserIdFromRequest(HttpServletRequest request) {
+        Object attr = request.getAttribute("userId");
+        if (attr instanceof Long id) {
+            return id;
+        }
+        throw new IllegalStateException("User ID not found in request. Is JWT filter configured?");
+    }
+
+    // USER: compute an optimized ordering and night allocation (nothing is stored)
+    @PostMapping("/plan")
+    public ResponseEntity<ItineraryResponse> plan(@RequestBody ItineraryRequest request) {
+        return ResponseEntity.ok(itineraryService.plan(request));
+    }
+
+    // USER: book every stop of a plan in one transaction
+    @PostMapping("/book")
+    public ResponseEntity<List<BookingResponse>> book(@RequestBody ItineraryBookingRequest request,
+                                                      HttpServletRequest httpRequest) {
+        Long userId = getUserIdFromRequest(httpRequest);
+        return ResponseEntity.ok(itineraryService.book(userId, request));
+    }
+}
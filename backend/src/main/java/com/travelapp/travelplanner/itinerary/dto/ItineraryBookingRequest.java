@@ -0,0 +1,12 @@
+package com.travelapp.travelplanner.itinerary.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ItineraryBookingRequest {
+
+    private Integer travelers;
+    private List<ItineraryStop> stops;
+}
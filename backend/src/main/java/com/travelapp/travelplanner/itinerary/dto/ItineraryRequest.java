@@ -0,0 +1,22 @@
+package com.travelapp.travelplanner.itinerary.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class ItineraryRequest {
+
+    private List<Long> destinationIds;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    // Advisory: reported back as withinBudget, never changes the plan
+    private Double budget;
+    private Integer travelers;
+
+    // Optional tuning; defaults are applied in ItineraryService
+    private Integer minNightsPerStop;
+    private Double costPerKm;
+    private Long timeBudgetMs;
+}
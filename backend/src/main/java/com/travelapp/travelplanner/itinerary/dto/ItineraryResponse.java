@@ -0,0 +1,22 @@
+package com.travelapp.travelplanner.itinerary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItineraryResponse {
+
+    private List<ItineraryStop> stops;
+    private Integer travelers;
+    private double totalDistanceKm;
+    private double stayCost;
+    private double travelCost;
+    private double totalCost;
+    private Double budget;
+    private boolean withinBudget;
+    private int restartsEvaluated;
+    private long searchMillis;
+}
@@ -0,0 +1,21 @@
+package com.travelapp.travelplanner.itinerary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryStop {
+
+    private Long destinationId;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer nights;
+    private Double stayCost;
+    private Double distanceFromPreviousKm;
+}
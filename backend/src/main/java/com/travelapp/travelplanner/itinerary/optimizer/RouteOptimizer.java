@@ -0,0 +1,196 @@
+package com.travelapp.travelplanner.itinerary.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Shortest open path through all stops using 2-opt local search with
+ * random restarts. Restarts are split across a fork/join pool and the
+ * whole search stops at a deadline, so the runtime is bounded for any
+ * number of stops.
+ */
+public class RouteOptimizer {
+
+    // restarts handled by one leaf task before it stops splitting
+    private static final int RESTARTS_PER_LEAF = 4;
+
+    private final ForkJoinPool pool;
+
+    public RouteOptimizer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Result optimize(double[][] distances, int restarts, long timeBudgetMillis, long seed) {
+        int n = distances.length;
+        if (n <= 3) {
+            // an open path over <= 3 stops is fixed by its middle stop, so try each one
+            return bruteForce(distances);
+        }
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        return pool.invoke(new RestartTask(distances, 0, Math.max(1, restarts), deadline, seed));
+    }
+
+    public static double pathLength(double[][] distances, int[] order) {
+        double total = 0;
+        for (int i = 1; i < order.length; i++) {
+            total += distances[order[i - 1]][order[i]];
+        }
+        return total;
+    }
+
+    private Result bruteForce(double[][] distances) {
+        int n = distances.length;
+        List<int[]> candidates = new ArrayList<>();
+        if (n == 1) {
+            candidates.add(new int[]{0});
+        } else if (n == 2) {
+            candidates.add(new int[]{0, 1});
+        } else if (n == 3) {
+            candidates.add(new int[]{0, 1, 2});
+            candidates.add(new int[]{1, 0, 2});
+            candidates.add(new int[]{0, 2, 1});
+        }
+        Result best = null;
+        for (int[] order : candidates) {
+            Result r = new Result(order, pathLength(distances, order), 1);
+            best = best == null ? r : Result.better(best, r);
+        }
+        return best == null ? new Result(new int[0], 0, 0) : best;
+    }
+
+    private static final class RestartTask extends RecursiveTask<Result> {
+
+        private final double[][] distances;
+        private final int from;
+        private final int to;
+        private final long deadline;
+        private final long seed;
+
+        RestartTask(double[][] distances, int from, int to, long deadline, long seed) {
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.seed = seed;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from > RESTARTS_PER_LEAF) {
+                int mid = (from + to) >>> 1;
+                RestartTask left = new RestartTask(distances, from, mid, deadline, seed);
+                RestartTask right = new RestartTask(distances, mid, to, deadline, seed);
+                left.fork();
+                Result rightResult = right.compute();
+                return Result.better(left.join(), rightResult);
+            }
+
+            Result best = null;
+            for (int restart = from; restart < to; restart++) {
+                // the first restart always runs so that a result exists even with a tiny budget
+                if (best != null && System.nanoTime() >= deadline) {
+                    break;
+                }
+                int[] order = restart == 0
+                        ? nearestNeighbour(distances)
+                        : randomOrder(distances.length, new SplittableRandom(seed + restart));
+                twoOpt(distances, order, deadline);
+                Result r = new Result(order, pathLength(distances, order), 1);
+                best = Result.better(best, r);
+            }
+            return best;
+        }
+    }
+
+    static int[] nearestNeighbour(double[][] distances) {
+        int n = distances.length;
+        int[] order = new int[n];
+        boolean[] used = new boolean[n];
+        used[0] = true;
+        for (int i = 1; i < n; i++) {
+            int prev = order[i - 1];
+            int next = -1;
+            for (int c = 0; c < n; c++) {
+                if (!used[c] && (next < 0 || distances[prev][c] < distances[prev][next])) {
+                    next = c;
+                }
+            }
+            order[i] = next;
+            used[next] = true;
+        }
+        return order;
+    }
+
+    static int[] randomOrder(int n, SplittableRandom random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * First-improvement 2-opt for an open path: reversing order[i..j]
+     * replaces edges (i-1, i) and (j, j+1); edges past either end cost 0.
+     */
+    static void twoOpt(double[][] d, int[] order, long deadline) {
+        int n = order.length;
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    double before = 0;
+                    double after = 0;
+                    if (i > 0) {
+                        before += d[order[i - 1]][order[i]];
+                        after += d[order[i - 1]][order[j]];
+                    }
+                    if (j < n - 1) {
+                        before += d[order[j]][order[j + 1]];
+                        after += d[order[i]][order[j + 1]];
+                    }
+                    if (after < before - 1e-9) {
+                        reverse(order, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] order, int i, int j) {
+        while (i < j) {
+            int tmp = order[i];
+            order[i++] = order[j];
+            order[j--] = tmp;
+        }
+    }
+
+    public record Result(int[] order, double length, int restarts) {
+
+        static Result better(Result a, Result b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            Result best = b.length < a.length ? b : a;
+            return best.withRestarts(a.restarts + b.restarts);
+        }
+
+        Result withRestarts(int total) {
+            return new Result(order, length, total);
+        }
+    }
+}
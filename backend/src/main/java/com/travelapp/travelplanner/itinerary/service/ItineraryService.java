@@ -0,0 +1,261 @@
+package com.travelapp.travelplanner.itinerary.service;
+
+import com.travelapp.travelplanner.booking.dto.BookingRequest;
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.service.BookingService;
+import com.travelapp.travelplanner.destination.index.GeoGridIndex;
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.destination.repository.DestinationRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.exceptions.ResourceNotFoundException;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryBookingRequest;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryRequest;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryResponse;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryStop;
+import com.travelapp.travelplanner.itinerary.optimizer.RouteOptimizer;
+import com.travelapp.travelplanner.pricing.service.PricingService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ItineraryService {
+
+    private static final int MAX_STOPS = 50;
+    private static final int RESTARTS = 256;
+    private static final long DEFAULT_TIME_BUDGET_MS = 200;
+    private static final long MAX_TIME_BUDGET_MS = 2000;
+    private static final double DEFAULT_COST_PER_KM = 0.15;
+
+    private final DestinationRepository destinationRepository;
+    private final BookingService bookingService;
+    private final PricingService pricingService;
+    private final ForkJoinPool pool;
+    private final RouteOptimizer routeOptimizer;
+
+    public ItineraryService(DestinationRepository destinationRepository,
+                            BookingService bookingService,
+                            PricingService pricingService) {
+        this.destinationRepository = destinationRepository;
+        this.bookingService = bookingService;
+        this.pricingService = pricingService;
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        this.routeOptimizer = new RouteOptimizer(pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Orders the stops to minimise travel distance and splits the nights of the
+     * window between them. Stays are priced like the bookings book() creates
+     * (PricingService.priceStay), and nights beyond the per-stop minimum go to
+     * the stop where they make the whole plan cheapest. The budget is advisory:
+     * the plan is the cheapest split of the shortest route either way, and
+     * withinBudget only tells whether it fits.
+     */
+    public ItineraryResponse plan(ItineraryRequest request) {
+        List<Long> ids = validateIds(request.getDestinationIds());
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            throw new BadRequestException("startDate and endDate are required");
+        }
+        if (!request.getStartDate().isBefore(request.getEndDate())) {
+            throw new BadRequestException("startDate must be before endDate");
+        }
+        int travelers = request.getTravelers() == null ? 1 : request.getTravelers();
+        if (travelers <= 0) {
+            throw new BadRequestException("travelers must be > 0");
+        }
+        int minNights = request.getMinNightsPerStop() == null ? 1 : request.getMinNightsPerStop();
+        if (minNights <= 0) {
+            throw new BadRequestException("minNightsPerStop must be > 0");
+        }
+        int totalNights = (int) ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate());
+        if (totalNights < ids.size() * minNights) {
+            throw new BadRequestException("Date window is too short for " + ids.size()
+                    + " stops of at least " + minNights + " night(s)");
+        }
+        double costPerKm = request.getCostPerKm() == null ? DEFAULT_COST_PER_KM : request.getCostPerKm();
+        if (costPerKm < 0) {
+            throw new BadRequestException("costPerKm must be >= 0");
+        }
+        long timeBudget = request.getTimeBudgetMs() == null
+                ? DEFAULT_TIME_BUDGET_MS
+                : Math.max(1, Math.min(request.getTimeBudgetMs(), MAX_TIME_BUDGET_MS));
+
+        List<Destination> stops = loadStops(ids);
+        double[][] distances = distanceMatrix(stops);
+
+        long start = System.nanoTime();
+        RouteOptimizer.Result route = routeOptimizer.optimize(distances, RESTARTS, timeBudget, ids.hashCode());
+        long searchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int[] nights = allocateNights(stops, route.order(), request.getStartDate(), totalNights, minNights, travelers);
+        return buildResponse(stops, distances, route, nights, request, travelers, costPerKm, searchMillis);
+    }
+
+    // Turns a (possibly edited) plan into one PENDING booking per stop, all or nothing
+    @Transactional
+    public List<BookingResponse> book(Long userId, ItineraryBookingRequest request) {
+        if (request.getStops() == null || request.getStops().isEmpty()) {
+            throw new BadRequestException("stops are required");
+        }
+        if (request.getStops().size() > MAX_STOPS) {
+            throw new BadRequestException("An itinerary can have at most " + MAX_STOPS + " stops");
+        }
+
+        List<BookingResponse> bookings = new ArrayList<>();
+        for (ItineraryStop stop : request.getStops()) {
+            BookingRequest bookingRequest = new BookingRequest();
+            bookingRequest.setDestinationId(stop.getDestinationId());
+            bookingRequest.setStartDate(stop.getStartDate());
+            bookingRequest.setEndDate(stop.getEndDate());
+            bookingRequest.setTravelers(request.getTravelers());
+            bookings.add(bookingService.createBooking(userId, bookingRequest));
+        }
+        return bookings;
+    }
+
+    private List<Long> validateIds(List<Long> destinationIds) {
+        if (destinationIds == null || destinationIds.isEmpty()) {
+            throw new BadRequestException("destinationIds are required");
+        }
+        LinkedHashSet<Long> unique = new LinkedHashSet<>(destinationIds);
+        if (unique.contains(null)) {
+            throw new BadRequestException("destinationIds must not contain null");
+        }
+        if (unique.size() > MAX_STOPS) {
+            throw new BadRequestException("An itinerary can have at most " + MAX_STOPS + " stops");
+        }
+        return List.copyOf(unique);
+    }
+
+    private List<Destination> loadStops(List<Long> ids) {
+        Map<Long, Destination> byId = destinationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Destination::getId, Function.identity()));
+
+        List<Destination> stops = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Destination destination = byId.get(id);
+            if (destination == null) {
+                throw new ResourceNotFoundException("Destination not found with id " + id);
+            }
+            if (destination.getLatitude() == null || destination.getLongitude() == null) {
+                throw new BadRequestException("Destination " + id + " has no coordinates");
+            }
+            if (destination.getPrice() == null) {
+                throw new BadRequestException("Destination " + id + " has no price");
+            }
+            stops.add(destination);
+        }
+        return stops;
+    }
+
+    private double[][] distanceMatrix(List<Destination> stops) {
+        int n = stops.size();
+        double[][] distances = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                Destination a = stops.get(i);
+                Destination b = stops.get(j);
+                double d = GeoGridIndex.haversineKm(a.getLatitude(), a.getLongitude(),
+                        b.getLatitude(), b.getLongitude());
+                distances[i][j] = d;
+                distances[j][i] = d;
+            }
+        }
+        return distances;
+    }
+
+    // Minimum nights everywhere; the remaining nights go to the stop where the plan's stays cost least
+    private int[] allocateNights(List<Destination> stops, int[] order, LocalDate startDate,
+                                 int totalNights, int minNights, int travelers) {
+        int[] nights = new int[stops.size()];
+        Arrays.fill(nights, minNights);
+        int remaining = totalNights - minNights * stops.size();
+        if (remaining == 0) {
+            return nights;
+        }
+        // Rules depend on the dates, which depend on where the extra nights go, so each choice is priced whole
+        int[] best = null;
+        BigDecimal bestCost = null;
+        for (int candidate : order) {
+            int[] option = nights.clone();
+            option[candidate] += remaining;
+            BigDecimal cost = Arrays.stream(stayCosts(stops, order, option, startDate, travelers))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            if (bestCost == null || cost.compareTo(bestCost) < 0) {
+                best = option;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    // Stay cost per stop (indexed like stops), visiting them in route order from startDate
+    private BigDecimal[] stayCosts(List<Destination> stops, int[] order, int[] nights,
+                                   LocalDate startDate, int travelers) {
+        BigDecimal[] costs = new BigDecimal[stops.size()];
+        LocalDate cursor = startDate;
+        for (int index : order) {
+            LocalDate end = cursor.plusDays(nights[index]);
+            costs[index] = pricingService.priceStay(stops.get(index), cursor, end, travelers);
+            cursor = end;
+        }
+        return costs;
+    }
+
+    private ItineraryResponse buildResponse(List<Destination> stops,
+                                            double[][] distances,
+                                            RouteOptimizer.Result route,
+                                            int[] nights,
+                                            ItineraryRequest request,
+                                            int travelers,
+                                            double costPerKm,
+                                            long searchMillis) {
+        List<ItineraryStop> planned = new ArrayList<>(stops.size());
+        BigDecimal[] costs = stayCosts(stops, route.order(), nights, request.getStartDate(), travelers);
+        LocalDate cursor = request.getStartDate();
+        double stayCost = 0;
+        int previous = -1;
+
+        for (int index : route.order()) {
+            Destination destination = stops.get(index);
+            double cost = costs[index].doubleValue();
+            LocalDate end = cursor.plusDays(nights[index]);
+            planned.add(new ItineraryStop(
+                    destination.getId(),
+                    destination.getName(),
+                    cursor,
+                    end,
+                    nights[index],
+                    cost,
+                    previous < 0 ? 0.0 : distances[previous][index]
+            ));
+            stayCost += cost;
+            cursor = end;
+            previous = index;
+        }
+
+        double travelCost = route.length() * costPerKm;
+        double totalCost = stayCost + travelCost;
+        boolean withinBudget = request.getBudget() == null || totalCost <= request.getBudget();
+
+        return new ItineraryResponse(planned, travelers, route.length(), stayCost, travelCost, totalCost,
+                request.getBudget(), withinBudget, route.restarts(), searchMillis);
+    }
+}
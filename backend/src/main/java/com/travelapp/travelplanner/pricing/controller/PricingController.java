@@ -0,0 +1,49 @@
+package com.travelapp.travelplanner.pricing.controller;
+
+import com.travelapp.travelplanner.pricing.dto.PricingRuleRequest;
+import com.travelapp.travelplanner.pricing.dto.QuoteRequest;
+import com.travelapp.travelplanner.pricing.dto.QuoteResponse;
+import com.travelapp.travelplanner.pricing.model.PricingRule;
+import com.travelapp.travelplanner.pricing.service.PricingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/pricing")
+public class PricingController {
+
+    private final PricingService pricingService;
+
+    public PricingController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    // Quotes every destination x range x travelers combination, e.g. to fill a price calendar
+    @PostMapping("/quotes")
+    public ResponseEntity<List<QuoteResponse>> quote(@RequestBody QuoteRequest request) {
+        return ResponseEntity.ok(pricingService.quote(request));
+    }
+
+    // ADMIN ONLY ENDPOINTS
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/rules")
+    public ResponseEntity<List<PricingRule>> getRules() {
+        return ResponseEntity.ok(pricingService.getRules());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/rules")
+    public ResponseEntity<PricingRule> createRule(@RequestBody PricingRuleRequest request) {
+        return ResponseEntity.ok(pricingService.createRule(request));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/admin/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        pricingService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.travelapp.travelplanner.pricing.dto;
+
+import com.travelapp.travelplanner.pricing.model.PricingRuleKind;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class PricingRuleRequest {
+
+    // Null for a rule that applies to every destination
+    private Long destinationId;
+    private String name;
+    private PricingRuleKind kind;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer dayOfWeek;
+    private Integer minTravelers;
+    private Double multiplier;
+}
@@ -0,0 +1,21 @@
+package com.travelapp.travelplanner.pricing.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Every destination is quoted for every range and every traveler count
+@Data
+public class QuoteRequest {
+
+    private List<Long> destinationIds;
+    private List<DateRange> ranges;
+    private List<Integer> travelers;
+
+    @Data
+    public static class DateRange {
+        private LocalDate startDate;
+        private LocalDate endDate;
+    }
+}
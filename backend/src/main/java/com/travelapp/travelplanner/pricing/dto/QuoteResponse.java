@@ -0,0 +1,20 @@
+package com.travelapp.travelplanner.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class QuoteResponse {
+
+    private Long destinationId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int travelers;
+    // Charged days: the nights from startDate to endDate, a same-day trip counts as one
+    private int days;
+    private BigDecimal total;
+}
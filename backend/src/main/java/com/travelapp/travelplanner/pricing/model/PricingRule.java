@@ -0,0 +1,43 @@
+package com.travelapp.travelplanner.pricing.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Adjusts the base price of a destination (or of all destinations when destinationId is null)
+@Entity
+@Table(name = "pricing_rules")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long destinationId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PricingRuleKind kind;
+
+    // SEASON: inclusive date range
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // WEEKDAY: 1 = Monday ... 7 = Sunday
+    private Integer dayOfWeek;
+
+    // OCCUPANCY: smallest party the rule applies to
+    private Integer minTravelers;
+
+    @Column(nullable = false)
+    private double multiplier;
+}
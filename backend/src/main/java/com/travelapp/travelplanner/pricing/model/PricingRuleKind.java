@@ -0,0 +1,7 @@
+package com.travelapp.travelplanner.pricing.model;
+
+public enum PricingRuleKind {
+    SEASON,
+    WEEKDAY,
+    OCCUPANCY
+}
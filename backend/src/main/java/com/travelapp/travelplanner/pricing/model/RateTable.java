@@ -0,0 +1,101 @@
+package com.travelapp.travelplanner.pricing.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pricing rules of one destination compiled for a range of days.
+ *
+ * Holds the cumulative per-traveler price in cents from firstDay on, so the
+ * price of any stay is the difference of two entries, plus the occupancy
+ * tiers sorted by party size. Immutable once compiled.
+ */
+public class RateTable {
+
+    private final LocalDate firstDay;
+    // cumulativeCents[i] = price of the days firstDay .. firstDay + i - 1
+    private final long[] cumulativeCents;
+    private final int[] tierMinTravelers;
+    private final double[] tierMultipliers;
+
+    private RateTable(LocalDate firstDay, long[] cumulativeCents, int[] tierMinTravelers, double[] tierMultipliers) {
+        this.firstDay = firstDay;
+        this.cumulativeCents = cumulativeCents;
+        this.tierMinTravelers = tierMinTravelers;
+        this.tierMultipliers = tierMultipliers;
+    }
+
+    /**
+     * Day rules (SEASON, WEEKDAY) multiply the base price of the days they
+     * cover, and stack when several cover the same day. Each rule is walked
+     * over its own days only, not every rule for every day.
+     */
+    public static RateTable compile(double basePrice, LocalDate firstDay, int days, List<PricingRule> rules) {
+        double[] multipliers = new double[days];
+        Arrays.fill(multipliers, 1.0);
+
+        for (PricingRule rule : rules) {
+            if (rule.getKind() == PricingRuleKind.SEASON) {
+                long from = Math.max(0, ChronoUnit.DAYS.between(firstDay, rule.getStartDate()));
+                long to = Math.min(days - 1, ChronoUnit.DAYS.between(firstDay, rule.getEndDate()));
+                for (long i = from; i <= to; i++) {
+                    multipliers[(int) i] *= rule.getMultiplier();
+                }
+            } else if (rule.getKind() == PricingRuleKind.WEEKDAY) {
+                int first = Math.floorMod(rule.getDayOfWeek() - firstDay.getDayOfWeek().getValue(), 7);
+                for (int i = first; i < days; i += 7) {
+                    multipliers[i] *= rule.getMultiplier();
+                }
+            }
+        }
+
+        long[] cumulative = new long[days + 1];
+        for (int i = 0; i < days; i++) {
+            cumulative[i + 1] = cumulative[i] + Math.round(basePrice * 100 * multipliers[i]);
+        }
+
+        List<PricingRule> tiers = rules.stream()
+                .filter(rule -> rule.getKind() == PricingRuleKind.OCCUPANCY)
+                .sorted(Comparator.comparing(PricingRule::getMinTravelers))
+                .toList();
+        int[] tierMinTravelers = new int[tiers.size()];
+        double[] tierMultipliers = new double[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            tierMinTravelers[i] = tiers.get(i).getMinTravelers();
+            tierMultipliers[i] = tiers.get(i).getMultiplier();
+        }
+        return new RateTable(firstDay, cumulative, tierMinTravelers, tierMultipliers);
+    }
+
+    public LocalDate firstDay() {
+        return firstDay;
+    }
+
+    // Whether every day of [start, endExclusive) has a compiled rate
+    public boolean covers(LocalDate start, LocalDate endExclusive) {
+        return !start.isBefore(firstDay) && ChronoUnit.DAYS.between(firstDay, endExclusive) < cumulativeCents.length;
+    }
+
+    // Per-traveler price in cents of the days [start, endExclusive)
+    public long stayCents(LocalDate start, LocalDate endExclusive) {
+        int from = (int) ChronoUnit.DAYS.between(firstDay, start);
+        int to = (int) ChronoUnit.DAYS.between(firstDay, endExclusive);
+        return cumulativeCents[to] - cumulativeCents[from];
+    }
+
+    // Multiplier of the largest occupancy tier the party reaches, 1 if none
+    public double occupancyMultiplier(int travelers) {
+        double multiplier = 1.0;
+        for (int i = 0; i < tierMinTravelers.length && tierMinTravelers[i] <= travelers; i++) {
+            multiplier = tierMultipliers[i];
+        }
+        return multiplier;
+    }
+
+    public long quoteCents(LocalDate start, LocalDate endExclusive, int travelers) {
+        return Math.round(stayCents(start, endExclusive) * travelers * occupancyMultiplier(travelers));
+    }
+}
@@ -0,0 +1,12 @@
+package com.travelapp.travelplanner.pricing.repository;
+
+import com.travelapp.travelplanner.pricing.model.PricingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PricingRuleRepository extends JpaRepository<PricingRule, Long> {
+
+    // Rules of one destination plus the global ones
+    List<PricingRule> findByDestinationIdOrDestinationIdIsNull(Long destinationId);
+}
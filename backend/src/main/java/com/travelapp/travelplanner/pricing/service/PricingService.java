@@ -0,0 +1,251 @@
+package com.travelapp.travelplanner.pricing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travelapp.travelplanner.cache.event.CacheInvalidatedEvent;
+import com.travelapp.travelplanner.cache.model.CachedEntity;
+import com.travelapp.travelplanner.cache.service.CacheInvalidationService;
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.destination.repository.DestinationRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.exceptions.ResourceNotFoundException;
+import com.travelapp.travelplanner.pricing.dto.PricingRuleRequest;
+import com.travelapp.travelplanner.pricing.dto.QuoteRequest;
+import com.travelapp.travelplanner.pricing.dto.QuoteResponse;
+import com.travelapp.travelplanner.pricing.model.PricingRule;
+import com.travelapp.travelplanner.pricing.model.PricingRuleKind;
+import com.travelapp.travelplanner.pricing.model.RateTable;
+import com.travelapp.travelplanner.pricing.repository.PricingRuleRepository;
+import com.travelapp.travelplanner.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices stays: the destination's base price per traveler and day, adjusted
+ * by pricing rules.
+ *
+ * Rules are compiled into a RateTable per destination on first use and
+ * cached, so quoting a stay costs two array reads whatever the number of
+ * rules or days. Tables are dropped when a destination or rule changes here
+ * or on another instance (via the cache invalidation log), and after
+ * table-ttl so their first day keeps up with the calendar.
+ */
+@Service
+public class PricingService {
+
+    private final PricingRuleRepository ruleRepository;
+    private final DestinationRepository destinationRepository;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final int horizonDays;
+    private final int maxQuotes;
+    private final Cache<Long, RateTable> tables;
+
+    public PricingService(PricingRuleRepository ruleRepository,
+                          DestinationRepository destinationRepository,
+                          CacheInvalidationService cacheInvalidationService,
+                          @Value("${app.pricing.horizon-days:400}") int horizonDays,
+                          @Value("${app.pricing.max-quotes:20000}") int maxQuotes,
+                          @Value("${app.pricing.max-tables:5000}") long maxTables,
+                          @Value("${app.pricing.table-ttl:1h}") Duration tableTtl) {
+        this.ruleRepository = ruleRepository;
+        this.destinationRepository = destinationRepository;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.horizonDays = horizonDays;
+        this.maxQuotes = maxQuotes;
+        this.tables = Caffeine.newBuilder()
+                .maximumSize(maxTables)
+                .expireAfterWrite(tableTtl)
+                .build();
+    }
+
+    public List<QuoteResponse> quote(QuoteRequest request) {
+        List<Long> destinationIds = request.getDestinationIds();
+        List<QuoteRequest.DateRange> ranges = request.getRanges();
+        List<Integer> travelers = request.getTravelers();
+        if (destinationIds == null || destinationIds.isEmpty() || ranges == null || ranges.isEmpty()
+                || travelers == null || travelers.isEmpty()) {
+            throw new BadRequestException("destinationIds, ranges and travelers are required");
+        }
+        if ((long) destinationIds.size() * ranges.size() * travelers.size() > maxQuotes) {
+            throw new BadRequestException("At most " + maxQuotes + " quotes per request");
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = today.plusDays(horizonDays);
+        for (QuoteRequest.DateRange range : ranges) {
+            validateRange(range, today, lastDay);
+        }
+        for (Integer count : travelers) {
+            if (count == null || count <= 0) {
+                throw new BadRequestException("travelers must be > 0");
+            }
+        }
+
+        List<QuoteResponse> quotes = new ArrayList<>(destinationIds.size() * ranges.size() * travelers.size());
+        for (Long destinationId : destinationIds) {
+            RateTable table = rateTable(destinationId, today);
+            for (QuoteRequest.DateRange range : ranges) {
+                LocalDate end = chargedUntil(range.getStartDate(), range.getEndDate());
+                int days = (int) ChronoUnit.DAYS.between(range.getStartDate(), end);
+                for (Integer count : travelers) {
+                    long cents = table.quoteCents(range.getStartDate(), end, count);
+                    quotes.add(new QuoteResponse(destinationId, range.getStartDate(), range.getEndDate(),
+                            count, days, BigDecimal.valueOf(cents, 2)));
+                }
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Price of a booking's stay: the rate-table quote when the dates lie within
+     * the horizon, otherwise the base price per traveler and day. Null if the
+     * destination has no price.
+     */
+    public BigDecimal priceStay(Destination destination, LocalDate startDate, LocalDate endDate, int travelers) {
+        if (destination.getPrice() == null) {
+            return null;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate end = chargedUntil(startDate, endDate);
+        if (!startDate.isBefore(today) && !end.isAfter(today.plusDays(horizonDays + 1))) {
+            long cents = rateTable(destination.getId(), today).quoteCents(startDate, end, travelers);
+            return BigDecimal.valueOf(cents, 2);
+        }
+        long days = ChronoUnit.DAYS.between(startDate, end);
+        return BigDecimal.valueOf(destination.getPrice())
+                .multiply(BigDecimal.valueOf(travelers * days))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PricingRule> getRules() {
+        return ruleRepository.findAll();
+    }
+
+    @Transactional
+    public PricingRule createRule(PricingRuleRequest request) {
+        validateRule(request);
+        PricingRule saved = ruleRepository.save(PricingRule.builder()
+                .destinationId(request.getDestinationId())
+                .name(request.getName())
+                .kind(request.getKind())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .dayOfWeek(request.getDayOfWeek())
+                .minTravelers(request.getMinTravelers())
+                .multiplier(request.getMultiplier())
+                .build());
+        ruleChanged(saved);
+        return saved;
+    }
+
+    @Transactional
+    public void deleteRule(Long id) {
+        PricingRule rule = ruleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pricing rule not found"));
+        ruleRepository.delete(rule);
+        ruleChanged(rule);
+    }
+
+    // Called by DestinationService: the base price may have changed
+    public void evict(Long destinationId) {
+        AfterCommit.run(() -> tables.invalidate(destinationId));
+    }
+
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.entityType() == CachedEntity.DESTINATION) {
+            tables.invalidate(event.entityId());
+        } else if (event.entityType() == CachedEntity.PRICING_RULE) {
+            tables.invalidateAll();
+        }
+    }
+
+    private void ruleChanged(PricingRule rule) {
+        if (rule.getDestinationId() == null) {
+            AfterCommit.run(tables::invalidateAll);
+        } else {
+            AfterCommit.run(() -> tables.invalidate(rule.getDestinationId()));
+        }
+        cacheInvalidationService.publish(CachedEntity.PRICING_RULE, rule.getId());
+    }
+
+    private RateTable rateTable(Long destinationId, LocalDate today) {
+        RateTable table = tables.get(destinationId, id -> compile(id, today));
+        if (!table.covers(today, today.plusDays(horizonDays + 1))) {
+            // Compiled before midnight: its last day no longer reaches the horizon
+            tables.invalidate(destinationId);
+            table = tables.get(destinationId, id -> compile(id, today));
+        }
+        return table;
+    }
+
+    private RateTable compile(Long destinationId, LocalDate firstDay) {
+        Destination destination = destinationRepository.findById(destinationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Destination not found with id " + destinationId));
+        if (destination.getPrice() == null) {
+            throw new BadRequestException("Destination " + destinationId + " has no price");
+        }
+        // One day past the horizon, so a stay ending on the last allowed day is covered
+        return RateTable.compile(destination.getPrice(), firstDay, horizonDays + 1,
+                ruleRepository.findByDestinationIdOrDestinationIdIsNull(destinationId));
+    }
+
+    // Nights from start to end; a same-day trip is charged its one day
+    private static LocalDate chargedUntil(LocalDate startDate, LocalDate endDate) {
+        return endDate.isAfter(startDate) ? endDate : startDate.plusDays(1);
+    }
+
+    private void validateRange(QuoteRequest.DateRange range, LocalDate today, LocalDate lastDay) {
+        if (range == null || range.getStartDate() == null || range.getEndDate() == null) {
+            throw new BadRequestException("Every range needs startDate and endDate");
+        }
+        if (range.getStartDate().isAfter(range.getEndDate())) {
+            throw new BadRequestException("startDate must be before endDate");
+        }
+        if (range.getStartDate().isBefore(today) || range.getEndDate().isAfter(lastDay)) {
+            throw new BadRequestException("Dates must be between today and " + lastDay);
+        }
+    }
+
+    private void validateRule(PricingRuleRequest request) {
+        if (request.getName() == null || request.getName().isBlank() || request.getKind() == null) {
+            throw new BadRequestException("name and kind are required");
+        }
+        if (request.getMultiplier() == null || !(request.getMultiplier() > 0) || request.getMultiplier().isInfinite()) {
+            throw new BadRequestException("multiplier must be > 0");
+        }
+        if (request.getDestinationId() != null && !destinationRepository.existsById(request.getDestinationId())) {
+            throw new ResourceNotFoundException("Destination not found with id " + request.getDestinationId());
+        }
+        boolean valid = switch (request.getKind()) {
+            case SEASON -> request.getStartDate() != null && request.getEndDate() != null
+                    && !request.getStartDate().isAfter(request.getEndDate());
+            case WEEKDAY -> request.getDayOfWeek() != null && request.getDayOfWeek() >= 1 && request.getDayOfWeek() <= 7;
+            case OCCUPANCY -> request.getMinTravelers() != null && request.getMinTravelers() >= 1;
+        };
+        if (!valid) {
+            throw new BadRequestException(switch (request.getKind()) {
+                case SEASON -> "SEASON rules need startDate <= endDate";
+                case WEEKDAY -> "WEEKDAY rules need dayOfWeek between 1 (Monday) and 7 (Sunday)";
+                case OCCUPANCY -> "OCCUPANCY rules need minTravelers >= 1";
+            });
+        }
+        // Fields of other kinds would be stored but never applied
+        if (request.getKind() != PricingRuleKind.SEASON && (request.getStartDate() != null || request.getEndDate() != null)
+                || request.getKind() != PricingRuleKind.WEEKDAY && request.getDayOfWeek() != null
+                || request.getKind() != PricingRuleKind.OCCUPANCY && request.getMinTravelers() != null) {
+            throw new BadRequestException("Only the fields of the rule's kind may be set");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.travelapp.travelplanner.profiling.config;
+
+import com.travelapp.travelplanner.TravelplannerApplication;
+import com.travelapp.travelplanner.profiling.event.CallEventInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ProfilingConfig {
+
+    // Infrastructure role so the auto-proxy creator behind @Transactional applies it too; outermost, so
+    // service call events include transaction begin and commit
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnProperty(name = "app.profiling.call-events", havingValue = "true", matchIfMissing = true)
+    static Advisor callEventAdvisor() {
+        CallEventInterceptor interceptor = new CallEventInterceptor(TravelplannerApplication.class.getPackageName());
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(interceptor, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,17 @@
+package com.travelapp.travelplanner.profiling.event;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+// Fields shared by the call events; "BookingService.createBooking" style names
+public abstract class CallEvent extends Event {
+
+    @Label("Component")
+    public String component;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,93 @@
+package com.travelapp.travelplanner.profiling.event;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits a ServiceCallEvent or RepositoryCallEvent around every public
+ * method of the application's services and repositories.
+ *
+ * When no recording has the events enabled the call goes straight through;
+ * otherwise names are only resolved for calls above the recording's
+ * threshold, so fast calls cost two timestamps.
+ */
+public class CallEventInterceptor extends StaticMethodMatcherPointcut implements MethodInterceptor {
+
+    private final String basePackage;
+    private final Map<Class<?>, String> componentNames = new ConcurrentHashMap<>();
+
+    public CallEventInterceptor(String basePackage) {
+        this.basePackage = basePackage + ".";
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+            return false;
+        }
+        return isService(targetClass) || appRepository(targetClass) != null;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        if (target == null) {
+            return invocation.proceed();
+        }
+        boolean repository = target instanceof Repository;
+        CallEvent event = repository ? new RepositoryCallEvent() : new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.component = componentName(target.getClass());
+                event.method = invocation.getMethod().getName();
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private boolean isService(Class<?> targetClass) {
+        return targetClass.getName().startsWith(basePackage)
+                && AnnotatedElementUtils.hasAnnotation(targetClass, Service.class);
+    }
+
+    // The application interface a repository proxy implements, e.g. BookingRepository
+    private Class<?> appRepository(Class<?> targetClass) {
+        if (!Repository.class.isAssignableFrom(targetClass)) {
+            return null;
+        }
+        for (Class<?> candidate : targetClass.getInterfaces()) {
+            if (candidate.getName().startsWith(basePackage)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private String componentName(Class<?> type) {
+        return componentNames.computeIfAbsent(type, t -> {
+            Class<?> repository = appRepository(t);
+            return repository != null ? repository.getSimpleName() : ClassUtils.getUserClass(t).getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.travelapp.travelplanner.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({"Travelplanner", "Calls"})
+@Description("Call on a Spring Data repository")
+@StackTrace(false)
+public class RepositoryCallEvent extends CallEvent {
+
+    public static final String NAME = "travelplanner.RepositoryCall";
+}
@@ -0,0 +1,17 @@
+package com.travelapp.travelplanner.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(ServiceCallEvent.NAME)
+@Label("Service Call")
+@Category({"Travelplanner", "Calls"})
+@Description("Public method call on a @Service bean, transaction included")
+@StackTrace(false)
+public class ServiceCallEvent extends CallEvent {
+
+    public static final String NAME = "travelplanner.ServiceCall";
+}
@@ -0,0 +1,22 @@
+package com.travelapp.travelplanner.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(TokenVerificationEvent.NAME)
+@Label("Token Verification")
+@Category({"Travelplanner", "Security"})
+@Description("JWT signature check and revocation lookup in JwtAuthenticationFilter")
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    public static final String NAME = "travelplanner.TokenVerification";
+
+    // valid, revoked or invalid
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,150 @@
+package com.travelapp.travelplanner.profiling.model;
+
+import com.travelapp.travelplanner.profiling.event.RepositoryCallEvent;
+import com.travelapp.travelplanner.profiling.event.ServiceCallEvent;
+import com.travelapp.travelplanner.profiling.event.TokenVerificationEvent;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Condenses a JFR file into the report the profiling endpoint returns:
+ * - hotMethods: top frames of the CPU samples (jdk.ExecutionSample)
+ * - allocations: sampled allocation weight by class (jdk.ObjectAllocationSample)
+ * - serviceCalls, repositoryCalls, tokenVerifications: count, total and max
+ *   time of the application's own events, slowest total first
+ */
+public final class RecordingSummary {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    private RecordingSummary() {
+    }
+
+    public static Map<String, Object> summarize(Path file, int top) throws IOException {
+        Map<String, long[]> samplesByMethod = new HashMap<>();
+        Map<String, long[]> bytesByClass = new HashMap<>();
+        Map<String, CallStats> serviceCalls = new HashMap<>();
+        Map<String, CallStats> repositoryCalls = new HashMap<>();
+        Map<String, CallStats> tokenVerifications = new HashMap<>();
+        long executionSamples = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case EXECUTION_SAMPLE -> {
+                        executionSamples++;
+                        String method = topFrame(event.getStackTrace());
+                        if (method != null) {
+                            samplesByMethod.computeIfAbsent(method, m -> new long[1])[0]++;
+                        }
+                    }
+                    case ALLOCATION_SAMPLE -> {
+                        RecordedClass type = event.getClass("objectClass");
+                        if (type != null) {
+                            bytesByClass.computeIfAbsent(type.getName(), c -> new long[1])[0] += event.getLong("weight");
+                        }
+                    }
+                    case ServiceCallEvent.NAME -> record(serviceCalls, callName(event), event);
+                    case RepositoryCallEvent.NAME -> record(repositoryCalls, callName(event), event);
+                    case TokenVerificationEvent.NAME -> record(tokenVerifications, event.getString("outcome"), event);
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("executionSamples", executionSamples);
+        report.put("hotMethods", ranked(samplesByMethod, top, "samples", executionSamples));
+        long allocated = bytesByClass.values().stream().mapToLong(bytes -> bytes[0]).sum();
+        report.put("allocations", ranked(bytesByClass, top, "bytes", allocated));
+        report.put("serviceCalls", ranked(serviceCalls, top));
+        report.put("repositoryCalls", ranked(repositoryCalls, top));
+        report.put("tokenVerifications", ranked(tokenVerifications, top));
+        return report;
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame()) {
+                RecordedMethod method = frame.getMethod();
+                return method.getType().getName() + "." + method.getName();
+            }
+        }
+        return null;
+    }
+
+    private static String callName(RecordedEvent event) {
+        return event.getString("component") + "." + event.getString("method");
+    }
+
+    private static void record(Map<String, CallStats> stats, String name, RecordedEvent event) {
+        CallStats entry = stats.computeIfAbsent(name, n -> new CallStats());
+        long nanos = event.getDuration().toNanos();
+        entry.count++;
+        entry.totalNanos += nanos;
+        entry.maxNanos = Math.max(entry.maxNanos, nanos);
+        if (event.hasField("failed") && event.getBoolean("failed")) {
+            entry.failed++;
+        }
+    }
+
+    private static List<Map<String, Object>> ranked(Map<String, long[]> counts, int top, String unit, long total) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, long[]>comparingByValue(Comparator.comparingLong(value -> value[0])).reversed())
+                .limit(top)
+                .forEach(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("name", entry.getKey());
+                    row.put(unit, entry.getValue()[0]);
+                    row.put("percent", total == 0 ? 0.0 : Math.round(entry.getValue()[0] * 1000.0 / total) / 10.0);
+                    entries.add(row);
+                });
+        return entries;
+    }
+
+    private static List<Map<String, Object>> ranked(Map<String, CallStats> stats, int top) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        stats.entrySet().stream()
+                .sorted(Map.Entry.<String, CallStats>comparingByValue(Comparator.comparingLong(value -> value.totalNanos)).reversed())
+                .limit(top)
+                .forEach(entry -> {
+                    CallStats value = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("name", entry.getKey());
+                    row.put("count", value.count);
+                    row.put("failed", value.failed);
+                    row.put("totalMillis", value.totalNanos / 1_000_000.0);
+                    row.put("avgMillis", value.totalNanos / 1_000_000.0 / value.count);
+                    row.put("maxMillis", value.maxNanos / 1_000_000.0);
+                    entries.add(row);
+                });
+        return entries;
+    }
+
+    private static final class CallStats {
+        long count;
+        long failed;
+        long totalNanos;
+        long maxNanos;
+    }
+}
@@ -0,0 +1,171 @@
+package com.travelapp.travelplanner.profiling.service;
+
+import com.travelapp.travelplanner.profiling.event.RepositoryCallEvent;
+import com.travelapp.travelplanner.profiling.event.ServiceCallEvent;
+import com.travelapp.travelplanner.profiling.event.TokenVerificationEvent;
+import com.travelapp.travelplanner.profiling.model.RecordingSummary;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a JFR recording running for the lifetime of the application, so
+ * that when latency spikes the last minutes can be dumped and summarized
+ * without having to reproduce the problem.
+ *
+ * The recording uses a built-in settings profile ("default" costs about 1%
+ * CPU) plus the application's call and token events above event-threshold.
+ * It is a ring buffer: data older than max-age, or beyond max-size, is
+ * dropped. Dumps go to dump-dir, which keeps the newest max-dumps files.
+ */
+@Service
+public class ContinuousProfiler {
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousProfiler.class);
+
+    private static final String RECORDING_NAME = "travelplanner-continuous";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration eventThreshold;
+    private final Path dumpDir;
+    private final int maxDumps;
+
+    private volatile Recording recording;
+
+    public ContinuousProfiler(@Value("${app.profiling.enabled:true}") boolean enabled,
+                              @Value("${app.profiling.settings:default}") String settings,
+                              @Value("${app.profiling.max-age:30m}") Duration maxAge,
+                              @Value("${app.profiling.max-size:200MB}") DataSize maxSize,
+                              @Value("${app.profiling.event-threshold:1ms}") Duration eventThreshold,
+                              @Value("${app.profiling.dump-dir:${java.io.tmpdir}/travelplanner-jfr}") Path dumpDir,
+                              @Value("${app.profiling.max-dumps:10}") int maxDumps) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.eventThreshold = eventThreshold;
+        this.dumpDir = dumpDir;
+        this.maxDumps = Math.max(1, maxDumps);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName(RECORDING_NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSize.toBytes());
+            for (String event : List.of(ServiceCallEvent.NAME, RepositoryCallEvent.NAME, TokenVerificationEvent.NAME)) {
+                continuous.enable(event).withThreshold(eventThreshold);
+            }
+            continuous.start();
+            recording = continuous;
+            log.info("Continuous JFR recording started ({} settings, max age {}, max size {})", settings, maxAge, maxSize);
+        } catch (Exception e) {
+            // Profiling is a diagnostic aid; the application runs without it
+            log.warn("Could not start the continuous JFR recording", e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        Recording continuous = recording;
+        if (continuous != null) {
+            recording = null;
+            continuous.close();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        Recording continuous = recording;
+        body.put("running", continuous != null && continuous.getState() == RecordingState.RUNNING);
+        body.put("settings", settings);
+        body.put("maxAge", maxAge.toString());
+        body.put("maxSizeBytes", maxSize.toBytes());
+        body.put("eventThreshold", eventThreshold.toString());
+        body.put("dumpDir", dumpDir.toString());
+        if (continuous != null) {
+            body.put("startTime", continuous.getStartTime());
+            body.put("sizeBytes", continuous.getSize());
+        }
+        return body;
+    }
+
+    /**
+     * Writes the last minutes of the recording to a new file in dump-dir and
+     * summarizes it. Runs JFR.dump through the DiagnosticCommand MBean, as the
+     * Recording API cannot limit a dump to a time range on this JDK.
+     */
+    public synchronized Map<String, Object> dump(int minutes, int top) throws IOException {
+        Recording continuous = recording;
+        if (continuous == null || continuous.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("The continuous recording is not running");
+        }
+        Files.createDirectories(dumpDir);
+        Path file = dumpDir.resolve("profile-" + LocalDateTime.now().format(FILE_TIME) + "-" + minutes + "m.jfr");
+        try {
+            ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "jfrDump",
+                    new Object[]{new String[]{
+                            "name=" + RECORDING_NAME,
+                            "filename=" + file.toAbsolutePath(),
+                            "begin=-" + minutes + "m"}},
+                    new String[]{String[].class.getName()});
+        } catch (Exception e) {
+            throw new IOException("JFR.dump failed", e);
+        }
+        pruneDumps();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("file", file.toAbsolutePath().toString());
+        body.put("sizeBytes", Files.size(file));
+        body.put("minutes", minutes);
+        body.putAll(RecordingSummary.summarize(file, top));
+        return body;
+    }
+
+    private void pruneDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            dumps = files.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        }
+        for (Path old : dumps.subList(Math.min(maxDumps, dumps.size()), dumps.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+}
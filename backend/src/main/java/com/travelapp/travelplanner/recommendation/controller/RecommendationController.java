@@ -0,0 +1,60 @@
+package com.travelapp.travelplanner.recommendation.controller;
+
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.recommendation.dto.RecommendationResponse;
+import com.travelapp.travelplanner.recommendation.dto.TrendingDestinationResponse;
+import com.travelapp.travelplanner.recommendation.model.TrendingWindow;
+import com.travelapp.travelplanner.recommendation.service.RecommendationService;
+import com.travelapp.travelplanner.recommendation.service.TrendingService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+    private final TrendingService trendingService;
+
+    public RecommendationController(RecommendationService recommendationService,
+                                    TrendingService trendingService) {
+        this.recommendationService = recommendationService;
+        this.trendingService = trendingService;
+    }
+
+    private Long getUserIdFromRequest(HttpServletRequest request) {
+        Object attr = request.getAttribute("userId");
+        if (attr instanceof Long id) {
+            return id;
+        }
+        throw new IllegalStateException("User ID not found in request. Is JWT filter configured?");
+    }
+
+    // USER: personal recommendations based on own favorites and bookings
+    @GetMapping
+    public ResponseEntity<List<RecommendationResponse>> getMyRecommendations(
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request) {
+        Long userId = getUserIdFromRequest(request);
+        return ResponseEntity.ok(recommendationService.getRecommendationsForUser(userId, limit));
+    }
+
+    // "Travelers also liked" for a destination
+    @GetMapping("/destinations/{destinationId}/similar")
+    public ResponseEntity<List<RecommendationResponse>> getSimilar(@PathVariable Long destinationId,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recommendationService.getSimilarDestinations(destinationId, limit));
+    }
+
+    // Most booked and favorited destinations over the last 1h, 24h or 7d
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingDestinationResponse>> getTrending(@RequestParam(defaultValue = "24h") String window,
+                                                                         @RequestParam(defaultValue = "10") int limit) {
+        TrendingWindow trendingWindow = TrendingWindow.fromLabel(window)
+                .orElseThrow(() -> new BadRequestException("window must be one of 1h, 24h, 7d"));
+        return ResponseEntity.ok(trendingService.getTrending(trendingWindow, limit));
+    }
+}
@@ -0,0 +1,11 @@
+package com.travelapp.travelplanner.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RecommendationResponse {
+    private Long destinationId;
+    private double score;
+}
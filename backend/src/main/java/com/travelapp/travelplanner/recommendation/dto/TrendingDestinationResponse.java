@@ -0,0 +1,13 @@
+package com.travelapp.travelplanner.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TrendingDestinationResponse {
+    private Long destinationId;
+    private long bookings;
+    private long favorites;
+    private double score;
+}
@@ -0,0 +1,186 @@
+package com.travelapp.travelplanner.recommendation.model;
+
+import com.travelapp.travelplanner.util.LongIntHashMap;
+import com.travelapp.travelplanner.util.LongObjectHashMap;
+import com.travelapp.travelplanner.util.TopK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sparse item-to-item co-occurrence counts over user interactions
+ * (favorites and active bookings). Two destinations co-occur once for
+ * every user who interacted with both of them.
+ *
+ * Not thread-safe; RecommendationService guards access with a lock.
+ */
+public class CooccurrenceModel {
+
+    // user -> (destination -> number of interactions of that user with it)
+    private final LongObjectHashMap<LongIntHashMap> userItems;
+
+    // destination -> (other destination -> number of users sharing both)
+    private final LongObjectHashMap<LongIntHashMap> cooccurrences;
+
+    // destination -> number of distinct users that interacted with it
+    private final LongIntHashMap itemUsers;
+
+    public CooccurrenceModel() {
+        this(16, 16);
+    }
+
+    public CooccurrenceModel(int expectedUsers, int expectedItems) {
+        this.userItems = new LongObjectHashMap<>(expectedUsers);
+        this.cooccurrences = new LongObjectHashMap<>(expectedItems);
+        this.itemUsers = new LongIntHashMap(expectedItems);
+    }
+
+    public void addInteraction(long userId, long destinationId) {
+        LongIntHashMap items = userItems.computeIfAbsent(userId, id -> new LongIntHashMap());
+        if (items.addTo(destinationId, 1) > 1) {
+            // user already counted for this destination
+            return;
+        }
+        items.forEach((other, count) -> {
+            if (other != destinationId) {
+                increment(destinationId, other, 1);
+                increment(other, destinationId, 1);
+            }
+        });
+        itemUsers.addTo(destinationId, 1);
+    }
+
+    public void removeInteraction(long userId, long destinationId) {
+        LongIntHashMap items = userItems.get(userId);
+        if (items == null || !items.containsKey(destinationId)) {
+            return;
+        }
+        if (items.addTo(destinationId, -1) > 0) {
+            // user still has another interaction with this destination
+            return;
+        }
+        items.forEach((other, count) -> {
+            increment(destinationId, other, -1);
+            increment(other, destinationId, -1);
+        });
+        itemUsers.addTo(destinationId, -1);
+        if (items.isEmpty()) {
+            userItems.remove(userId);
+        }
+    }
+
+    /**
+     * Merges a model built over a disjoint set of users into this one.
+     * Used to combine partitions of the parallel initial build.
+     */
+    public CooccurrenceModel mergeDisjointUsers(CooccurrenceModel other) {
+        other.userItems.forEach(userItems::put);
+        other.cooccurrences.forEach((item, row) ->
+                row.forEach((otherItem, count) -> increment(item, otherItem, count)));
+        other.itemUsers.forEach(itemUsers::addTo);
+        return this;
+    }
+
+    // Cosine similarity over the user sets of two destinations
+    public List<ScoredItem> similar(long destinationId, int limit) {
+        LongIntHashMap row = cooccurrences.get(destinationId);
+        if (row == null) {
+            return List.of();
+        }
+        double selfNorm = itemUsers.get(destinationId);
+        TopK top = new TopK(limit);
+        row.forEach((other, count) ->
+                top.offer(other, count / Math.sqrt(selfNorm * itemUsers.get(other))));
+        return drain(top);
+    }
+
+    /**
+     * Scores every destination co-occurring with the user's own destinations
+     * by summed similarity, excluding destinations the user already has.
+     */
+    public List<ScoredItem> recommendForUser(long userId, int limit) {
+        LongIntHashMap owned = userItems.get(userId);
+        if (owned == null) {
+            return List.of();
+        }
+
+        ScoreAccumulator accumulator = new ScoreAccumulator();
+        owned.forEach((item, ignored) -> {
+            LongIntHashMap row = cooccurrences.get(item);
+            if (row == null) {
+                return;
+            }
+            double itemNorm = itemUsers.get(item);
+            row.forEach((candidate, count) -> {
+                if (!owned.containsKey(candidate)) {
+                    accumulator.add(candidate, count / Math.sqrt(itemNorm * itemUsers.get(candidate)));
+                }
+            });
+        });
+
+        TopK top = new TopK(limit);
+        accumulator.offerTo(top);
+        return drain(top);
+    }
+
+    public int userCount() {
+        return userItems.size();
+    }
+
+    public int destinationCount() {
+        return itemUsers.size();
+    }
+
+    private void increment(long item, long other, int delta) {
+        LongIntHashMap row = cooccurrences.computeIfAbsent(item, id -> new LongIntHashMap());
+        row.addTo(other, delta);
+        if (row.isEmpty()) {
+            cooccurrences.remove(item);
+        }
+    }
+
+    private List<ScoredItem> drain(TopK top) {
+        long[] ids = new long[top.size()];
+        double[] scores = new double[top.size()];
+        int n = top.drainDescending(ids, scores);
+        List<ScoredItem> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(new ScoredItem(ids[i], scores[i]));
+        }
+        return result;
+    }
+
+    public record ScoredItem(long destinationId, double score) {
+    }
+
+    // Dense score array indexed through a primitive id -> slot map
+    private static final class ScoreAccumulator {
+
+        // slots store index + 1 so that 0 means "absent"
+        private final LongIntHashMap slots = new LongIntHashMap(64);
+        private long[] ids = new long[64];
+        private double[] scores = new double[64];
+        private int used;
+
+        void add(long id, double score) {
+            int slot = slots.get(id) - 1;
+            if (slot < 0) {
+                slot = used++;
+                if (slot == ids.length) {
+                    ids = Arrays.copyOf(ids, slot * 2);
+                    scores = Arrays.copyOf(scores, slot * 2);
+                }
+                ids[slot] = id;
+                slots.put(id, slot + 1);
+            }
+            scores[slot] += score;
+        }
+
+        void offerTo(TopK top) {
+            for (int i = 0; i < used; i++) {
+                top.offer(ids[i], scores[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.travelapp.travelplanner.recommendation.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// Trending windows; the hour window reads 5-minute buckets, the others hourly ones
+public enum TrendingWindow {
+
+    HOUR("1h", false, 12),
+    DAY("24h", true, 24),
+    WEEK("7d", true, 168);
+
+    private final String label;
+    private final boolean hourly;
+    private final int buckets;
+
+    TrendingWindow(String label, boolean hourly, int buckets) {
+        this.label = label;
+        this.hourly = hourly;
+        this.buckets = buckets;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public boolean hourly() {
+        return hourly;
+    }
+
+    public int buckets() {
+        return buckets;
+    }
+
+    public static Optional<TrendingWindow> fromLabel(String label) {
+        return Arrays.stream(values()).filter(w -> w.label.equalsIgnoreCase(label)).findFirst();
+    }
+}
@@ -0,0 +1,99 @@
+package com.travelapp.travelplanner.recommendation.model;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event counts per destination in a ring of fixed-width time buckets, for
+ * sliding-window sums.
+ *
+ * Each slot packs the bucket number (high bits) and its count (low
+ * COUNT_BITS) into one long: recording an event is a single CAS, and a slot
+ * still holding a bucket from the previous lap of the ring is recognised by
+ * its bucket number and reset on the next write. Lock-free; a reader may miss
+ * increments that race with it.
+ */
+public class WindowedCounters {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long bucketMillis;
+    private final int slots;
+    private final ConcurrentHashMap<Long, AtomicLongArray> rings = new ConcurrentHashMap<>();
+
+    public WindowedCounters(long bucketMillis, int slots) {
+        if (bucketMillis <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("bucketMillis and slots must be > 0");
+        }
+        this.bucketMillis = bucketMillis;
+        this.slots = slots;
+    }
+
+    public void add(long destinationId, long timeMillis, int count) {
+        long bucket = timeMillis / bucketMillis;
+        int slot = (int) (bucket % slots);
+        while (true) {
+            AtomicLongArray ring = rings.computeIfAbsent(destinationId, id -> new AtomicLongArray(slots));
+            if (!increment(ring, slot, bucket, count)) {
+                return;
+            }
+            // prune() may have dropped the ring meanwhile; the count must land in the live one
+            if (rings.get(destinationId) == ring) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sum over the newest {@code buckets} buckets, the one holding nowMillis
+     * included (so the window covers between buckets-1 and buckets widths).
+     */
+    public long sum(long destinationId, long nowMillis, int buckets) {
+        AtomicLongArray ring = rings.get(destinationId);
+        return ring == null ? 0 : sum(ring, nowMillis / bucketMillis, Math.min(buckets, slots));
+    }
+
+    public Set<Long> destinationIds() {
+        return rings.keySet();
+    }
+
+    // Drops destinations whose every bucket has slid out of the ring
+    public void prune(long nowMillis) {
+        long now = nowMillis / bucketMillis;
+        rings.values().removeIf(ring -> sum(ring, now, slots) == 0);
+    }
+
+    // false if the event is older than the ring reaches
+    private static boolean increment(AtomicLongArray ring, int slot, long bucket, int count) {
+        while (true) {
+            long current = ring.get(slot);
+            long currentBucket = current >>> COUNT_BITS;
+            long next;
+            if (currentBucket == bucket) {
+                next = (bucket << COUNT_BITS) | Math.min((current & COUNT_MASK) + count, COUNT_MASK);
+            } else if (currentBucket < bucket) {
+                next = (bucket << COUNT_BITS) | Math.min(count, COUNT_MASK);
+            } else {
+                return false;
+            }
+            if (ring.compareAndSet(slot, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static long sum(AtomicLongArray ring, long nowBucket, int buckets) {
+        long oldest = nowBucket - buckets;
+        long total = 0;
+        for (int i = 0; i < ring.length(); i++) {
+            long value = ring.get(i);
+            long bucket = value >>> COUNT_BITS;
+            if (bucket > oldest && bucket <= nowBucket) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,173 @@
+package com.travelapp.travelplanner.recommendation.service;
+
+import com.travelapp.travelplanner.booking.event.BookingChangedEvent;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.BookingArchiveRepository;
+import com.travelapp.travelplanner.booking.repository.BookingRepository;
+import com.travelapp.travelplanner.favorites.event.FavoriteChangedEvent;
+import com.travelapp.travelplanner.favorites.repository.FavoritesRepository;
+import com.travelapp.travelplanner.recommendation.dto.RecommendationResponse;
+import com.travelapp.travelplanner.recommendation.model.CooccurrenceModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+// Never lazy: the model must see every mutation event from startup on
+@Service
+@Lazy(false)
+public class RecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+    private static final int MAX_LIMIT = 100;
+
+    private final FavoritesRepository favoritesRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private CooccurrenceModel model = new CooccurrenceModel();
+
+    public RecommendationService(FavoritesRepository favoritesRepository,
+                                 BookingRepository bookingRepository,
+                                 BookingArchiveRepository bookingArchiveRepository) {
+        this.favoritesRepository = favoritesRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+    }
+
+    // Called by StartupIndexLoader before the web server starts accepting requests
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        List<Object[]> pairs = new ArrayList<>(favoritesRepository.findAllUserDestinationPairs());
+        pairs.addAll(bookingRepository.findUserDestinationPairsExcludingStatus(BookingStatus.CANCELLED));
+        // Archiving is not a change of interaction, past trips keep counting
+        pairs.addAll(bookingArchiveRepository.findUserDestinationPairsExcludingStatus(BookingStatus.CANCELLED));
+
+        // Partition by user so every partition owns a disjoint set of users
+        int partitions = Math.max(1, Runtime.getRuntime().availableProcessors());
+        long[][] userIds = new long[partitions][];
+        long[][] destinationIds = new long[partitions][];
+        int[] counts = new int[partitions];
+        for (Object[] pair : pairs) {
+            counts[partitionOf((Long) pair[0], partitions)]++;
+        }
+        for (int p = 0; p < partitions; p++) {
+            userIds[p] = new long[counts[p]];
+            destinationIds[p] = new long[counts[p]];
+            counts[p] = 0;
+        }
+        for (Object[] pair : pairs) {
+            long userId = (Long) pair[0];
+            int p = partitionOf(userId, partitions);
+            userIds[p][counts[p]] = userId;
+            destinationIds[p][counts[p]] = (Long) pair[1];
+            counts[p]++;
+        }
+
+        CooccurrenceModel built = IntStream.range(0, partitions)
+                .parallel()
+                .mapToObj(p -> {
+                    CooccurrenceModel partial = new CooccurrenceModel();
+                    for (int i = 0; i < counts[p]; i++) {
+                        partial.addInteraction(userIds[p][i], destinationIds[p][i]);
+                    }
+                    return partial;
+                })
+                .reduce(CooccurrenceModel::mergeDisjointUsers)
+                .orElseGet(CooccurrenceModel::new);
+
+        lock.writeLock().lock();
+        try {
+            model = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built co-occurrence model from {} interactions ({} users, {} destinations) in {} ms",
+                pairs.size(), built.userCount(), built.destinationCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<RecommendationResponse> getSimilarDestinations(Long destinationId, int limit) {
+        int k = clampLimit(limit);
+        lock.readLock().lock();
+        try {
+            return toResponses(model.similar(destinationId, k));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RecommendationResponse> getRecommendationsForUser(Long userId, int limit) {
+        int k = clampLimit(limit);
+        lock.readLock().lock();
+        try {
+            return toResponses(model.recommendForUser(userId, k));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        if (event.added()) {
+            addInteraction(event.userId(), event.destinationId());
+        } else {
+            removeInteraction(event.userId(), event.destinationId());
+        }
+    }
+
+    // Only non-cancelled bookings count as an interaction
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        boolean wasActive = event.previousStatus() != null && event.previousStatus() != BookingStatus.CANCELLED;
+        boolean isActive = event.status() != BookingStatus.CANCELLED;
+        if (!wasActive && isActive) {
+            addInteraction(event.userId(), event.destinationId());
+        } else if (wasActive && !isActive) {
+            removeInteraction(event.userId(), event.destinationId());
+        }
+    }
+
+    private void addInteraction(Long userId, Long destinationId) {
+        lock.writeLock().lock();
+        try {
+            model.addInteraction(userId, destinationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInteraction(Long userId, Long destinationId) {
+        lock.writeLock().lock();
+        try {
+            model.removeInteraction(userId, destinationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static int partitionOf(long userId, int partitions) {
+        return (int) Math.floorMod(userId, (long) partitions);
+    }
+
+    private List<RecommendationResponse> toResponses(List<CooccurrenceModel.ScoredItem> items) {
+        return items.stream()
+                .map(item -> new RecommendationResponse(item.destinationId(), item.score()))
+                .toList();
+    }
+}
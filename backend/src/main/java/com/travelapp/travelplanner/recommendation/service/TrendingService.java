@@ -0,0 +1,314 @@
+package com.travelapp.travelplanner.recommendation.service;
+
+import com.travelapp.travelplanner.booking.event.BookingChangedEvent;
+import com.travelapp.travelplanner.booking.repository.BookingRepository;
+import com.travelapp.travelplanner.favorites.event.FavoriteChangedEvent;
+import com.travelapp.travelplanner.favorites.repository.FavoritesRepository;
+import com.travelapp.travelplanner.recommendation.dto.TrendingDestinationResponse;
+import com.travelapp.travelplanner.recommendation.model.TrendingWindow;
+import com.travelapp.travelplanner.recommendation.model.WindowedCounters;
+import com.travelapp.travelplanner.util.TopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trending destinations: bookings and favorites made within the last hour,
+ * day or week, weighted into one score.
+ *
+ * Counts live in lock-free WindowedCounters updated on every booking and
+ * favorite event. Each window keeps a ranked top list that the event merges
+ * the destination's new score into, so reads are a list copy. As buckets
+ * slide out of a window scores only fall, which events never see, so the
+ * lists are also re-ranked from the counters every refresh-interval.
+ *
+ * Counters are seeded from the database at startup and re-seeded every
+ * resync-interval, which also brings in activity served by other instances.
+ * Events delivered while the seeding queries run are journaled and replayed
+ * into the new counters, so they are not lost with the old ones. An event
+ * whose transaction committed just before the queries started but that is
+ * delivered after may count twice until the next resync.
+ */
+@Service
+@Lazy(false)
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final long FINE_BUCKET_MILLIS = Duration.ofMinutes(5).toMillis();
+    private static final long HOURLY_BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+
+    private static final Comparator<TrendingDestinationResponse> RANKING_ORDER =
+            Comparator.comparingDouble(TrendingDestinationResponse::getScore).reversed()
+                    .thenComparing(TrendingDestinationResponse::getDestinationId);
+
+    private final BookingRepository bookingRepository;
+    private final FavoritesRepository favoritesRepository;
+    private final double bookingWeight;
+    private final double favoriteWeight;
+    private final int capacity;
+
+    private volatile Activity bookings = new Activity();
+    private volatile Activity favorites = new Activity();
+    // Events count under the read lock; a resync takes the write lock to start journaling and to swap
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Map<TrendingWindow, Ranking> rankings = new EnumMap<>(TrendingWindow.class);
+
+    public TrendingService(BookingRepository bookingRepository,
+                           FavoritesRepository favoritesRepository,
+                           @Value("${app.trending.booking-weight:3}") double bookingWeight,
+                           @Value("${app.trending.favorite-weight:1}") double favoriteWeight,
+                           @Value("${app.trending.capacity:50}") int capacity) {
+        this.bookingRepository = bookingRepository;
+        this.favoritesRepository = favoritesRepository;
+        this.bookingWeight = bookingWeight;
+        this.favoriteWeight = favoriteWeight;
+        this.capacity = capacity;
+        for (TrendingWindow window : TrendingWindow.values()) {
+            rankings.put(window, new Ranking(capacity));
+        }
+    }
+
+    public List<TrendingDestinationResponse> getTrending(TrendingWindow window, int limit) {
+        List<TrendingDestinationResponse> ranked = rankings.get(window).entries;
+        return ranked.subList(0, Math.min(ranked.size(), Math.max(1, Math.min(limit, capacity))));
+    }
+
+    // Called by StartupIndexLoader before the web server starts accepting requests
+    public void load() {
+        resync();
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.resync-interval:15m}",
+            initialDelayString = "${app.trending.resync-interval:15m}")
+    public synchronized void resync() {
+        long start = System.nanoTime();
+        LocalDateTime since = LocalDateTime.now().minusHours(TrendingWindow.WEEK.buckets());
+        Activity liveBookings;
+        Activity liveFavorites;
+        swapLock.writeLock().lock();
+        try {
+            liveBookings = bookings;
+            liveFavorites = favorites;
+            liveBookings.startJournal();
+            liveFavorites.startJournal();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Activity seededBookings;
+        Activity seededFavorites;
+        try {
+            seededBookings = Activity.of(bookingRepository.findDestinationActivitySince(since));
+            seededFavorites = Activity.of(favoritesRepository.findDestinationActivitySince(since));
+        } catch (RuntimeException e) {
+            swapLock.writeLock().lock();
+            try {
+                liveBookings.stopJournal();
+                liveFavorites.stopJournal();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            seededBookings.replay(liveBookings.stopJournal());
+            seededFavorites.replay(liveFavorites.stopJournal());
+            bookings = seededBookings;
+            favorites = seededFavorites;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        refresh();
+        log.info("Seeded trending counters ({} destinations) in {} ms",
+                seededBookings.hourly.destinationIds().size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:1m}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        bookings.prune(now);
+        favorites.prune(now);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            Ranking ranking = rankings.get(window);
+            synchronized (ranking) {
+                ranking.replace(rank(window, now));
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.isCreation()) {
+            long now = System.currentTimeMillis();
+            swapLock.readLock().lock();
+            try {
+                bookings.add(event.destinationId(), now);
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            rerank(event.destinationId(), now);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        if (event.added()) {
+            long now = System.currentTimeMillis();
+            swapLock.readLock().lock();
+            try {
+                favorites.add(event.destinationId(), now);
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            rerank(event.destinationId(), now);
+        }
+    }
+
+    private void rerank(long destinationId, long now) {
+        for (TrendingWindow window : TrendingWindow.values()) {
+            rankings.get(window).offer(entry(destinationId, window, now));
+        }
+    }
+
+    private List<TrendingDestinationResponse> rank(TrendingWindow window, long now) {
+        TopK top = new TopK(capacity);
+        for (Long id : bookings.destinationIds(window)) {
+            top.offer(id, entry(id, window, now).getScore());
+        }
+        for (Long id : favorites.destinationIds(window)) {
+            if (!bookings.destinationIds(window).contains(id)) {
+                top.offer(id, entry(id, window, now).getScore());
+            }
+        }
+
+        long[] ids = new long[top.size()];
+        double[] scores = new double[top.size()];
+        int n = top.drainDescending(ids, scores);
+        List<TrendingDestinationResponse> ranked = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (scores[i] > 0) {
+                ranked.add(entry(ids[i], window, now));
+            }
+        }
+        return ranked;
+    }
+
+    private TrendingDestinationResponse entry(long destinationId, TrendingWindow window, long now) {
+        long bookingCount = bookings.count(destinationId, window, now);
+        long favoriteCount = favorites.count(destinationId, window, now);
+        return new TrendingDestinationResponse(destinationId, bookingCount, favoriteCount,
+                bookingCount * bookingWeight + favoriteCount * favoriteWeight);
+    }
+
+    // One kind of event at two resolutions: 5-minute buckets for the hour window, hourly for the rest
+    private static final class Activity {
+
+        private final WindowedCounters fine =
+                new WindowedCounters(FINE_BUCKET_MILLIS, TrendingWindow.HOUR.buckets() + 1);
+        private final WindowedCounters hourly =
+                new WindowedCounters(HOURLY_BUCKET_MILLIS, TrendingWindow.WEEK.buckets() + 1);
+        // (destinationId, timeMillis) of events counted during a resync; null otherwise
+        private volatile Queue<long[]> journal;
+
+        static Activity of(List<Object[]> rows) {
+            Activity activity = new Activity();
+            for (Object[] row : rows) {
+                LocalDateTime at = (LocalDateTime) row[1];
+                activity.add((Long) row[0], at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            return activity;
+        }
+
+        void add(long destinationId, long timeMillis) {
+            fine.add(destinationId, timeMillis, 1);
+            hourly.add(destinationId, timeMillis, 1);
+            Queue<long[]> events = journal;
+            if (events != null) {
+                events.add(new long[]{destinationId, timeMillis});
+            }
+        }
+
+        void startJournal() {
+            journal = new ConcurrentLinkedQueue<>();
+        }
+
+        Queue<long[]> stopJournal() {
+            Queue<long[]> events = journal;
+            journal = null;
+            return events;
+        }
+
+        void replay(Queue<long[]> events) {
+            for (long[] event : events) {
+                add(event[0], event[1]);
+            }
+        }
+
+        long count(long destinationId, TrendingWindow window, long now) {
+            return counters(window).sum(destinationId, now, window.buckets());
+        }
+
+        Set<Long> destinationIds(TrendingWindow window) {
+            return counters(window).destinationIds();
+        }
+
+        void prune(long now) {
+            fine.prune(now);
+            hourly.prune(now);
+        }
+
+        private WindowedCounters counters(TrendingWindow window) {
+            return window.hourly() ? hourly : fine;
+        }
+    }
+
+    // Copy-on-write top list: writers take the monitor, readers never block
+    private static final class Ranking {
+
+        private final int capacity;
+        private volatile List<TrendingDestinationResponse> entries = List.of();
+
+        Ranking(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(TrendingDestinationResponse entry) {
+            List<TrendingDestinationResponse> next = new ArrayList<>(entries.size() + 1);
+            for (TrendingDestinationResponse current : entries) {
+                if (!current.getDestinationId().equals(entry.getDestinationId())) {
+                    next.add(current);
+                }
+            }
+            if (entry.getScore() > 0) {
+                next.add(entry);
+            }
+            next.sort(RANKING_ORDER);
+            entries = List.copyOf(next.size() > capacity ? next.subList(0, capacity) : next);
+        }
+
+        synchronized void replace(List<TrendingDestinationResponse> ranked) {
+            entries = List.copyOf(ranked);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.travelapp.travelplanner.security;
 
 import com.travelapp.travelplanner.config.JwtProvider;
+import com.travelapp.travelplanner.profiling.event.TokenVerificationEvent;
+import com.travelapp.travelplanner.security.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,9 +20,12 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtProvider jwtProvider) {
+    public JwtAuthenticationFilter(JwtProvider jwtProvider,
+                                   TokenRevocationService tokenRevocationService) {
         this.jwtProvider = jwtProvider;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -32,9 +38,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
+            // Times signature check and revocation lookup for the continuous JFR recording
+            TokenVerificationEvent verification = new TokenVerificationEvent();
+            verification.begin();
+            verification.outcome = "invalid";
             try {
-                Long userId = jwtProvider.getUserIdFromToken(token);
-                String role = jwtProvider.getRoleFromToken(token);
+                // Parse and verify the signature once
+                Claims claims = jwtProvider.validateToken(token).getBody();
+                Long userId = Long.valueOf(claims.getSubject());
+                String role = claims.get("role", String.class);
+
+                // In-memory check; revoked tokens just stay unauthenticated
+                if (tokenRevocationService.isRevoked(claims.getId(), userId, claims.getIssuedAt())) {
+                    verification.outcome = "revoked";
+                    verification.commit();
+                    SecurityContextHolder.clearContext();
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                verification.outcome = "valid";
+                verification.commit();
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
@@ -45,6 +68,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (Exception ex) {
+                if ("invalid".equals(verification.outcome)) {
+                    verification.commit();
+                }
                 SecurityContextHolder.clearContext();
             }
         }
@@ -0,0 +1,96 @@
+package com.travelapp.travelplanner.security.index;
+
+import com.travelapp.travelplanner.util.BloomFilter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory set of revoked access tokens and users.
+ *
+ * A Bloom filter over all token ids and user ids sits in front of the
+ * exact maps: for a token that is not revoked (the common case) the check
+ * almost always ends after a few bit probes, and a false positive only
+ * costs a map lookup. Reads take no lock; writers are serialized.
+ */
+public class RevocationIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    // token id -> epoch millis after which the token has expired anyway
+    private final ConcurrentMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+
+    // Insertions the current filter is sized for; guarded by this
+    private int capacity = MIN_CAPACITY;
+
+    public boolean isRevoked(String tokenId, long userId, long issuedAtMillis) {
+        BloomFilter current = filter;
+        if (tokenId != null && current.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (current.mightContain(userId)) {
+            UserRevocation revocation = revokedUsers.get(userId);
+            return revocation != null && issuedAtMillis < revocation.revokedAtMillis();
+        }
+        return false;
+    }
+
+    public synchronized void revokeToken(String tokenId, long expiresAtMillis) {
+        revokedTokens.merge(tokenId, expiresAtMillis, Math::max);
+        growIfNeeded();
+        filter.add(tokenId);
+    }
+
+    /**
+     * Revokes every token of the user issued before the second revokedAtMillis
+     * falls in. Token iat has whole-second precision, so a token issued in the
+     * same second (a re-login right after the revocation) stays valid.
+     */
+    public synchronized void revokeUser(long userId, long revokedAtMillis, long expiresAtMillis) {
+        long revokedAtSecond = revokedAtMillis - Math.floorMod(revokedAtMillis, 1000L);
+        revokedUsers.merge(userId, new UserRevocation(revokedAtSecond, expiresAtMillis), UserRevocation::latest);
+        growIfNeeded();
+        filter.add(userId);
+    }
+
+    // Drops entries that can no longer match an unexpired token and rebuilds the filter without them
+    public synchronized int compact(long nowMillis) {
+        int before = size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAtMillis() <= nowMillis);
+        rebuild();
+        return before - size();
+    }
+
+    public int size() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    // A filter filled past its sizing loses its false-positive rate
+    private void growIfNeeded() {
+        if (size() > capacity) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        capacity = Math.max(MIN_CAPACITY, size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.add(tokenId));
+        revokedUsers.keySet().forEach(userId -> rebuilt.add(userId.longValue()));
+        filter = rebuilt;
+    }
+
+    private record UserRevocation(long revokedAtMillis, long expiresAtMillis) {
+
+        UserRevocation latest(UserRevocation other) {
+            return new UserRevocation(Math.max(revokedAtMillis, other.revokedAtMillis),
+                    Math.max(expiresAtMillis, other.expiresAtMillis));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.travelapp.travelplanner.security.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revokes either one access token (tokenId, the JWT id) or every access
+ * token of a user issued up to revokedAt (userId).
+ */
+@Entity
+@Table(name = "token_revocations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 36)
+    private String tokenId;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    // No access token matched by this row is still valid after this
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,22 @@
+package com.travelapp.travelplanner.security.repository;
+
+import com.travelapp.travelplanner.security.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // Served by idx_token_revocations_expires
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    // Served by idx_token_revocations_revoked
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Modifying
+    @Query("delete from TokenRevocation r where r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,152 @@
+package com.travelapp.travelplanner.security.service;
+
+import com.travelapp.travelplanner.security.index.RevocationIndex;
+import com.travelapp.travelplanner.security.model.TokenRevocation;
+import com.travelapp.travelplanner.security.repository.TokenRevocationRepository;
+import com.travelapp.travelplanner.user.repository.UserRepository;
+import com.travelapp.travelplanner.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Access token revocation without a database read per request.
+ *
+ * Revocations are written to token_revocations and mirrored in a
+ * RevocationIndex on every instance: applied locally once committed, and picked
+ * up by the other instances on their next poll, which only reads rows
+ * revoked since the previous poll.
+ */
+@Service
+@Lazy(false)
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final TokenRevocationRepository revocationRepository;
+    private final UserRepository userRepository;
+    private final long accessTokenMillis;
+    private final Duration pollOverlap;
+
+    private final RevocationIndex index = new RevocationIndex();
+
+    // Start time of the previous poll; null until load() ran
+    private volatile LocalDateTime lastPoll;
+
+    public TokenRevocationService(TokenRevocationRepository revocationRepository,
+                                  UserRepository userRepository,
+                                  @Value("${app.jwt.expiration}") long accessTokenMillis,
+                                  @Value("${app.security.revocation.poll-overlap:30s}") Duration pollOverlap) {
+        this.revocationRepository = revocationRepository;
+        this.userRepository = userRepository;
+        this.accessTokenMillis = accessTokenMillis;
+        this.pollOverlap = pollOverlap;
+    }
+
+    public boolean isRevoked(String tokenId, long userId, Date issuedAt) {
+        return index.isRevoked(tokenId, userId, issuedAt == null ? Long.MIN_VALUE : issuedAt.getTime());
+    }
+
+    // Called by StartupIndexLoader before the web server starts accepting requests
+    @Transactional(readOnly = true)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TokenRevocation> live = revocationRepository.findByExpiresAtAfter(now);
+        live.forEach(this::apply);
+        revokeInactiveUsers(now);
+        lastPoll = now;
+        log.info("Loaded {} token revocations", index.size());
+    }
+
+    @Transactional
+    public void revokeToken(String tokenId, Date expiresAt) {
+        record(TokenRevocation.builder()
+                .tokenId(tokenId)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(toLocalDateTime(expiresAt.getTime()))
+                .build());
+    }
+
+    // Revokes every access token the user holds right now
+    @Transactional
+    public void revokeUser(Long userId) {
+        // Whole seconds, as the index compares them; DATETIME would otherwise round to the next second
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        record(TokenRevocation.builder()
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(accessTokenMillis)))
+                .build());
+    }
+
+    // Overlapping windows catch rows committed late or stamped by a slightly skewed clock
+    @Scheduled(fixedDelayString = "${app.security.revocation.poll-interval:5s}")
+    @Transactional(readOnly = true)
+    public void poll() {
+        LocalDateTime previous = lastPoll;
+        if (previous == null) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        revocationRepository.findByRevokedAtGreaterThanEqual(previous.minus(pollOverlap))
+                .forEach(this::apply);
+        lastPoll = started;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.compact-interval:10m}")
+    @Transactional
+    public void compact() {
+        if (lastPoll == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int dropped = index.compact(toEpochMillis(now));
+        int purged = revocationRepository.deleteExpired(now);
+        revokeInactiveUsers(now);
+        log.debug("Compacted token revocations: {} dropped from memory, {} purged", dropped, purged);
+    }
+
+    // Covers users deactivated without going through UserService (e.g. directly in the database)
+    private void revokeInactiveUsers(LocalDateTime scanStart) {
+        long revokedAt = toEpochMillis(scanStart);
+        for (Long userId : userRepository.findInactiveUserIds()) {
+            index.revokeUser(userId, revokedAt, revokedAt + accessTokenMillis);
+        }
+    }
+
+    // Applied locally only once committed; a rolled-back revocation must not reject tokens here alone
+    private void record(TokenRevocation revocation) {
+        revocationRepository.save(revocation);
+        AfterCommit.run(() -> apply(revocation));
+    }
+
+    private void apply(TokenRevocation revocation) {
+        long expiresAt = toEpochMillis(revocation.getExpiresAt());
+        if (revocation.getTokenId() != null) {
+            index.revokeToken(revocation.getTokenId(), expiresAt);
+        }
+        if (revocation.getUserId() != null) {
+            index.revokeUser(revocation.getUserId(), toEpochMillis(revocation.getRevokedAt()), expiresAt);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
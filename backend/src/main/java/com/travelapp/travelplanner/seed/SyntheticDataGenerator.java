@@ -0,0 +1,246 @@
+package com.travelapp.travelplanner.seed;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic synthetic rows for benchmarking: the same seed, anchor date
+ * and counts always give the same data, whatever the number of threads.
+ *
+ * Destinations and users are drawn from a Zipf distribution over a seeded
+ * permutation, so a few are very popular and most are rarely touched, and
+ * the popular ones are not simply the lowest ids. Rows are generated in
+ * chunks, each with its own random stream derived from (seed, table,
+ * chunk), so chunks can be produced in any order on any thread.
+ *
+ * Rows refer to users and destinations by 0-based index; the seeder maps
+ * indexes to ids.
+ */
+public class SyntheticDataGenerator {
+
+    private static final long DESTINATIONS_STREAM = 1;
+    private static final long USERS_STREAM = 2;
+    private static final long BOOKINGS_STREAM = 3;
+    private static final long FAVORITES_STREAM = 4;
+
+    // Country, city and centre of the area its destinations are scattered around
+    private static final Object[][] REGIONS = {
+            {"France", "Paris", 48.86, 2.35}, {"Italy", "Rome", 41.90, 12.50},
+            {"Spain", "Barcelona", 41.39, 2.17}, {"Portugal", "Lisbon", 38.72, -9.14},
+            {"Greece", "Athens", 37.98, 23.73}, {"United Kingdom", "London", 51.51, -0.13},
+            {"Germany", "Berlin", 52.52, 13.40}, {"Netherlands", "Amsterdam", 52.37, 4.90},
+            {"Austria", "Vienna", 48.21, 16.37}, {"Czechia", "Prague", 50.08, 14.44},
+            {"Croatia", "Split", 43.51, 16.44}, {"Turkey", "Istanbul", 41.01, 28.98},
+            {"Morocco", "Marrakesh", 31.63, -7.99}, {"Egypt", "Cairo", 30.04, 31.24},
+            {"Kenya", "Nairobi", -1.29, 36.82}, {"South Africa", "Cape Town", -33.92, 18.42},
+            {"Japan", "Tokyo", 35.68, 139.69}, {"Thailand", "Bangkok", 13.76, 100.50},
+            {"Indonesia", "Bali", -8.34, 115.09}, {"Australia", "Sydney", -33.87, 151.21},
+            {"United States", "New York", 40.71, -74.01}, {"Mexico", "Cancun", 21.16, -86.85},
+            {"Brazil", "Rio de Janeiro", -22.91, -43.17}, {"Argentina", "Buenos Aires", -34.60, -58.38},
+            {"Peru", "Cusco", -13.53, -71.97}, {"Canada", "Vancouver", 49.28, -123.12},
+            {"Iceland", "Reykjavik", 64.15, -21.94}, {"Norway", "Bergen", 60.39, 5.32}
+    };
+    private static final String[] NAME_PREFIXES = {
+            "Old", "Grand", "Blue", "Royal", "Silver", "Hidden", "Sunny", "North", "South", "Green", "Golden", "Little"
+    };
+    private static final String[] NAME_SUFFIXES = {
+            "Harbour", "Quarter", "Bay", "Gardens", "Heights", "Market", "Beach", "Valley", "Cove", "Square", "Hills", "Lagoon"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Alex", "Sam", "Maria", "Jan", "Lea", "Noah", "Mia", "Luca", "Emma", "Omar", "Yuki", "Ana", "Ben", "Sara", "Ivan", "Nina"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Garcia", "Muller", "Rossi", "Dubois", "Silva", "Novak", "Tanaka", "Khan", "Jansen", "Costa", "Berg"
+    };
+    // Party sizes 1..6 by cumulative share: couples most common, large groups rare
+    private static final double[] TRAVELERS_CDF = {0.28, 0.70, 0.80, 0.94, 0.98, 1.0};
+
+    private final long seed;
+    private final LocalDate anchor;
+    private final int users;
+    private final int destinations;
+    private final int historyDays;
+    private final double favoritesPerUser;
+    private final int[] popularDestinations;
+    private final double[] destinationCdf;
+    private final int[] activeUsers;
+    private final double[] userCdf;
+    private final double[] prices;
+
+    public SyntheticDataGenerator(long seed, LocalDate anchor, int users, int destinations,
+                                  int historyDays, double favoritesPerUser,
+                                  double destinationSkew, double userSkew) {
+        if (users <= 0 || destinations <= 0 || historyDays <= 0) {
+            throw new IllegalArgumentException("users, destinations and historyDays must be > 0");
+        }
+        this.seed = seed;
+        this.anchor = anchor;
+        this.users = users;
+        this.destinations = destinations;
+        this.historyDays = historyDays;
+        this.favoritesPerUser = favoritesPerUser;
+        this.popularDestinations = permutation(destinations, new SplittableRandom(mix(seed, DESTINATIONS_STREAM, -1)));
+        this.destinationCdf = zipfCdf(destinations, destinationSkew);
+        this.activeUsers = permutation(users, new SplittableRandom(mix(seed, USERS_STREAM, -1)));
+        this.userCdf = zipfCdf(users, userSkew);
+        this.prices = new double[destinations];
+        for (int i = 0; i < destinations; i++) {
+            prices[i] = destination(i).price();
+        }
+    }
+
+    public record DestinationRow(String name, String country, String city, String description,
+                                 double price, double latitude, double longitude) {
+    }
+
+    public record UserRow(String name, String email) {
+    }
+
+    public record BookingRow(int userIndex, int destinationIndex, LocalDate startDate, LocalDate endDate,
+                             int travelers, String status, BigDecimal totalPrice, LocalDateTime createdAt) {
+    }
+
+    public record FavoriteRow(int userIndex, int destinationIndex, LocalDateTime createdAt) {
+    }
+
+    // Random access by index, since bookings need the price of any destination
+    public DestinationRow destination(int index) {
+        SplittableRandom random = new SplittableRandom(mix(seed, DESTINATIONS_STREAM, index));
+        Object[] region = REGIONS[random.nextInt(REGIONS.length)];
+        String name = NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + " "
+                + NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)] + " " + (index + 1);
+        // Log-normal around 120 per night: most stays are cheap, a long tail is expensive
+        double price = Math.round(Math.min(2000, Math.max(15, 120 * Math.exp(0.6 * random.nextGaussian(0, 1)))));
+        double latitude = Math.max(-89.9, Math.min(89.9, (double) region[2] + random.nextGaussian(0, 1.5)));
+        double longitude = wrapLongitude((double) region[3] + random.nextGaussian(0, 1.5));
+        return new DestinationRow(name, (String) region[0], (String) region[1],
+                name + ", a synthetic destination near " + region[1] + ".", price, latitude, longitude);
+    }
+
+    public UserRow user(int index) {
+        SplittableRandom random = new SplittableRandom(mix(seed, USERS_STREAM, index));
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new UserRow(name, "seed" + seed + "-" + index + "@example.com");
+    }
+
+    /**
+     * Bookings [from, to) of a chunk: created uniformly over the history
+     * days and starting a few weeks later. Most past trips are confirmed,
+     * upcoming ones are often still pending.
+     */
+    public void bookings(int chunk, int from, int to, Consumer<BookingRow> sink) {
+        SplittableRandom random = new SplittableRandom(mix(seed, BOOKINGS_STREAM, chunk));
+        LocalDateTime historyStart = anchor.minusDays(historyDays).atStartOfDay();
+        long historySeconds = historyDays * 86_400L;
+        for (int i = from; i < to; i++) {
+            int userIndex = activeUsers[sample(userCdf, random)];
+            int destinationIndex = popularDestinations[sample(destinationCdf, random)];
+            LocalDateTime createdAt = historyStart.plusSeconds(random.nextLong(historySeconds));
+            // Lead time averages about six weeks, stays about five nights
+            LocalDate startDate = createdAt.toLocalDate().plusDays((long) (-42 * Math.log(1 - random.nextDouble())));
+            LocalDate endDate = startDate.plusDays(1 + (long) (-4 * Math.log(1 - random.nextDouble())));
+            int travelers = 1 + sample(TRAVELERS_CDF, random);
+            String status = status(random, endDate.isBefore(anchor));
+            long days = ChronoUnit.DAYS.between(startDate, endDate);
+            BigDecimal totalPrice = BigDecimal.valueOf(prices[destinationIndex])
+                    .multiply(BigDecimal.valueOf(travelers * days))
+                    .setScale(2, RoundingMode.HALF_UP);
+            sink.accept(new BookingRow(userIndex, destinationIndex, startDate, endDate, travelers, status,
+                    totalPrice, createdAt));
+        }
+    }
+
+    /**
+     * Favorites of the users [from, to): a geometric number per user with
+     * mean favorites-per-user, drawn from the same popularity skew as
+     * bookings and distinct within a user.
+     */
+    public void favorites(int chunk, int from, int to, Consumer<FavoriteRow> sink) {
+        SplittableRandom random = new SplittableRandom(mix(seed, FAVORITES_STREAM, chunk));
+        LocalDateTime historyStart = anchor.minusDays(historyDays).atStartOfDay();
+        long historySeconds = historyDays * 86_400L;
+        double keepGoing = favoritesPerUser / (1 + favoritesPerUser);
+        int[] picked = new int[16];
+        for (int userIndex = from; userIndex < to; userIndex++) {
+            int count = 0;
+            while (count < picked.length && count < destinations && random.nextDouble() < keepGoing) {
+                int destinationIndex = popularDestinations[sample(destinationCdf, random)];
+                if (!contains(picked, count, destinationIndex)) {
+                    picked[count++] = destinationIndex;
+                    sink.accept(new FavoriteRow(userIndex, destinationIndex,
+                            historyStart.plusSeconds(random.nextLong(historySeconds))));
+                }
+            }
+        }
+    }
+
+    private static String status(SplittableRandom random, boolean past) {
+        double roll = random.nextDouble();
+        if (past) {
+            return roll < 0.82 ? "CONFIRMED" : roll < 0.97 ? "CANCELLED" : "PENDING";
+        }
+        return roll < 0.45 ? "CONFIRMED" : roll < 0.90 ? "PENDING" : "CANCELLED";
+    }
+
+    // Index of the first cdf entry above a uniform draw
+    static int sample(double[] cdf, SplittableRandom random) {
+        int position = Arrays.binarySearch(cdf, random.nextDouble());
+        int index = position >= 0 ? position + 1 : -position - 1;
+        return Math.min(index, cdf.length - 1);
+    }
+
+    // P(rank k) proportional to 1 / (k + 1)^skew; skew 0 is uniform
+    static double[] zipfCdf(int n, double skew) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, skew);
+            cdf[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= total;
+        }
+        return cdf;
+    }
+
+    private static int[] permutation(int n, SplittableRandom random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double wrapLongitude(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+
+    // SplitMix64 finaliser over the three inputs, so nearby chunks get unrelated streams
+    private static long mix(long seed, long stream, long index) {
+        long z = seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,274 @@
+package com.travelapp.travelplanner.seed;
+
+import com.travelapp.travelplanner.booking.service.BookingRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fills the database with synthetic destinations, users, bookings and
+ * favorites for benchmarks and query-plan checks (see application-seed.properties).
+ *
+ * Bypasses JPA: rows come from SyntheticDataGenerator and are written with
+ * JDBC batch inserts, chunk by chunk on seed threads, one transaction per
+ * chunk. New rows get ids above the current maximum, so seeding works on a
+ * database that already has data. Booking rollups are rebuilt for the
+ * seeded days at the end, since the inserts do not go through BookingService.
+ */
+@Component
+@Profile("seed")
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final BookingRollupService rollupService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.seed.seed:42}")
+    private long seed;
+    @Value("${app.seed.anchor-date:}")
+    private String anchorDate;
+    @Value("${app.seed.users:1000000}")
+    private int users;
+    @Value("${app.seed.destinations:100000}")
+    private int destinations;
+    @Value("${app.seed.bookings:3000000}")
+    private int bookings;
+    @Value("${app.seed.favorites-per-user:2.0}")
+    private double favoritesPerUser;
+    @Value("${app.seed.history-days:730}")
+    private int historyDays;
+    @Value("${app.seed.destination-skew:1.1}")
+    private double destinationSkew;
+    @Value("${app.seed.user-skew:0.6}")
+    private double userSkew;
+    @Value("${app.seed.password:secret123}")
+    private String password;
+    @Value("${app.seed.threads:4}")
+    private int threads;
+    @Value("${app.seed.batch-size:1000}")
+    private int batchSize;
+    @Value("${app.seed.chunk-size:20000}")
+    private int chunkSize;
+    @Value("${app.seed.exit:true}")
+    private boolean exit;
+
+    public SyntheticDataSeeder(DataSource dataSource,
+                               JdbcTemplate jdbcTemplate,
+                               PasswordEncoder passwordEncoder,
+                               BookingRollupService rollupService,
+                               ConfigurableApplicationContext context) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.rollupService = rollupService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try {
+            seed();
+        } catch (Exception e) {
+            log.error("Seeding failed", e);
+            exitCode = 1;
+        }
+        if (exit) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    private void seed() throws Exception {
+        LocalDate anchor = anchorDate.isBlank() ? LocalDate.now() : LocalDate.parse(anchorDate);
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from users where email = ?",
+                Integer.class, "seed" + seed + "-0@example.com");
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Seed " + seed + " is already loaded; pick another app.seed.seed");
+        }
+        long userBase = maxId("users");
+        long destinationBase = maxId("destinations");
+        log.info("Seeding {} destinations, {} users, {} bookings and ~{} favorites per user " +
+                        "(seed {}, anchor {}, {} threads)",
+                destinations, users, bookings, favoritesPerUser, seed, anchor, threads);
+
+        long start = System.nanoTime();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, anchor, users, destinations,
+                historyDays, favoritesPerUser, destinationSkew, userSkew);
+        String passwordHash = passwordEncoder.encode(password);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            load(pool, "destinations", destinations,
+                    "insert into destinations (id, name, country, city, description, price, latitude, longitude) " +
+                            "values (?, ?, ?, ?, ?, ?, ?, ?)",
+                    (chunk, from, to, batch) -> {
+                        for (int i = from; i < to; i++) {
+                            SyntheticDataGenerator.DestinationRow row = generator.destination(i);
+                            batch.add(destinationBase + 1 + i, row.name(), row.country(), row.city(),
+                                    row.description(), row.price(), row.latitude(), row.longitude());
+                        }
+                    });
+            load(pool, "users", users,
+                    "insert into users (id, name, email, password_hash, role, active) values (?, ?, ?, ?, 'USER', 1)",
+                    (chunk, from, to, batch) -> {
+                        for (int i = from; i < to; i++) {
+                            SyntheticDataGenerator.UserRow row = generator.user(i);
+                            batch.add(userBase + 1 + i, row.name(), row.email(), passwordHash);
+                        }
+                    });
+            load(pool, "bookings", bookings,
+                    "insert into bookings (user_id, destination_id, start_date, end_date, travelers, status, " +
+                            "total_price, created_at) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                    (chunk, from, to, batch) -> generator.bookings(chunk, from, to, row -> batch.add(
+                            userBase + 1 + row.userIndex(), destinationBase + 1 + row.destinationIndex(),
+                            Date.valueOf(row.startDate()), Date.valueOf(row.endDate()), row.travelers(),
+                            row.status(), row.totalPrice(), Timestamp.valueOf(row.createdAt()))));
+            // Chunks here are ranges of users, each adding a variable number of favorites
+            load(pool, "favorites", users,
+                    "insert into favorites (user_id, destination_id, created_at) values (?, ?, ?)",
+                    (chunk, from, to, batch) -> generator.favorites(chunk, from, to, row -> batch.add(
+                            userBase + 1 + row.userIndex(), destinationBase + 1 + row.destinationIndex(),
+                            Timestamp.valueOf(row.createdAt()))));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        rollupService.backfill(anchor.minusDays(historyDays), anchor);
+        // Fresh statistics, so query plans reflect the new volumes
+        jdbcTemplate.execute("analyze table destinations, users, bookings, favorites");
+        log.info("Seeding finished in {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int chunk, int from, int to, Batch batch);
+    }
+
+    // Splits [0, total) into chunks written in parallel; logs progress and rows/sec
+    private void load(ExecutorService pool, String table, int total, String sql, ChunkWriter writer)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        int chunks = (total + chunkSize - 1) / chunkSize;
+        AtomicLong rows = new AtomicLong();
+        AtomicInteger done = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            int from = chunk * chunkSize;
+            int to = Math.min(total, from + chunkSize);
+            futures.add(pool.submit(() -> {
+                rows.addAndGet(writeChunk(sql, batch -> writer.write(index, from, to, batch)));
+                int finished = done.incrementAndGet();
+                if (finished * 10 / chunks != (finished - 1) * 10 / chunks) {
+                    log.info("{}: {}% ({} rows, {} rows/s)", table, finished * 100 / chunks, rows.get(),
+                            rate(rows.get(), start));
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Seeding " + table + " failed", e.getCause());
+        }
+        log.info("Seeded {} {} in {} ms ({} rows/s)", rows.get(), table,
+                (System.nanoTime() - start) / 1_000_000, rate(rows.get(), start));
+    }
+
+    private long writeChunk(String sql, Consumer<Batch> body) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                Batch batch = new Batch(statement, batchSize);
+                body.accept(batch);
+                batch.flush();
+                connection.commit();
+                return batch.rows;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private static long rate(long rows, long startNanos) {
+        long nanos = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000L / nanos;
+    }
+
+    // Binds one row per add() and sends the batch every batchSize rows
+    private static final class Batch {
+
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+        private long rows;
+
+        Batch(PreparedStatement statement, int batchSize) {
+            this.statement = statement;
+            this.batchSize = batchSize;
+        }
+
+        void add(Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 1, values[i]);
+                }
+                statement.addBatch();
+                rows++;
+                if (++pending == batchSize) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.travelapp.travelplanner.user.controller;
 
 import com.travelapp.travelplanner.user.dto.AuthResponse;
 import com.travelapp.travelplanner.user.dto.LoginRequest;
+import com.travelapp.travelplanner.user.dto.RefreshTokenRequest;
 import com.travelapp.travelplanner.user.dto.RegisterRequest;
 import com.travelapp.travelplanner.user.dto.UserDTO;
 import com.travelapp.travelplanner.user.service.AuthService;
 import com.travelapp.travelplanner.user.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,4 +36,21 @@ public class AuthController {
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(response);
+    }
+
+    // Revokes the bearer token of this request and, if sent, the refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request == null ? null : request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,26 @@
+package com.travelapp.travelplanner.user.controller;
+
+import com.travelapp.travelplanner.user.dto.UserDTO;
+import com.travelapp.travelplanner.user.service.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    private final UserService userService;
+
+    public UserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    // ADMIN: activate / deactivate a user; deactivation revokes their tokens
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/admin/{id}/active")
+    public ResponseEntity<UserDTO> setActive(@PathVariable Long id,
+                                             @RequestParam boolean active) {
+        return ResponseEntity.ok(userService.setActive(id, active));
+    }
+}
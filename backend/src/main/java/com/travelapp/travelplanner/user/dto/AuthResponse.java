@@ -9,4 +9,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    // Single use: POST /api/auth/refresh returns a new one
+    private String refreshToken;
 }
@@ -2,9 +2,16 @@ package com.travelapp.travelplanner.user.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,6 +25,8 @@ public class User {
 
     private String name;
 
+    // Natural id so login lookups by email can be served from the natural-id cache
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -0,0 +1,25 @@
+package com.travelapp.travelplanner.user.repository;
+
+import com.travelapp.travelplanner.user.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Served by uk_refresh_tokens_hash
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Served by idx_refresh_tokens_user
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.userId = :userId and t.revokedAt is null")
+    int revokeAllForUser(Long userId, LocalDateTime now);
+
+    // Served by idx_refresh_tokens_expires
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
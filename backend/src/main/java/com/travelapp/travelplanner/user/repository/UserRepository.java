@@ -2,12 +2,14 @@ package com.travelapp.travelplanner.user.repository;
 
 import com.travelapp.travelplanner.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-import java.util.Optional;
+import java.util.List;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     boolean existsByEmail(String email);
 
-    Optional<User> findByEmail(String email);
+    @Query("select u.id from User u where u.active = false")
+    List<Long> findInactiveUserIds();
 }
@@ -0,0 +1,11 @@
+package com.travelapp.travelplanner.user.repository;
+
+import com.travelapp.travelplanner.user.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    // Resolved through the natural-id cache instead of a derived JPQL query
+    Optional<User> findByEmail(String email);
+}
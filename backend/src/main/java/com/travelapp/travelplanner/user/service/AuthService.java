@@ -2,29 +2,59 @@ package com.travelapp.travelplanner.user.service;
 
 import com.travelapp.travelplanner.config.JwtProvider;
 import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.security.service.TokenRevocationService;
 import com.travelapp.travelplanner.user.dto.AuthResponse;
 import com.travelapp.travelplanner.user.dto.LoginRequest;
+import com.travelapp.travelplanner.user.model.RefreshToken;
 import com.travelapp.travelplanner.user.model.User;
+import com.travelapp.travelplanner.user.repository.RefreshTokenRepository;
 import com.travelapp.travelplanner.user.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 
 @Service
+@Lazy(false)
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtProvider jwtProvider;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom random = new SecureRandom();
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
-                       JwtProvider jwtProvider) {
+                       JwtProvider jwtProvider,
+                       RefreshTokenRepository refreshTokenRepository,
+                       TokenRevocationService tokenRevocationService,
+                       @Value("${app.jwt.refresh-expiration}") long refreshExpirationMillis) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtProvider = jwtProvider;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenTtl = Duration.ofMillis(refreshExpirationMillis);
     }
 
+    @Transactional
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
@@ -37,7 +67,95 @@ public class AuthService {
             throw new BadCredentialsException("Invalid credentials");
         }
 
+        return issueTokens(user);
+    }
+
+    // Rotates the refresh token: the presented one is used up, a new pair is returned
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (stored.getRevokedAt() != null) {
+            // A used-up token came back: it leaked, so end every session of the user
+            revokeSessions(stored.getUserId(), now);
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        if (!user.isActive()) {
+            throw new BadRequestException("User is inactive");
+        }
+
+        stored.setRevokedAt(now);
+        return issueTokens(user);
+    }
+
+    // Revokes the access token the request came with and, if given, its refresh token
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtProvider.validateToken(accessToken).getBody();
+                if (claims.getId() != null) {
+                    tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+                }
+            } catch (JwtException | IllegalArgumentException ex) {
+                // Expired or invalid: nothing left to revoke
+            }
+        }
+        if (refreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .filter(token -> token.getRevokedAt() == null)
+                    .ifPresent(token -> token.setRevokedAt(LocalDateTime.now()));
+        }
+    }
+
+    // Ends all sessions: refresh tokens are revoked and issued access tokens stop working
+    @Transactional
+    public void revokeSessions(Long userId) {
+        revokeSessions(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval:1h}")
+    @Transactional
+    public void purgeExpiredRefreshTokens() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private void revokeSessions(Long userId, LocalDateTime now) {
+        refreshTokenRepository.revokeAllForUser(userId, now);
+        tokenRevocationService.revokeUser(userId);
+    }
+
+    private AuthResponse issueTokens(User user) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(user.getId())
+                .tokenHash(hash(refreshToken))
+                .createdAt(now)
+                .expiresAt(now.plus(refreshTokenTtl))
+                .build());
+
         String token = jwtProvider.generateToken(user.getId(), user.getRole().name());
-        return new AuthResponse(token);
+        return new AuthResponse(token, refreshToken);
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
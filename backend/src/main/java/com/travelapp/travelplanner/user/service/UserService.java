@@ -1,6 +1,9 @@
 package com.travelapp.travelplanner.user.service;
 
+import com.travelapp.travelplanner.cache.model.CachedEntity;
+import com.travelapp.travelplanner.cache.service.CacheInvalidationService;
 import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.exceptions.ResourceNotFoundException;
 import com.travelapp.travelplanner.user.dto.RegisterRequest;
 import com.travelapp.travelplanner.user.dto.UserDTO;
 import com.travelapp.travelplanner.user.model.Role;
@@ -15,11 +18,17 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthService authService;
+    private final CacheInvalidationService cacheInvalidationService;
 
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       AuthService authService,
+                       CacheInvalidationService cacheInvalidationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authService = authService;
+        this.cacheInvalidationService = cacheInvalidationService;
     }
 
     @Transactional
@@ -47,4 +56,18 @@ public class UserService {
     public User findById(Long id) {
         return userRepository.findById(id).orElse(null);
     }
+
+    // Deactivating a user also ends all of their sessions
+    @Transactional
+    public UserDTO setActive(Long userId, boolean active) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        boolean deactivated = user.isActive() && !active;
+        user.setActive(active);
+        cacheInvalidationService.publish(CachedEntity.USER, userId);
+        if (deactivated) {
+            authService.revokeSessions(userId);
+        }
+        return new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getRole().name());
+    }
 }
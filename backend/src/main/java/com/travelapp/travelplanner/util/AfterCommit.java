@@ -0,0 +1,28 @@
+package com.travelapp.travelplanner.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory invalidation until the surrounding transaction commits.
+ * Invalidating earlier would let a concurrent read load the old row again.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // Runs now when no transaction is active
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
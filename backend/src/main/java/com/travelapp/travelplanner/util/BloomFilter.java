@@ -0,0 +1,75 @@
+package com.travelapp.travelplanner.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter for long and string keys.
+ *
+ * Thread-safe without locking: bits are only ever set (atomically), so a
+ * reader sees every key added before it. Entries cannot be removed; build
+ * a new filter to drop them.
+ */
+public class BloomFilter {
+
+    private static final int MAX_BITS = 1 << 30;
+
+    private final AtomicLongArray words;
+    private final int bitMask;
+    private final int hashes;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(expectedInsertions, 1);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int bits = Integer.highestOneBit((int) Math.min(Math.max(optimalBits, 64), MAX_BITS));
+        if (bits < optimalBits && bits < MAX_BITS) {
+            bits <<= 1;
+        }
+        this.words = new AtomicLongArray(bits >>> 6);
+        this.bitMask = bits - 1;
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) bits / n * ln2)));
+    }
+
+    public void add(long key) {
+        addHash(HashSupport.mix64(key));
+    }
+
+    public void add(CharSequence key) {
+        addHash(HashSupport.hash64(key));
+    }
+
+    public boolean mightContain(long key) {
+        return mightContainHash(HashSupport.mix64(key));
+    }
+
+    public boolean mightContain(CharSequence key) {
+        return mightContainHash(HashSupport.hash64(key));
+    }
+
+    // Kirsch-Mitzenmacher: bit i is h1 + i * h2
+    private void addHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    private boolean mightContainHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
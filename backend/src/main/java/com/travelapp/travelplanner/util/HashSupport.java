@@ -0,0 +1,38 @@
+package com.travelapp.travelplanner.util;
+
+final class HashSupport {
+
+    private HashSupport() {
+    }
+
+    // Spreads sequential ids across the table (murmur3 finalizer)
+    static int mix(long key) {
+        return (int) mix64(key);
+    }
+
+    static long mix64(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // FNV-1a over the chars, finalized with mix64
+    static long hash64(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    static int tableSize(int expectedSize, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / loadFactor);
+        int capacity = Integer.highestOneBit((int) Math.min(needed, 1 << 30));
+        return capacity < needed ? capacity << 1 : capacity;
+    }
+}
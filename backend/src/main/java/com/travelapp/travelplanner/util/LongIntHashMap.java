@@ -0,0 +1,190 @@
+package com.travelapp.travelplanner.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing long -> int map with linear probing.
+ * Avoids boxing for hot in-memory indexes. Not thread-safe.
+ */
+public class LongIntHashMap {
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    // key 0 is used as the empty marker, so it is stored separately
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public LongIntHashMap() {
+        this(8);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = HashSupport.tableSize(expectedSize, LOAD_FACTOR);
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    // Returns 0 when the key is absent
+    public int get(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : 0;
+        }
+        int idx = indexOf(key);
+        return idx >= 0 ? values[idx] : 0;
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int idx = slotFor(key);
+        if (keys[idx] == EMPTY) {
+            keys[idx] = key;
+            size++;
+        }
+        values[idx] = value;
+        ensureCapacity();
+    }
+
+    /**
+     * Adds delta to the value of key and returns the new value.
+     * The entry is removed when the value drops to 0 or below.
+     */
+    public int addTo(long key, int delta) {
+        int updated = get(key) + delta;
+        if (updated <= 0) {
+            remove(key);
+            return updated;
+        }
+        put(key, updated);
+        return updated;
+    }
+
+    public void remove(long key) {
+        if (key == EMPTY) {
+            hasZeroKey = false;
+            zeroValue = 0;
+            return;
+        }
+        int idx = indexOf(key);
+        if (idx < 0) {
+            return;
+        }
+        shiftBack(idx);
+        size--;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public long[] keys() {
+        long[] result = new long[size()];
+        int[] pos = {0};
+        forEach((k, v) -> result[pos[0]++] = k);
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    private int indexOf(long key) {
+        int idx = HashSupport.mix(key) & mask;
+        while (keys[idx] != EMPTY) {
+            if (keys[idx] == key) {
+                return idx;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotFor(long key) {
+        int idx = HashSupport.mix(key) & mask;
+        while (keys[idx] != EMPTY && keys[idx] != key) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void shiftBack(int gap) {
+        int idx = gap;
+        while (true) {
+            idx = (idx + 1) & mask;
+            long k = keys[idx];
+            if (k == EMPTY) {
+                break;
+            }
+            int home = HashSupport.mix(k) & mask;
+            if (((idx - home) & mask) >= ((idx - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[idx];
+                gap = idx;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0;
+    }
+
+    private void ensureCapacity() {
+        if (size <= keys.length * LOAD_FACTOR) {
+            return;
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int idx = slotFor(oldKeys[i]);
+                keys[idx] = oldKeys[i];
+                values[idx] = oldValues[i];
+                size++;
+            }
+        }
+    }
+}
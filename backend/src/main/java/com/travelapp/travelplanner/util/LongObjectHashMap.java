@@ -0,0 +1,161 @@
+package com.travelapp.travelplanner.util;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing long -> V map with linear probing, used as the outer
+ * level of sparse in-memory indexes. Not thread-safe.
+ */
+public class LongObjectHashMap<V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    public LongObjectHashMap() {
+        this(8);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = HashSupport.tableSize(expectedSize, LOAD_FACTOR);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int idx = indexOf(key);
+        return idx >= 0 ? (V) values[idx] : null;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null values are not supported");
+        }
+        int idx = slotFor(key);
+        V previous = (V) values[idx];
+        if (previous == null) {
+            keys[idx] = key;
+            size++;
+        }
+        values[idx] = value;
+        ensureCapacity();
+        return previous;
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        V created = factory.apply(key);
+        put(key, created);
+        return created;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int idx = indexOf(key);
+        if (idx < 0) {
+            return null;
+        }
+        V previous = (V) values[idx];
+        shiftBack(idx);
+        size--;
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Occupancy is tracked through values, so every long (including 0) is a valid key
+    private int indexOf(long key) {
+        int idx = HashSupport.mix(key) & mask;
+        while (values[idx] != null) {
+            if (keys[idx] == key) {
+                return idx;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotFor(long key) {
+        int idx = HashSupport.mix(key) & mask;
+        while (values[idx] != null && keys[idx] != key) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    private void shiftBack(int gap) {
+        int idx = gap;
+        while (true) {
+            idx = (idx + 1) & mask;
+            if (values[idx] == null) {
+                break;
+            }
+            int home = HashSupport.mix(keys[idx]) & mask;
+            if (((idx - home) & mask) >= ((idx - gap) & mask)) {
+                keys[gap] = keys[idx];
+                values[gap] = values[idx];
+                gap = idx;
+            }
+        }
+        keys[gap] = 0L;
+        values[gap] = null;
+    }
+
+    private void ensureCapacity() {
+        if (size <= keys.length * LOAD_FACTOR) {
+            return;
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int idx = slotFor(oldKeys[i]);
+                keys[idx] = oldKeys[i];
+                values[idx] = oldValues[i];
+            }
+        }
+    }
+}
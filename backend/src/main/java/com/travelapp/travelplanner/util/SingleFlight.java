@@ -0,0 +1,148 @@
+package com.travelapp.travelplanner.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the
+ * loader, callers arriving while it runs wait for and share its result (or
+ * its exception). Nothing is kept once the load finishes, so this is not a
+ * cache; a caller arriving afterwards starts a new load.
+ *
+ * Each load has a deadline of timeout from its start. Callers waiting on it
+ * give up at the deadline and load on their own, and later callers start a
+ * fresh load instead of joining one that is past it.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final long timeoutNanos;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be > 0");
+        }
+        this.name = name;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        while (true) {
+            Flight<V> flight = new Flight<>(System.nanoTime() + timeoutNanos, new CompletableFuture<>());
+            Flight<V> current = flights.putIfAbsent(key, flight);
+            if (current == null) {
+                return lead(key, flight, loader);
+            }
+            long remaining = current.deadline() - System.nanoTime();
+            if (remaining <= 0) {
+                if (flights.replace(key, current, flight)) {
+                    return lead(key, flight, loader);
+                }
+                continue;
+            }
+            try {
+                V value = current.result().get(remaining, TimeUnit.NANOSECONDS);
+                coalesced.increment();
+                return value;
+            } catch (TimeoutException e) {
+                timeouts.increment();
+                return loader.get();
+            } catch (ExecutionException e) {
+                coalesced.increment();
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for " + name + " load", e);
+            }
+        }
+    }
+
+    // Callers arriving from now on start a new load; call after a write to the key commits
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    // Share of calls answered by another caller's load
+    public double coalescingRatio() {
+        long shared = coalesced.sum();
+        long calls = shared + loads.sum() + timeouts.sum();
+        return calls == 0 ? 0.0 : (double) shared / calls;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.calls", loads, LongAdder::sum)
+                .tag("name", name).tag("outcome", "load")
+                .description("Calls that ran the load themselves")
+                .register(registry);
+        FunctionCounter.builder("singleflight.calls", coalesced, LongAdder::sum)
+                .tag("name", name).tag("outcome", "coalesced")
+                .description("Calls answered by a concurrent caller's load")
+                .register(registry);
+        FunctionCounter.builder("singleflight.calls", timeouts, LongAdder::sum)
+                .tag("name", name).tag("outcome", "timeout")
+                .description("Calls that gave up waiting at the deadline and loaded on their own")
+                .register(registry);
+        Gauge.builder("singleflight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("singleflight.inflight", flights, ConcurrentHashMap::size)
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private record Flight<V>(long deadline, CompletableFuture<V> result) {
+    }
+}
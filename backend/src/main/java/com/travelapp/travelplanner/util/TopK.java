@@ -0,0 +1,104 @@
+package com.travelapp.travelplanner.util;
+
+/**
+ * Bounded min-heap that keeps the k highest-scoring ids without boxing.
+ * Not thread-safe.
+ */
+public class TopK {
+
+    private final int k;
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    public TopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be > 0");
+        }
+        this.k = k;
+        this.ids = new long[k];
+        this.scores = new double[k];
+    }
+
+    public void offer(long id, double score) {
+        if (size < k) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Lowest score currently kept, or -Infinity while the heap is not full
+    public double threshold() {
+        return size < k ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    /**
+     * Drains the heap into the given arrays, highest score first.
+     * Returns the number of entries written.
+     */
+    public int drainDescending(long[] outIds, double[] outScores) {
+        int n = size;
+        for (int i = n - 1; i >= 0; i--) {
+            outIds[i] = ids[0];
+            outScores[i] = scores[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return n;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (less(parent, i)) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int smallest = right < size && less(right, left) ? right : left;
+            if (less(i, smallest)) {
+                break;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    // Ties on score are broken by id so results are stable
+    private boolean less(int a, int b) {
+        if (scores[a] != scores[b]) {
+            return scores[a] < scores[b];
+        }
+        return ids[a] > ids[b];
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,7 @@
+-- BookingRepositoryImpl.search (admin search, keyset pages on created_at, id).
+-- Status and user filters use idx_bookings_status_created and
+-- idx_bookings_user_created, unfiltered pages idx_bookings_created; InnoDB
+-- appends the id to each, so the seek and the order need no sort.
+
+-- Search by destination
+CREATE INDEX idx_bookings_destination_created ON bookings (destination_id, created_at);
@@ -0,0 +1,5 @@
+-- Optimistic version of a booking, bumped by every status change. Status
+-- changes are a single conditional update (BookingRepository.transition)
+-- matching the id, owner, status and version that were read, so a
+-- concurrent change makes it match no row instead of being overwritten.
+ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- WGS84 coordinates of a destination, for the nearby and bounding-box
+-- search (DestinationGeoIndex). Optional: destinations without them are
+-- simply not in the index.
+ALTER TABLE destinations
+    ADD COLUMN latitude  DOUBLE NULL,
+    ADD COLUMN longitude DOUBLE NULL;
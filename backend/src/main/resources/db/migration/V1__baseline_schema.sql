@@ -0,0 +1,49 @@
+-- Baseline schema, equivalent to what ddl-auto=update used to generate.
+-- IF NOT EXISTS lets databases created by Hibernate adopt migrations
+-- (see spring.flyway.baseline-version).
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255) NULL,
+    email         VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role          ENUM ('USER', 'ADMIN') NOT NULL,
+    active        BIT(1)       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS destinations (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255)  NOT NULL,
+    country     VARCHAR(255)  NULL,
+    city        VARCHAR(255)  NULL,
+    description VARCHAR(2000) NULL,
+    image_url   VARCHAR(255)  NULL,
+    price       DOUBLE        NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id        BIGINT      NOT NULL,
+    destination_id BIGINT      NOT NULL,
+    start_date     DATE        NOT NULL,
+    end_date       DATE        NOT NULL,
+    travelers      INT         NOT NULL,
+    status         ENUM ('PENDING', 'CONFIRMED', 'CANCELLED') NOT NULL,
+    created_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_destination FOREIGN KEY (destination_id) REFERENCES destinations (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS favorites (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    user_id        BIGINT NOT NULL,
+    destination_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_favorites_user_destination UNIQUE (user_id, destination_id),
+    CONSTRAINT fk_favorites_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_favorites_destination FOREIGN KEY (destination_id) REFERENCES destinations (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,17 @@
+-- One index per repository query path. BookingQueryPlanTest checks that
+-- these stay in use.
+
+-- BookingRepository.findByUser_IdOrderByCreatedAtDesc (user booking list)
+CREATE INDEX idx_bookings_user_created ON bookings (user_id, created_at);
+
+-- BookingRepository.findAllByOrderByCreatedAtDesc (admin list)
+CREATE INDEX idx_bookings_created ON bookings (created_at, id);
+
+-- Admin filtering by status, newest first
+CREATE INDEX idx_bookings_status_created ON bookings (status, created_at);
+
+-- BookingRepository.findByDestination_IdAndStartDateBetween (date-range lookups)
+CREATE INDEX idx_bookings_destination_start ON bookings (destination_id, start_date);
+
+-- FavoritesRepository.findByUser_Id and the exists/find by user+destination
+-- lookups are served by uk_favorites_user_destination.
@@ -0,0 +1,19 @@
+-- Idempotency-Key records of POST /api/bookings (BookingIdempotencyService).
+-- A key is scoped to its user and points at the booking it created.
+
+CREATE TABLE booking_idempotency_keys (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id             BIGINT       NOT NULL,
+    idempotency_key     VARCHAR(100) NOT NULL,
+    request_fingerprint VARCHAR(255) NOT NULL,
+    booking_id          BIGINT       NOT NULL,
+    created_at          DATETIME(6)  NOT NULL,
+    expires_at          DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_booking_idempotency_user_key UNIQUE (user_id, idempotency_key),
+    CONSTRAINT fk_booking_idempotency_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_booking_idempotency_booking FOREIGN KEY (booking_id) REFERENCES bookings (id)
+) ENGINE = InnoDB;
+
+-- Purge of expired keys
+CREATE INDEX idx_booking_idempotency_expires ON booking_idempotency_keys (expires_at);
@@ -0,0 +1,37 @@
+-- Refresh tokens (AuthService) and the token revocation log that
+-- TokenRevocationService mirrors in memory.
+
+-- Only the SHA-256 of a refresh token is stored. Rotation sets revoked_at.
+CREATE TABLE refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT      NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+-- RefreshTokenRepository.revokeAllForUser
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id, revoked_at);
+-- Purge of expired tokens
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
+
+-- One row per revoked access token (token_id = jti) or per user whose
+-- tokens issued up to revoked_at are all revoked (user_id). A row is only
+-- needed until every access token it can match has expired (expires_at).
+CREATE TABLE token_revocations (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    token_id   VARCHAR(36) NULL,
+    user_id    BIGINT      NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Incremental polling (TokenRevocationRepository.findByRevokedAtGreaterThanEqual)
+CREATE INDEX idx_token_revocations_revoked ON token_revocations (revoked_at);
+-- Startup load and purge
+CREATE INDEX idx_token_revocations_expires ON token_revocations (expires_at);
@@ -0,0 +1,32 @@
+-- Archive of bookings moved out of the hot table by BookingArchiveService,
+-- plus the checkpoint that lets an interrupted pass resume.
+
+CREATE TABLE bookings_archive (
+    id             BIGINT      NOT NULL,
+    user_id        BIGINT      NOT NULL,
+    destination_id BIGINT      NOT NULL,
+    start_date     DATE        NOT NULL,
+    end_date       DATE        NOT NULL,
+    travelers      INT         NOT NULL,
+    status         ENUM ('PENDING', 'CONFIRMED', 'CANCELLED') NOT NULL,
+    created_at     DATETIME(6) NOT NULL,
+    archived_at    DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_archive_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_archive_destination FOREIGN KEY (destination_id) REFERENCES destinations (id)
+) ENGINE = InnoDB;
+
+-- Read-through history views (BookingArchiveRepository.findByUser_IdOrderByCreatedAtDesc)
+CREATE INDEX idx_bookings_archive_user_created ON bookings_archive (user_id, created_at);
+-- Admin history list
+CREATE INDEX idx_bookings_archive_created ON bookings_archive (created_at, id);
+
+-- last_id: highest booking id handled by the current pass (0 = start a new pass)
+CREATE TABLE archive_checkpoints (
+    job_name   VARCHAR(64) NOT NULL,
+    last_id    BIGINT      NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (job_name)
+) ENGINE = InnoDB;
+
+INSERT INTO archive_checkpoints (job_name, last_id, updated_at) VALUES ('booking-archive', 0, NOW(6));
@@ -0,0 +1,14 @@
+-- Change log of cached entities (CacheInvalidationService). Each instance
+-- polls rows past its high-water mark and evicts its own copies; rows are
+-- purged once every instance has had time to see them.
+CREATE TABLE cache_invalidations (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    origin      VARCHAR(36) NOT NULL,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Polling walks the primary key; this one serves the purge
+CREATE INDEX idx_cache_invalidations_created ON cache_invalidations (created_at);
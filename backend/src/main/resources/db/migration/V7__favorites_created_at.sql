@@ -0,0 +1,6 @@
+-- When a favorite was added, for the trending counters (TrendingService).
+-- Existing favorites keep NULL: their time is unknown, so they never count as recent.
+ALTER TABLE favorites ADD COLUMN created_at DATETIME(6) NULL;
+
+-- FavoritesRepository.findDestinationActivitySince
+CREATE INDEX idx_favorites_created ON favorites (created_at);
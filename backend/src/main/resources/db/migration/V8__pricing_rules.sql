@@ -0,0 +1,21 @@
+-- Pricing rules compiled into per-destination rate tables (PricingService).
+-- destination_id NULL: the rule applies to every destination.
+--   SEASON    multiplies the daily rate from start_date to end_date (inclusive)
+--   WEEKDAY   multiplies the daily rate on day_of_week (1 = Monday)
+--   OCCUPANCY multiplies the stay total for parties of at least min_travelers
+CREATE TABLE pricing_rules (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    destination_id BIGINT        NULL,
+    name           VARCHAR(100)  NOT NULL,
+    kind           VARCHAR(16)   NOT NULL,
+    start_date     DATE          NULL,
+    end_date       DATE          NULL,
+    day_of_week    INT           NULL,
+    min_travelers  INT           NULL,
+    multiplier     DOUBLE        NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pricing_rules_destination FOREIGN KEY (destination_id) REFERENCES destinations (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- PricingRuleRepository.findByDestinationIdOrDestinationIdIsNull
+CREATE INDEX idx_pricing_rules_destination ON pricing_rules (destination_id);
@@ -0,0 +1,37 @@
+-- Price of every booking, set at creation from the pricing engine. Existing
+-- bookings get the base-price estimate (price per traveler and night, a
+-- same-day trip counting as one), so revenue rollups cover them as well.
+ALTER TABLE bookings ADD COLUMN total_price DECIMAL(12, 2) NULL;
+ALTER TABLE bookings_archive ADD COLUMN total_price DECIMAL(12, 2) NULL;
+
+UPDATE bookings b JOIN destinations d ON d.id = b.destination_id
+SET b.total_price = ROUND(d.price * b.travelers * GREATEST(DATEDIFF(b.end_date, b.start_date), 1), 2)
+WHERE b.total_price IS NULL;
+
+UPDATE bookings_archive b JOIN destinations d ON d.id = b.destination_id
+SET b.total_price = ROUND(d.price * b.travelers * GREATEST(DATEDIFF(b.end_date, b.start_date), 1), 2)
+WHERE b.total_price IS NULL;
+
+-- Bookings per creation day, destination and current status (BookingRollupService).
+-- Kept up to date in the transaction of every booking write; the backfill
+-- rebuilds any range of days from bookings and bookings_archive.
+CREATE TABLE booking_daily_rollups (
+    day            DATE           NOT NULL,
+    destination_id BIGINT         NOT NULL,
+    status         VARCHAR(16)    NOT NULL,
+    bookings       INT            NOT NULL,
+    travelers      INT            NOT NULL,
+    revenue        DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (day, destination_id, status)
+) ENGINE = InnoDB;
+
+-- Time series of one destination (BookingRollupRepository.findDestinationSeries)
+CREATE INDEX idx_booking_daily_rollups_destination ON booking_daily_rollups (destination_id, day);
+
+-- Initial fill; later rebuilds go through the backfill job
+INSERT INTO booking_daily_rollups (day, destination_id, status, bookings, travelers, revenue)
+SELECT DATE(created_at), destination_id, status, COUNT(*), SUM(travelers), COALESCE(SUM(total_price), 0)
+FROM (SELECT created_at, destination_id, status, travelers, total_price FROM bookings
+      UNION ALL
+      SELECT created_at, destination_id, status, travelers, total_price FROM bookings_archive) b
+GROUP BY DATE(created_at), destination_id, status;
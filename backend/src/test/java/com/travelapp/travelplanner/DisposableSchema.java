@@ -0,0 +1,31 @@
+package com.travelapp.travelplanner;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Points a test context at its own database instead of the development one.
+ * The configured URL creates a missing database on connect and Flyway
+ * migrates it on startup; the test drops it when done.
+ */
+public final class DisposableSchema {
+
+	private DisposableSchema() {
+	}
+
+	// Call from a @DynamicPropertySource method; pair with @DirtiesContext so the context is not reused
+	public static void use(DynamicPropertyRegistry registry, String schema) {
+		String url;
+		try {
+			url = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))
+					.getProperty("spring.datasource.url");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		registry.add("spring.datasource.url", () -> url.replaceFirst("/[^/?]+\\?", "/" + schema + "?"));
+	}
+}
@@ -0,0 +1,78 @@
+package com.travelapp.travelplanner;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Content negotiation of the list endpoints: Smile and CBOR only for a
+ * matching Accept header, JSON for everything else a browser or plain
+ * client sends, 406 for formats the API does not speak.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ListPayloadNegotiationTest {
+
+	private static final String LIST = "/api/destinations";
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void smileForSmileAccept() throws Exception {
+		MvcResult result = mockMvc.perform(get(LIST).accept(SMILE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(SMILE))
+				.andReturn();
+
+		JsonNode body = SmileMapper.builder().build().readTree(result.getResponse().getContentAsByteArray());
+		assertThat(body.isArray()).isTrue();
+	}
+
+	@Test
+	void cborForCborAccept() throws Exception {
+		MvcResult result = mockMvc.perform(get(LIST).accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+				.andReturn();
+
+		JsonNode body = CBORMapper.builder().build().readTree(result.getResponse().getContentAsByteArray());
+		assertThat(body.isArray()).isTrue();
+	}
+
+	@Test
+	void jsonWithoutAccept() throws Exception {
+		mockMvc.perform(get(LIST))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void jsonForBrowserAccept() throws Exception {
+		mockMvc.perform(get(LIST).header(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml,*/*;q=0.8"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void notAcceptableForUnsupportedFormat() throws Exception {
+		mockMvc.perform(get(LIST).accept(MediaType.APPLICATION_XML))
+				.andExpect(status().isNotAcceptable());
+	}
+}
@@ -0,0 +1,62 @@
+package com.travelapp.travelplanner;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The prod profile initializes beans lazily, and a bean's @Scheduled
+ * methods are only registered once it exists. Every bean with scheduled
+ * jobs must therefore be @Lazy(false), or its jobs never run on an
+ * instance that happens not to serve the requests that would create it.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileSchedulingTests {
+
+	@Autowired
+	private List<ScheduledTaskHolder> taskHolders;
+
+	@Test
+	void everyScheduledMethodIsRegisteredAtStartup() throws ClassNotFoundException {
+		Set<String> registered = new TreeSet<>();
+		for (ScheduledTaskHolder holder : taskHolders) {
+			for (ScheduledTask task : holder.getScheduledTasks()) {
+				// The method runnable is wrapped; its description is the qualified method name
+				registered.add(task.toString());
+			}
+		}
+
+		assertThat(registered).containsAll(scheduledMethods());
+	}
+
+	// Every @Scheduled method declared by a component of the application
+	private static Set<String> scheduledMethods() throws ClassNotFoundException {
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(true);
+		Set<String> methods = new TreeSet<>();
+		for (BeanDefinition component : scanner.findCandidateComponents(TravelplannerApplication.class.getPackageName())) {
+			Class<?> type = ClassUtils.forName(component.getBeanClassName(), ProdProfileSchedulingTests.class.getClassLoader());
+			for (Method method : type.getDeclaredMethods()) {
+				if (method.isAnnotationPresent(Scheduled.class)) {
+					methods.add(type.getName() + "." + method.getName());
+				}
+			}
+		}
+		assertThat(methods).as("scheduled methods found by the scan").isNotEmpty();
+		return methods;
+	}
+}
@@ -0,0 +1,28 @@
+package com.travelapp.travelplanner.booking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingCursorTest {
+
+	@Test
+	void decodeReturnsTheEncodedPosition() {
+		BookingCursor cursor = new BookingCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000), 42);
+
+		String token = cursor.encode();
+
+		assertThat(token).doesNotContain("=", "+", "/");
+		assertThat(BookingCursor.decode(token)).isEqualTo(cursor);
+	}
+
+	@Test
+	void malformedTokensAreRejected() {
+		assertThatThrownBy(() -> BookingCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BookingCursor.decode("bm8tc2VwYXJhdG9y")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BookingCursor.decode("eHx5")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,28 @@
+package com.travelapp.travelplanner.booking.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingStatusTest {
+
+	@Test
+	void openBookingsCanBeConfirmedReopenedOrCancelled() {
+		assertThat(BookingStatus.PENDING.next()).containsExactlyInAnyOrder(BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+		assertThat(BookingStatus.CONFIRMED.next()).containsExactlyInAnyOrder(BookingStatus.PENDING, BookingStatus.CANCELLED);
+	}
+
+	@Test
+	void cancelledIsFinal() {
+		for (BookingStatus target : BookingStatus.values()) {
+			assertThat(BookingStatus.CANCELLED.canMoveTo(target)).isFalse();
+		}
+	}
+
+	@Test
+	void noStatusMovesToItself() {
+		for (BookingStatus status : BookingStatus.values()) {
+			assertThat(status.canMoveTo(status)).isFalse();
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package com.travelapp.travelplanner.booking.repository;
+
+import com.travelapp.travelplanner.DisposableSchema;
+import com.travelapp.travelplanner.booking.dto.BookingSearchCriteria;
+import com.travelapp.travelplanner.booking.model.BookingCursor;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the hot-path indexes from V2__hot_path_indexes.sql and
+ * V10__booking_search_indexes.sql: each test calls a repository method,
+ * captures the SQL Hibernate generated for it and EXPLAINs that, which
+ * must be answered through an index, without a full table scan or a
+ * filesort.
+ *
+ * Runs against its own schema, created and migrated on startup and dropped
+ * afterwards, so the seeded bookings never reach the development database.
+ */
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingQueryPlanTest {
+
+	private static final String SCHEMA = "travelplanner_query_plans";
+	private static final int USERS = 40;
+	private static final int DESTINATIONS = 20;
+	private static final int BOOKINGS = 4000;
+	private static final int PAGE = 51;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private SqlCapture sqlCapture;
+
+	private final List<Long> userIds = new ArrayList<>();
+	private final List<Long> destinationIds = new ArrayList<>();
+
+	@DynamicPropertySource
+	static void disposableSchema(DynamicPropertyRegistry registry) {
+		DisposableSchema.use(registry, SCHEMA);
+	}
+
+	@BeforeAll
+	void seed() {
+		assertThat(jdbcTemplate.queryForObject("select database()", String.class)).isEqualTo(SCHEMA);
+
+		for (int i = 0; i < USERS; i++) {
+			jdbcTemplate.update("insert into users (name, email, password_hash, role, active) values (?, ?, 'x', 'USER', 1)",
+					"Plan user " + i, "plan-" + i + "@example.com");
+			userIds.add(jdbcTemplate.queryForObject("select last_insert_id()", Long.class));
+		}
+		for (int i = 0; i < DESTINATIONS; i++) {
+			jdbcTemplate.update("insert into destinations (name, price) values (?, 100)", "Plan destination " + i);
+			destinationIds.add(jdbcTemplate.queryForObject("select last_insert_id()", Long.class));
+		}
+
+		String[] statuses = {"PENDING", "CONFIRMED", "CANCELLED"};
+		LocalDate firstDay = LocalDate.of(2020, 1, 1);
+		LocalDateTime firstCreated = LocalDateTime.of(2020, 1, 1, 0, 0);
+		List<Object[]> rows = new ArrayList<>(BOOKINGS);
+		for (int i = 0; i < BOOKINGS; i++) {
+			LocalDate start = firstDay.plusDays(i % 1500);
+			rows.add(new Object[]{
+					userIds.get(i % USERS),
+					destinationIds.get(i % DESTINATIONS),
+					Date.valueOf(start),
+					Date.valueOf(start.plusDays(3)),
+					statuses[i % statuses.length],
+					Timestamp.valueOf(firstCreated.plusHours(i))
+			});
+		}
+		jdbcTemplate.batchUpdate("insert into bookings (user_id, destination_id, start_date, end_date, travelers, status, created_at) " +
+				"values (?, ?, ?, ?, 1, ?, ?)", rows);
+		jdbcTemplate.execute("analyze table bookings");
+	}
+
+	@AfterAll
+	void dropSchema() {
+		jdbcTemplate.execute("drop database if exists " + SCHEMA);
+	}
+
+	@Test
+	void userBookingListUsesUserCreatedIndex() {
+		Long userId = userIds.get(0);
+		assertIndexedWithoutSort(() -> bookingRepository.findByUser_IdOrderByCreatedAtDesc(userId), userId);
+	}
+
+	@Test
+	void adminListPageUsesCreatedIndex() {
+		assertIndexedWithoutSort(() -> bookingRepository.search(criteria(null, null, null), false, null, PAGE), PAGE);
+	}
+
+	@Test
+	void adminStatusFilterUsesStatusIndex() {
+		assertIndexedWithoutSort(() -> bookingRepository.search(criteria(BookingStatus.PENDING, null, null), false, null, PAGE),
+				"PENDING", PAGE);
+	}
+
+	@Test
+	void destinationDateRangeUsesDestinationStartIndex() {
+		Long destinationId = destinationIds.get(0);
+		LocalDate from = LocalDate.of(2021, 1, 1);
+		LocalDate to = LocalDate.of(2021, 2, 1);
+		assertIndexedWithoutSort(
+				() -> bookingRepository.findByDestination_IdAndStartDateBetweenOrderByStartDate(destinationId, from, to),
+				destinationId, Date.valueOf(from), Date.valueOf(to));
+	}
+
+	@Test
+	void searchNextPageUsesCreatedIndex() {
+		BookingCursor after = new BookingCursor(LocalDateTime.of(2020, 3, 1, 0, 0), Long.MAX_VALUE);
+		Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+		assertIndexedWithoutSort(() -> bookingRepository.search(criteria(null, null, null), false, after, PAGE),
+				createdAt, createdAt, after.id(), PAGE);
+	}
+
+	@Test
+	void searchByStatusSeeksInStatusIndex() {
+		BookingCursor after = new BookingCursor(LocalDateTime.of(2020, 3, 1, 0, 0), Long.MAX_VALUE);
+		Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+		assertIndexedWithoutSort(() -> bookingRepository.search(criteria(BookingStatus.PENDING, null, null), false, after, PAGE),
+				"PENDING", createdAt, createdAt, after.id(), PAGE);
+	}
+
+	@Test
+	void searchByDestinationUsesDestinationCreatedIndex() {
+		Long destinationId = destinationIds.get(0);
+		BookingCursor after = new BookingCursor(LocalDateTime.of(2020, 3, 1, 0, 0), 0L);
+		Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+		assertIndexedWithoutSort(() -> bookingRepository.search(criteria(null, destinationId, null), true, after, PAGE),
+				destinationId, createdAt, createdAt, after.id(), PAGE);
+	}
+
+	@Test
+	void searchByUserUsesUserCreatedIndex() {
+		Long userId = userIds.get(0);
+		assertIndexedWithoutSort(() -> bookingRepository.search(criteria(null, null, userId), false, null, PAGE),
+				userId, PAGE);
+	}
+
+	/**
+	 * Runs the repository call, then EXPLAINs the bookings query it sent with
+	 * the given values for its parameters, in order.
+	 */
+	private void assertIndexedWithoutSort(Runnable repositoryCall, Object... args) {
+		sqlCapture.clear();
+		repositoryCall.run();
+		String sql = sqlCapture.statements().stream()
+				.filter(statement -> statement.startsWith("select") && statement.contains(" from bookings "))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("No bookings query among " + sqlCapture.statements()));
+		assertThat(sql.chars().filter(c -> c == '?').count()).as("parameters of %s", sql).isEqualTo(args.length);
+
+		List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, args);
+		assertThat(plan).isNotEmpty();
+		for (Map<String, Object> row : plan) {
+			assertThat(row.get("type")).as("access type for %s", sql).isNotEqualTo("ALL");
+			assertThat(row.get("key")).as("index for %s", sql).isNotNull();
+			assertThat(String.valueOf(row.get("Extra"))).as("extra for %s", sql).doesNotContain("filesort");
+		}
+	}
+
+	private static BookingSearchCriteria criteria(BookingStatus status, Long destinationId, Long userId) {
+		return new BookingSearchCriteria(status, destinationId, userId, null, null, null, null);
+	}
+
+	// Records every statement Hibernate prepares
+	static class SqlCapture implements StatementInspector {
+
+		private final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+
+		List<String> statements() {
+			return statements;
+		}
+
+		void clear() {
+			statements.clear();
+		}
+	}
+
+	@TestConfiguration
+	static class SqlCaptureConfig {
+
+		@Bean
+		SqlCapture sqlCapture() {
+			return new SqlCapture();
+		}
+
+		@Bean
+		HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+		}
+	}
+}
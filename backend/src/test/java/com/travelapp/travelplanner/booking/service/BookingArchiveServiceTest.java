@@ -0,0 +1,202 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.travelapp.travelplanner.DisposableSchema;
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.ArchiveCheckpointRepository;
+import com.travelapp.travelplanner.booking.repository.BookingArchiveRepository;
+import com.travelapp.travelplanner.booking.repository.BookingIdempotencyKeyRepository;
+import com.travelapp.travelplanner.booking.repository.BookingRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Archive passes over bookings in a schema of their own. Bookings are
+ * inserted directly with past creation times, as the job only takes
+ * bookings older than min-age.
+ */
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingArchiveServiceTest {
+
+	private static final String SCHEMA = "travelplanner_archive";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private BookingArchiveRepository archiveRepository;
+
+	@Autowired
+	private BookingIdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Autowired
+	private ArchiveCheckpointRepository checkpointRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long userId;
+	private Long destinationId;
+
+	@DynamicPropertySource
+	static void disposableSchema(DynamicPropertyRegistry registry) {
+		DisposableSchema.use(registry, SCHEMA);
+	}
+
+	@BeforeAll
+	void seed() {
+		assertThat(jdbcTemplate.queryForObject("select database()", String.class)).isEqualTo(SCHEMA);
+
+		jdbcTemplate.update("insert into users (name, email, password_hash, role, active) values ('Archive user', 'archive@example.com', 'x', 'USER', 1)");
+		userId = jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+		jdbcTemplate.update("insert into destinations (name, price) values ('Archive destination', 100)");
+		destinationId = jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+	}
+
+	@BeforeEach
+	void clear() {
+		jdbcTemplate.update("delete from bookings_archive");
+		jdbcTemplate.update("delete from bookings");
+		jdbcTemplate.update("update archive_checkpoints set last_id = 0 where job_name = ?", BookingArchiveService.JOB_NAME);
+	}
+
+	@AfterAll
+	void dropSchema() {
+		jdbcTemplate.execute("drop database if exists " + SCHEMA);
+	}
+
+	@Test
+	void movesOnlyFinishedAndCancelledBookings() {
+		LocalDate today = LocalDate.now();
+		Long finished = booking(today.minusDays(40), BookingStatus.CONFIRMED, 60);
+		Long recentlyFinished = booking(today.minusDays(10), BookingStatus.CONFIRMED, 60);
+		Long upcoming = booking(today.plusDays(20), BookingStatus.PENDING, 60);
+		Long cancelled = booking(today.plusDays(20), BookingStatus.CANCELLED, 60);
+		// Younger than min-age: its idempotency key may still be replayed
+		Long cancelledJustNow = booking(today.plusDays(20), BookingStatus.CANCELLED, 1);
+
+		assertThat(archiver(500, 200).archive()).isEqualTo(2);
+
+		assertThat(hotIds()).containsExactly(recentlyFinished, upcoming, cancelledJustNow);
+		assertThat(archivedIds()).containsExactly(finished, cancelled);
+		assertThat(jdbcTemplate.queryForObject("select status from bookings_archive where id = ?", String.class, cancelled))
+				.isEqualTo("CANCELLED");
+		assertThat(checkpoint()).isZero();
+	}
+
+	@Test
+	void rerunAfterAnInterruptedPassNeitherDuplicatesNorLoses() {
+		LocalDate ended = LocalDate.now().minusDays(40);
+		List<Long> archivable = new ArrayList<>();
+		List<Long> kept = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			archivable.add(booking(ended, BookingStatus.CONFIRMED, 60));
+			kept.add(booking(LocalDate.now().plusDays(20), BookingStatus.PENDING, 60));
+		}
+
+		// A pass stopped after its first batch
+		assertThat(archiver(2, 1).archive()).isEqualTo(2);
+		assertThat(archivedIds()).containsExactlyElementsOf(archivable.subList(0, 2));
+		assertThat(checkpoint()).isEqualTo(archivable.get(1));
+
+		// A batch that fails half way rolls back as a whole, checkpoint included
+		BookingIdempotencyKeyRepository failing = mock(BookingIdempotencyKeyRepository.class, delegatesTo(idempotencyKeyRepository));
+		doThrow(new IllegalStateException("connection lost")).when(failing).deleteByBookingIdIn(anyList());
+		assertThatThrownBy(() -> archiver(failing, 2, 10).archive()).isInstanceOf(IllegalStateException.class);
+		assertThat(archivedIds()).containsExactlyElementsOf(archivable.subList(0, 2));
+		assertThat(checkpoint()).isEqualTo(archivable.get(1));
+
+		// The rerun resumes from the checkpoint and finishes the pass
+		assertThat(archiver(2, 10).archive()).isEqualTo(3);
+		assertThat(archivedIds()).containsExactlyElementsOf(archivable);
+		assertThat(hotIds()).containsExactlyElementsOf(kept);
+		assertThat(checkpoint()).isZero();
+
+		// A new pass finds nothing left to move
+		assertThat(archiver(2, 10).archive()).isZero();
+		assertThat(archivedIds()).hasSize(5);
+	}
+
+	@Test
+	void archivedBookingsAreReadThrough() {
+		Long archived = booking(LocalDate.now().minusDays(40), BookingStatus.CONFIRMED, 60);
+		Long hot = booking(LocalDate.now().plusDays(20), BookingStatus.PENDING, 50);
+		assertThat(archiver(500, 200).archive()).isEqualTo(1);
+
+		BookingResponse single = bookingService.getUserBooking(userId, archived);
+		assertThat(single.getId()).isEqualTo(archived);
+		assertThat(single.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+		assertThat(single.getVersion()).isNull();
+
+		assertThat(bookingService.getUserBookings(userId, true))
+				.extracting(BookingResponse::getId)
+				.containsExactly(hot, archived);
+		assertThat(bookingService.getUserBookings(userId, false))
+				.extracting(BookingResponse::getId)
+				.containsExactly(hot);
+	}
+
+	// A booking created daysAgo days ago, ending on endDate
+	private Long booking(LocalDate endDate, BookingStatus status, int daysAgo) {
+		jdbcTemplate.update("insert into bookings (user_id, destination_id, start_date, end_date, travelers, status, total_price, created_at) " +
+						"values (?, ?, ?, ?, 2, ?, 600, ?)",
+				userId, destinationId, Date.valueOf(endDate.minusDays(3)), Date.valueOf(endDate), status.name(),
+				Timestamp.valueOf(LocalDateTime.now().minusDays(daysAgo)));
+		return jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+	}
+
+	private BookingArchiveService archiver(int batchSize, int maxBatches) {
+		return archiver(idempotencyKeyRepository, batchSize, maxBatches);
+	}
+
+	private BookingArchiveService archiver(BookingIdempotencyKeyRepository keyRepository, int batchSize, int maxBatches) {
+		return new BookingArchiveService(bookingRepository, archiveRepository, keyRepository, checkpointRepository,
+				transactionTemplate, true, batchSize, maxBatches, Duration.ZERO, 30, Duration.ofDays(7));
+	}
+
+	private List<Long> hotIds() {
+		return jdbcTemplate.queryForList("select id from bookings order by id", Long.class);
+	}
+
+	private List<Long> archivedIds() {
+		return jdbcTemplate.queryForList("select id from bookings_archive order by id", Long.class);
+	}
+
+	private long checkpoint() {
+		return jdbcTemplate.queryForObject("select last_id from archive_checkpoints where job_name = ?",
+				Long.class, BookingArchiveService.JOB_NAME);
+	}
+}
@@ -0,0 +1,146 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.travelapp.travelplanner.DisposableSchema;
+import com.travelapp.travelplanner.booking.dto.BookingRequest;
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.repository.BookingIdempotencyKeyRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent POST /api/bookings retries with one Idempotency-Key, against
+ * its own schema: whichever call runs first, and whether the duplicates
+ * reach the same instance or another one, one booking row is created and
+ * every call returns it.
+ */
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingIdempotencyConcurrencyTest {
+
+	private static final String SCHEMA = "travelplanner_idempotency";
+	private static final int CALLS = 8;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookingIdempotencyService idempotencyService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private BookingIdempotencyKeyRepository keyRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long userId;
+	private Long destinationId;
+
+	@DynamicPropertySource
+	static void disposableSchema(DynamicPropertyRegistry registry) {
+		DisposableSchema.use(registry, SCHEMA);
+	}
+
+	@BeforeAll
+	void seed() {
+		assertThat(jdbcTemplate.queryForObject("select database()", String.class)).isEqualTo(SCHEMA);
+
+		jdbcTemplate.update("insert into users (name, email, password_hash, role, active) values ('Retry user', 'retry@example.com', 'x', 'USER', 1)");
+		userId = jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+		jdbcTemplate.update("insert into destinations (name, price) values ('Retry destination', 100)");
+		destinationId = jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+	}
+
+	@AfterAll
+	void dropSchema() {
+		jdbcTemplate.execute("drop database if exists " + SCHEMA);
+	}
+
+	@Test
+	void concurrentRetriesOnOneInstanceCreateOneBooking() throws Exception {
+		List<BookingResponse> responses = callConcurrently("same-instance", ignored -> idempotencyService);
+
+		assertOneBooking("same-instance", responses);
+	}
+
+	@Test
+	void concurrentRetriesAcrossInstancesCreateOneBooking() throws Exception {
+		// Each call gets its own in-memory cache, so only the stored key can deduplicate them
+		List<BookingResponse> responses = callConcurrently("across-instances", ignored -> new BookingIdempotencyService(
+				bookingService, keyRepository, transactionTemplate, Duration.ofHours(24), 1000, Duration.ofSeconds(10)));
+
+		assertOneBooking("across-instances", responses);
+	}
+
+	private List<BookingResponse> callConcurrently(String key, IntFunction<BookingIdempotencyService> instance)
+			throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(CALLS);
+		try {
+			List<Future<BookingResponse>> futures = new ArrayList<>();
+			for (int i = 0; i < CALLS; i++) {
+				BookingIdempotencyService service = instance.apply(i);
+				Callable<BookingResponse> call = () -> {
+					start.await();
+					return service.createBooking(userId, key, request());
+				};
+				futures.add(executor.submit(call));
+			}
+			start.countDown();
+
+			List<BookingResponse> responses = new ArrayList<>();
+			for (Future<BookingResponse> future : futures) {
+				responses.add(future.get());
+			}
+			return responses;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void assertOneBooking(String key, List<BookingResponse> responses) {
+		Long bookingId = jdbcTemplate.queryForObject(
+				"select booking_id from booking_idempotency_keys where user_id = ? and idempotency_key = ?",
+				Long.class, userId, key);
+		assertThat(responses).extracting(BookingResponse::getId).containsOnly(bookingId);
+		assertThat(jdbcTemplate.queryForList("select id from bookings where user_id = ?", Long.class, userId))
+				.containsExactly(bookingId);
+
+		jdbcTemplate.update("delete from booking_idempotency_keys where user_id = ?", userId);
+		jdbcTemplate.update("delete from bookings where user_id = ?", userId);
+	}
+
+	private BookingRequest request() {
+		BookingRequest request = new BookingRequest();
+		request.setDestinationId(destinationId);
+		request.setStartDate(LocalDate.of(2030, 6, 1));
+		request.setEndDate(LocalDate.of(2030, 6, 8));
+		request.setTravelers(2);
+		return request;
+	}
+}
@@ -0,0 +1,170 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.travelapp.travelplanner.booking.dto.BookingRequest;
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.model.BookingIdempotencyKey;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.BookingIdempotencyKeyRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingIdempotencyServiceTest {
+
+	private static final Long USER = 7L;
+	private static final String KEY = "checkout-1";
+
+	private final BookingService bookingService = mock(BookingService.class);
+	private final BookingIdempotencyKeyRepository keyRepository = mock(BookingIdempotencyKeyRepository.class);
+
+	// booking_idempotency_keys, by idempotency key
+	private final Map<String, BookingIdempotencyKey> stored = new HashMap<>();
+	private long nextBookingId = 100;
+
+	@BeforeEach
+	void setUp() {
+		when(keyRepository.findByUserIdAndKey(eq(USER), anyString()))
+				.thenAnswer(call -> Optional.ofNullable(stored.get(call.<String>getArgument(1))));
+		when(keyRepository.saveAndFlush(any())).thenAnswer(call -> {
+			BookingIdempotencyKey key = call.getArgument(0);
+			stored.put(key.getKey(), key);
+			return key;
+		});
+		when(bookingService.createBooking(eq(USER), any())).thenAnswer(call -> booking(nextBookingId++));
+		when(bookingService.getUserBooking(eq(USER), anyLong())).thenAnswer(call -> booking(call.getArgument(1)));
+	}
+
+	@Test
+	void retryIsAnsweredFromTheCache() {
+		BookingIdempotencyService service = newService();
+
+		BookingResponse first = service.createBooking(USER, KEY, request(2));
+		BookingResponse retry = service.createBooking(USER, KEY, request(2));
+
+		assertThat(retry).isSameAs(first);
+		verify(bookingService, times(1)).createBooking(eq(USER), any());
+		verify(keyRepository, times(1)).findByUserIdAndKey(USER, KEY);
+		assertThat(stored.get(KEY).getBookingId()).isEqualTo(first.getId());
+	}
+
+	@Test
+	void retryAfterACacheMissIsAnsweredFromTheStoredKey() {
+		BookingResponse first = newService().createBooking(USER, KEY, request(2));
+
+		// Another instance, or this one after a restart
+		BookingResponse retry = newService().createBooking(USER, KEY, request(2));
+
+		assertThat(retry.getId()).isEqualTo(first.getId());
+		verify(bookingService, times(1)).createBooking(eq(USER), any());
+		verify(bookingService).getUserBooking(USER, first.getId());
+	}
+
+	@Test
+	void expiredStoredKeyCreatesANewBooking() {
+		BookingResponse first = newService().createBooking(USER, KEY, request(2));
+		stored.get(KEY).setExpiresAt(LocalDateTime.now().minusMinutes(1));
+
+		BookingResponse second = newService().createBooking(USER, KEY, request(2));
+
+		assertThat(second.getId()).isNotEqualTo(first.getId());
+		verify(keyRepository).delete(any());
+		assertThat(stored.get(KEY).getBookingId()).isEqualTo(second.getId());
+	}
+
+	@Test
+	void keyReusedForADifferentRequestIsRejected() {
+		BookingIdempotencyService service = newService();
+		service.createBooking(USER, KEY, request(2));
+
+		assertThatThrownBy(() -> service.createBooking(USER, KEY, request(3)))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageContaining("different booking request");
+		assertThatThrownBy(() -> newService().createBooking(USER, KEY, request(3)))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageContaining("different booking request");
+		verify(bookingService, times(1)).createBooking(eq(USER), any());
+	}
+
+	@Test
+	void storedKeyLoadedForADifferentRequestStaysCached() {
+		BookingResponse first = newService().createBooking(USER, KEY, request(2));
+		BookingIdempotencyService service = newService();
+
+		assertThatThrownBy(() -> service.createBooking(USER, KEY, request(3)))
+				.isInstanceOf(BadRequestException.class);
+		BookingResponse retry = service.createBooking(USER, KEY, request(2));
+
+		// The rejected request loaded the stored key once; the matching retry reuses it
+		assertThat(retry.getId()).isEqualTo(first.getId());
+		verify(keyRepository, times(2)).findByUserIdAndKey(USER, KEY);
+	}
+
+	@Test
+	void failedAttemptIsNotRemembered() {
+		when(bookingService.createBooking(eq(USER), any()))
+				.thenThrow(new BadRequestException("travelers must be > 0"))
+				.thenAnswer(call -> booking(nextBookingId++));
+		BookingIdempotencyService service = newService();
+
+		assertThatThrownBy(() -> service.createBooking(USER, KEY, request(2)))
+				.isInstanceOf(BadRequestException.class);
+		assertThat(stored).isEmpty();
+
+		assertThat(service.createBooking(USER, KEY, request(2)).getId()).isEqualTo(100L);
+		verify(keyRepository, never()).delete(any());
+	}
+
+	@Test
+	void rejectsBlankAndOverlongKeys() {
+		BookingIdempotencyService service = newService();
+
+		assertThatThrownBy(() -> service.createBooking(USER, " ", request(2)))
+				.isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> service.createBooking(USER, "k".repeat(101), request(2)))
+				.isInstanceOf(BadRequestException.class);
+		verify(bookingService, never()).createBooking(anyLong(), any());
+	}
+
+	// A new instance starts with an empty cache
+	private BookingIdempotencyService newService() {
+		return new BookingIdempotencyService(bookingService, keyRepository,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)),
+				Duration.ofHours(24), 1000, Duration.ofSeconds(5));
+	}
+
+	private static BookingRequest request(int travelers) {
+		BookingRequest request = new BookingRequest();
+		request.setDestinationId(3L);
+		request.setStartDate(LocalDate.of(2030, 6, 1));
+		request.setEndDate(LocalDate.of(2030, 6, 8));
+		request.setTravelers(travelers);
+		return request;
+	}
+
+	private static BookingResponse booking(long id) {
+		return new BookingResponse(id, null, LocalDate.of(2030, 6, 1), LocalDate.of(2030, 6, 8), 2,
+				BookingStatus.PENDING, BigDecimal.valueOf(700), LocalDateTime.now(), 0L);
+	}
+}
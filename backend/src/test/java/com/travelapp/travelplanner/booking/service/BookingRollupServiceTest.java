@@ -0,0 +1,200 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.travelapp.travelplanner.DisposableSchema;
+import com.travelapp.travelplanner.booking.dto.BookingRequest;
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.dto.DailyBookingStatsResponse;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.ArchiveCheckpointRepository;
+import com.travelapp.travelplanner.booking.repository.BookingArchiveRepository;
+import com.travelapp.travelplanner.booking.repository.BookingIdempotencyKeyRepository;
+import com.travelapp.travelplanner.booking.repository.BookingRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rollups kept by BookingService writes against rollups rebuilt by the
+ * backfill, in a schema of its own. Each test books its own destination, so
+ * its rows are apart from those of the other tests.
+ */
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingRollupServiceTest {
+
+	private static final String SCHEMA = "travelplanner_rollups";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private BookingRollupService rollupService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private BookingArchiveRepository archiveRepository;
+
+	@Autowired
+	private BookingIdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Autowired
+	private ArchiveCheckpointRepository checkpointRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long userId;
+
+	@DynamicPropertySource
+	static void disposableSchema(DynamicPropertyRegistry registry) {
+		DisposableSchema.use(registry, SCHEMA);
+	}
+
+	@BeforeAll
+	void seed() {
+		assertThat(jdbcTemplate.queryForObject("select database()", String.class)).isEqualTo(SCHEMA);
+
+		jdbcTemplate.update("insert into users (name, email, password_hash, role, active) values ('Rollup user', 'rollup@example.com', 'x', 'USER', 1)");
+		userId = jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+	}
+
+	@AfterAll
+	void dropSchema() {
+		jdbcTemplate.execute("drop database if exists " + SCHEMA);
+	}
+
+	@Test
+	void createdBookingCountsAsPending() {
+		Long destinationId = destination();
+
+		BookingResponse booking = book(destinationId, 2);
+
+		assertThat(totals(destinationId, BookingStatus.PENDING)).isEqualTo(new Totals(1, 2, booking.getTotalPrice()));
+		assertThat(totals(destinationId, BookingStatus.CONFIRMED)).isNull();
+	}
+
+	@Test
+	void statusChangesMoveTheBookingBetweenRows() {
+		Long destinationId = destination();
+		BookingResponse first = book(destinationId, 2);
+		BookingResponse second = book(destinationId, 3);
+		BigDecimal both = first.getTotalPrice().add(second.getTotalPrice());
+		assertThat(totals(destinationId, BookingStatus.PENDING)).isEqualTo(new Totals(2, 5, both));
+
+		bookingService.updateStatus(first.getId(), BookingStatus.CONFIRMED, null);
+
+		assertThat(totals(destinationId, BookingStatus.PENDING)).isEqualTo(new Totals(1, 3, second.getTotalPrice()));
+		assertThat(totals(destinationId, BookingStatus.CONFIRMED)).isEqualTo(new Totals(1, 2, first.getTotalPrice()));
+
+		bookingService.cancelBooking(userId, first.getId());
+		bookingService.cancelBooking(userId, second.getId());
+
+		assertThat(totals(destinationId, BookingStatus.PENDING)).isEqualTo(new Totals(0, 0, BigDecimal.ZERO.setScale(2)));
+		assertThat(totals(destinationId, BookingStatus.CONFIRMED)).isEqualTo(new Totals(0, 0, BigDecimal.ZERO.setScale(2)));
+		assertThat(totals(destinationId, BookingStatus.CANCELLED)).isEqualTo(new Totals(2, 5, both));
+
+		// Repeating a cancellation changes nothing
+		bookingService.cancelBooking(userId, first.getId());
+		assertThat(totals(destinationId, BookingStatus.CANCELLED)).isEqualTo(new Totals(2, 5, both));
+	}
+
+	@Test
+	void dailySeriesCountsCancelledBookingsApart() {
+		Long destinationId = destination();
+		BookingResponse kept = book(destinationId, 2);
+		BookingResponse cancelled = book(destinationId, 4);
+		bookingService.cancelBooking(userId, cancelled.getId());
+		LocalDate today = LocalDate.now();
+
+		List<DailyBookingStatsResponse> series = rollupService.getDailySeries(today.minusDays(1), today, destinationId);
+
+		assertThat(series).hasSize(2);
+		assertThat(series.get(0).getBookings()).isZero();
+		DailyBookingStatsResponse day = series.get(1);
+		assertThat(day.getBookings()).isEqualTo(1);
+		assertThat(day.getCancelled()).isEqualTo(1);
+		assertThat(day.getTravelers()).isEqualTo(2);
+		assertThat(day.getRevenue()).isEqualByComparingTo(kept.getTotalPrice());
+	}
+
+	@Test
+	void backfillTwiceMatchesTheIncrementalRollups() {
+		Long destinationId = destination();
+		BookingResponse confirmed = book(destinationId, 1);
+		BookingResponse cancelled = book(destinationId, 2);
+		book(destinationId, 3);
+		bookingService.updateStatus(confirmed.getId(), BookingStatus.CONFIRMED, null);
+		bookingService.cancelBooking(userId, cancelled.getId());
+		// Cancelled bookings move to bookings_archive and keep counting
+		assertThat(archiveNow()).isGreaterThanOrEqualTo(1);
+		assertThat(archiveRepository.existsById(cancelled.getId())).isTrue();
+
+		List<Map<String, Object>> incremental = snapshot();
+		LocalDate today = LocalDate.now();
+		rollupService.backfill(today.minusDays(1), today);
+		assertThat(snapshot()).isEqualTo(incremental);
+		rollupService.backfill(today.minusDays(1), today);
+		assertThat(snapshot()).isEqualTo(incremental);
+
+		assertThat(totals(destinationId, BookingStatus.CANCELLED)).isEqualTo(new Totals(1, 2, cancelled.getTotalPrice()));
+	}
+
+	private Long destination() {
+		jdbcTemplate.update("insert into destinations (name, price) values ('Rollup destination', 100)");
+		return jdbcTemplate.queryForObject("select last_insert_id()", Long.class);
+	}
+
+	private BookingResponse book(Long destinationId, int travelers) {
+		BookingRequest request = new BookingRequest();
+		request.setDestinationId(destinationId);
+		request.setStartDate(LocalDate.of(2030, 6, 1));
+		request.setEndDate(LocalDate.of(2030, 6, 4));
+		request.setTravelers(travelers);
+		return bookingService.createBooking(userId, request);
+	}
+
+	// Archives every cancelled booking, however recent
+	private int archiveNow() {
+		return new BookingArchiveService(bookingRepository, archiveRepository, idempotencyKeyRepository,
+				checkpointRepository, transactionTemplate, true, 500, 10, Duration.ZERO, 30, Duration.ZERO).archive();
+	}
+
+	// Today's row of the destination in the given status, null when there is none
+	private Totals totals(Long destinationId, BookingStatus status) {
+		return jdbcTemplate.query("select bookings, travelers, revenue from booking_daily_rollups " +
+						"where day = ? and destination_id = ? and status = ?",
+				(rs, row) -> new Totals(rs.getInt(1), rs.getInt(2), rs.getBigDecimal(3)),
+				LocalDate.now(), destinationId, status.name()).stream().findFirst().orElse(null);
+	}
+
+	// Rows a status change emptied stay at zero; a rebuild does not recreate them
+	private List<Map<String, Object>> snapshot() {
+		return jdbcTemplate.queryForList("select day, destination_id, status, bookings, travelers, revenue " +
+				"from booking_daily_rollups where bookings <> 0 order by day, destination_id, status");
+	}
+
+	private record Totals(int bookings, int travelers, BigDecimal revenue) {
+	}
+}
@@ -0,0 +1,156 @@
+package com.travelapp.travelplanner.booking.service;
+
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.event.BookingChangedEvent;
+import com.travelapp.travelplanner.booking.model.BookingState;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.BookingArchiveRepository;
+import com.travelapp.travelplanner.booking.repository.BookingRepository;
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.destination.repository.DestinationRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.exceptions.ConflictException;
+import com.travelapp.travelplanner.pricing.service.PricingService;
+import com.travelapp.travelplanner.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BookingServiceTransitionTest {
+
+	private static final Long BOOKING = 11L;
+	private static final Long USER = 7L;
+	private static final Long DESTINATION = 3L;
+
+	private final BookingRepository bookingRepository = mock(BookingRepository.class);
+	private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+	private final BookingRollupService rollupService = mock(BookingRollupService.class);
+	private final List<Object> events = new ArrayList<>();
+	private BookingService service;
+
+	@BeforeEach
+	void setUp() {
+		when(destinationRepository.findById(DESTINATION)).thenReturn(Optional.of(new Destination()));
+		service = new BookingService(bookingRepository, mock(BookingArchiveRepository.class), mock(UserRepository.class),
+				destinationRepository, rollupService, mock(PricingService.class), events::add,
+				mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), Duration.ofSeconds(2), 100);
+	}
+
+	@Test
+	void appliesTheChangeConditionallyAndRecordsIt() {
+		BookingState pending = stored(BookingStatus.PENDING, 4L);
+		when(bookingRepository.transition(BOOKING, USER, BookingStatus.PENDING, 4L, BookingStatus.CONFIRMED)).thenReturn(1);
+
+		BookingResponse response = service.updateStatus(BOOKING, BookingStatus.CONFIRMED, 4L);
+
+		assertThat(response.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+		assertThat(response.getVersion()).isEqualTo(5L);
+		verify(rollupService).apply(pending.moveTo(BookingStatus.CONFIRMED), BookingStatus.PENDING);
+		assertThat(events).containsExactly(
+				new BookingChangedEvent(BOOKING, USER, DESTINATION, BookingStatus.PENDING, BookingStatus.CONFIRMED));
+	}
+
+	@Test
+	void updateMatchingNoRowIsAConflict() {
+		// Changed between the read and the conditional UPDATE
+		stored(BookingStatus.PENDING, 4L);
+		when(bookingRepository.transition(BOOKING, USER, BookingStatus.PENDING, 4L, BookingStatus.CONFIRMED)).thenReturn(0);
+
+		assertThatThrownBy(() -> service.updateStatus(BOOKING, BookingStatus.CONFIRMED, null))
+				.isInstanceOf(ConflictException.class)
+				.hasMessageContaining("changed by someone else");
+		assertNothingRecorded();
+	}
+
+	@Test
+	void staleExpectedVersionIsRejectedWithoutWriting() {
+		stored(BookingStatus.PENDING, 5L);
+
+		assertThatThrownBy(() -> service.updateStatus(BOOKING, BookingStatus.CONFIRMED, 4L))
+				.isInstanceOf(ConflictException.class)
+				.hasMessageContaining("changed by someone else");
+		verify(bookingRepository, never()).transition(any(), any(), any(), any(), any());
+		assertNothingRecorded();
+	}
+
+	@Test
+	void sameStatusIsANoOp() {
+		stored(BookingStatus.CONFIRMED, 4L);
+
+		BookingResponse response = service.updateStatus(BOOKING, BookingStatus.CONFIRMED, 4L);
+
+		assertThat(response.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+		assertThat(response.getVersion()).isEqualTo(4L);
+		verify(bookingRepository, never()).transition(any(), any(), any(), any(), any());
+		assertNothingRecorded();
+	}
+
+	@Test
+	void cancellingACancelledBookingIsANoOp() {
+		stored(BookingStatus.CANCELLED, 2L);
+
+		service.cancelBooking(USER, BOOKING);
+
+		verify(bookingRepository, never()).transition(any(), any(), any(), any(), any());
+		assertNothingRecorded();
+	}
+
+	@Test
+	void cancelledBookingCannotBeReopened() {
+		stored(BookingStatus.CANCELLED, 2L);
+
+		assertThatThrownBy(() -> service.updateStatus(BOOKING, BookingStatus.PENDING, null))
+				.isInstanceOf(ConflictException.class)
+				.hasMessageContaining("CANCELLED booking cannot become PENDING");
+		verify(bookingRepository, never()).transition(any(), any(), any(), any(), any());
+		assertNothingRecorded();
+	}
+
+	@Test
+	void confirmationCanBeUndoneByTheAdmin() {
+		BookingState confirmed = stored(BookingStatus.CONFIRMED, 1L);
+		when(bookingRepository.transition(BOOKING, USER, BookingStatus.CONFIRMED, 1L, BookingStatus.PENDING)).thenReturn(1);
+
+		assertThat(service.updateStatus(BOOKING, BookingStatus.PENDING, 1L).getStatus()).isEqualTo(BookingStatus.PENDING);
+		verify(rollupService).apply(confirmed.moveTo(BookingStatus.PENDING), BookingStatus.CONFIRMED);
+	}
+
+	@Test
+	void someoneElsesBookingCannotBeCancelled() {
+		stored(BookingStatus.PENDING, 0L);
+
+		assertThatThrownBy(() -> service.cancelBooking(USER + 1, BOOKING))
+				.isInstanceOf(BadRequestException.class);
+		verify(bookingRepository, never()).transition(any(), any(), any(), any(), any());
+	}
+
+	private BookingState stored(BookingStatus status, Long version) {
+		BookingState state = new BookingState(BOOKING, USER, DESTINATION, LocalDate.of(2030, 6, 1), LocalDate.of(2030, 6, 4),
+				2, status, BigDecimal.valueOf(600), LocalDateTime.of(2030, 1, 1, 12, 0), version);
+		when(bookingRepository.findStateById(BOOKING)).thenReturn(Optional.of(state));
+		return state;
+	}
+
+	private void assertNothingRecorded() {
+		verifyNoInteractions(rollupService);
+		assertThat(events).isEmpty();
+	}
+}
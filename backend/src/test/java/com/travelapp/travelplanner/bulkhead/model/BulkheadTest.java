@@ -0,0 +1,62 @@
+package com.travelapp.travelplanner.bulkhead.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+	@Test
+	void rejectsPastTheLimitAndAdmitsAgainOnExit() throws Exception {
+		Bulkhead bulkhead = new Bulkhead(BulkheadGroup.ADMIN, 2, 1);
+
+		assertThat(bulkhead.tryEnter(Duration.ZERO)).isTrue();
+		assertThat(bulkhead.tryEnter(Duration.ZERO)).isTrue();
+		assertThat(bulkhead.tryEnter(Duration.ofMillis(20))).isFalse();
+		assertThat(bulkhead.activeRequests()).isEqualTo(2);
+
+		bulkhead.exit();
+		assertThat(bulkhead.tryEnter(Duration.ZERO)).isTrue();
+		assertThat(bulkhead.permittedRequests()).isEqualTo(3);
+		assertThat(bulkhead.rejectedRequests()).isEqualTo(1);
+
+		// Connections are a separate quota
+		assertThat(bulkhead.tryAcquireConnection(Duration.ZERO)).isTrue();
+		assertThat(bulkhead.tryAcquireConnection(Duration.ZERO)).isFalse();
+		bulkhead.releaseConnection();
+		assertThat(bulkhead.activeConnections()).isZero();
+	}
+
+	@Test
+	void propagatedTasksRunUnderTheCallersBulkhead() throws Exception {
+		Bulkhead user = new Bulkhead(BulkheadGroup.USER, 1, 1);
+		Callable<Bulkhead> task;
+		Bulkhead previous = Bulkhead.bind(user);
+		try {
+			task = Bulkhead.propagate(Bulkhead::current);
+		} finally {
+			Bulkhead.restore(previous);
+		}
+
+		assertThat(Bulkhead.current()).isNull();
+		assertThat(task.call()).isSameAs(user);
+		assertThat(Bulkhead.current()).isNull();
+	}
+
+	@Test
+	void classifiesEndpointGroups() {
+		assertThat(BulkheadGroup.classify("POST", "/api/auth/login")).isEqualTo(BulkheadGroup.AUTH);
+		assertThat(BulkheadGroup.classify("GET", "/api/destinations/5")).isEqualTo(BulkheadGroup.CATALOG);
+		assertThat(BulkheadGroup.classify("GET", "/api/recommendations/trending")).isEqualTo(BulkheadGroup.CATALOG);
+		assertThat(BulkheadGroup.classify("PUT", "/api/destinations/5")).isEqualTo(BulkheadGroup.ADMIN);
+		assertThat(BulkheadGroup.classify("GET", "/api/bookings/admin")).isEqualTo(BulkheadGroup.ADMIN);
+		assertThat(BulkheadGroup.classify("PATCH", "/api/users/admin/7/active")).isEqualTo(BulkheadGroup.ADMIN);
+		assertThat(BulkheadGroup.classify("POST", "/actuator/profiling")).isEqualTo(BulkheadGroup.ADMIN);
+		assertThat(BulkheadGroup.classify("POST", "/api/bookings")).isEqualTo(BulkheadGroup.USER);
+		assertThat(BulkheadGroup.classify("GET", "/api/home")).isEqualTo(BulkheadGroup.USER);
+		assertThat(BulkheadGroup.classify("GET", "/actuator/health")).isNull();
+	}
+}
@@ -0,0 +1,180 @@
+package com.travelapp.travelplanner.cache.service;
+
+import com.travelapp.travelplanner.DisposableSchema;
+import com.travelapp.travelplanner.cache.event.CacheInvalidatedEvent;
+import com.travelapp.travelplanner.cache.model.CachedEntity;
+import com.travelapp.travelplanner.cache.repository.CacheInvalidationRepository;
+import com.travelapp.travelplanner.destination.model.Destination;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two instances sharing one cache_invalidations table, in a schema of its
+ * own. Each instance is a CacheInvalidationService with its own origin, its
+ * own second-level cache and its own listener.
+ */
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CacheInvalidationServiceTest {
+
+	private static final String SCHEMA = "travelplanner_cache_invalidation";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private CacheInvalidationRepository invalidationRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@DynamicPropertySource
+	static void disposableSchema(DynamicPropertyRegistry registry) {
+		DisposableSchema.use(registry, SCHEMA);
+	}
+
+	@BeforeAll
+	void checkSchema() {
+		assertThat(jdbcTemplate.queryForObject("select database()", String.class)).isEqualTo(SCHEMA);
+	}
+
+	@AfterAll
+	void dropSchema() {
+		jdbcTemplate.execute("drop database if exists " + SCHEMA);
+	}
+
+	@Test
+	void eachInstanceEvictsOnlyChangesMadeByTheOther() {
+		Instance a = new Instance(Duration.ofSeconds(30));
+		Instance b = new Instance(Duration.ofSeconds(30));
+
+		commit(a, 1L);
+		commit(b, 2L);
+		a.service.poll();
+		b.service.poll();
+
+		assertThat(a.events).containsExactly(new CacheInvalidatedEvent(CachedEntity.DESTINATION, 2L));
+		assertThat(b.events).containsExactly(new CacheInvalidatedEvent(CachedEntity.DESTINATION, 1L));
+		verify(a.cache).evict(Destination.class, 2L);
+		verify(a.cache, never()).evict(Destination.class, 1L);
+		verify(b.cache).evict(Destination.class, 1L);
+		verify(b.cache, never()).evict(Destination.class, 2L);
+
+		// Rows already applied are not applied again
+		a.service.poll();
+		assertThat(a.events).hasSize(1);
+	}
+
+	@Test
+	void lowerIdCommittedLateIsPickedUpFromTheGaps() throws Exception {
+		Instance a = new Instance(Duration.ofSeconds(30));
+		Instance b = new Instance(Duration.ofSeconds(30));
+
+		// Takes the lower id and commits after a higher one
+		CommitLater late = new CommitLater(a, 3L);
+		commit(a, 4L);
+		b.service.poll();
+		assertThat(b.events).containsExactly(new CacheInvalidatedEvent(CachedEntity.DESTINATION, 4L));
+
+		late.commit();
+		b.service.poll();
+		assertThat(b.events).containsExactly(
+				new CacheInvalidatedEvent(CachedEntity.DESTINATION, 4L),
+				new CacheInvalidatedEvent(CachedEntity.DESTINATION, 3L));
+	}
+
+	@Test
+	void gapIsDroppedAfterTheTimeout() throws Exception {
+		Instance a = new Instance(Duration.ofSeconds(30));
+		Instance b = new Instance(Duration.ofMillis(200));
+
+		CommitLater late = new CommitLater(a, 5L);
+		commit(a, 6L);
+		b.service.poll();
+		Thread.sleep(400);
+		b.service.poll();
+
+		// Committed after gap-timeout: no longer looked for, so not seen
+		late.commit();
+		b.service.poll();
+		assertThat(b.events).containsExactly(new CacheInvalidatedEvent(CachedEntity.DESTINATION, 6L));
+
+		// Rows past the high-water mark still are
+		commit(a, 7L);
+		b.service.poll();
+		assertThat(b.events).containsExactly(
+				new CacheInvalidatedEvent(CachedEntity.DESTINATION, 6L),
+				new CacheInvalidatedEvent(CachedEntity.DESTINATION, 7L));
+	}
+
+	private void commit(Instance instance, Long destinationId) {
+		transactionTemplate.executeWithoutResult(status -> instance.service.publish(CachedEntity.DESTINATION, destinationId));
+	}
+
+	// One backend instance: its own origin, second-level cache and listeners
+	private class Instance {
+
+		final Cache cache = mock(Cache.class);
+		final List<Object> events = new ArrayList<>();
+		final CacheInvalidationService service;
+
+		Instance(Duration gapTimeout) {
+			EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+			when(entityManagerFactory.getCache()).thenReturn(cache);
+			service = new CacheInvalidationService(invalidationRepository, entityManagerFactory, events::add,
+					500, gapTimeout, Duration.ofHours(1));
+			service.start();
+		}
+	}
+
+	// A transaction that has logged its change, and so taken its id, but not committed yet
+	private class CommitLater {
+
+		private final CountDownLatch logged = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final CompletableFuture<Void> done;
+
+		CommitLater(Instance instance, Long destinationId) throws InterruptedException {
+			done = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+				instance.service.publish(CachedEntity.DESTINATION, destinationId);
+				logged.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+			assertThat(logged.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+
+		void commit() throws Exception {
+			release.countDown();
+			done.get(10, TimeUnit.SECONDS);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.travelapp.travelplanner.config.logging;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RateSampledFilterTest {
+
+	private RateSampledFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		filter = new RateSampledFilter();
+		filter.setPermitsPerSecond(2);
+		filter.start();
+	}
+
+	@Test
+	void dropsEventsOverBudgetAndReportsThemInTheNextWindow() {
+		assertThat(filter.decide(event("a", "boom {}", 1_000))).isEqualTo(FilterReply.NEUTRAL);
+		assertThat(filter.decide(event("a", "boom {}", 1_100))).isEqualTo(FilterReply.NEUTRAL);
+		assertThat(filter.decide(event("a", "boom {}", 1_200))).isEqualTo(FilterReply.DENY);
+		assertThat(filter.decide(event("a", "boom {}", 1_300))).isEqualTo(FilterReply.DENY);
+
+		LoggingEvent next = event("a", "boom {}", 2_000);
+		assertThat(filter.decide(next)).isEqualTo(FilterReply.NEUTRAL);
+		assertThat(next.getKeyValuePairs()).extracting(kv -> kv.key, kv -> kv.value)
+				.containsExactly(tuple("suppressed", 2));
+	}
+
+	@Test
+	void budgetsArePerLoggerAndTemplate() {
+		filter.decide(event("a", "boom {}", 1_000));
+		filter.decide(event("a", "boom {}", 1_000));
+
+		assertThat(filter.decide(event("a", "other {}", 1_000))).isEqualTo(FilterReply.NEUTRAL);
+		assertThat(filter.decide(event("b", "boom {}", 1_000))).isEqualTo(FilterReply.NEUTRAL);
+	}
+
+	private static LoggingEvent event(String logger, String message, long timestamp) {
+		LoggingEvent event = new LoggingEvent();
+		event.setLoggerName(logger);
+		event.setMessage(message);
+		event.setTimeStamp(timestamp);
+		return event;
+	}
+}
@@ -0,0 +1,142 @@
+package com.travelapp.travelplanner.destination.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridIndexTest {
+
+	private static final int POINTS = 3_000;
+	private static final int LIMIT = 10_000;
+
+	@Test
+	void nearbyMatchesALinearScan() {
+		Random random = new Random(42);
+		double[][] points = points(random);
+		GeoGridIndex index = index(points, 2.0);
+
+		List<double[]> queries = new ArrayList<>(List.of(
+				new double[]{90.0, 0.0}, new double[]{-90.0, 45.0},
+				new double[]{89.5, 179.9}, new double[]{-88.0, -179.5},
+				new double[]{0.0, 180.0}, new double[]{10.0, -179.99}, new double[]{-20.0, 179.99}));
+		for (int i = 0; i < 40; i++) {
+			queries.add(new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180});
+		}
+		double[] radii = {1, 50, 400, 2_500, 12_000, 25_000};
+
+		for (double[] q : queries) {
+			for (double radius : radii) {
+				List<Long> expected = new ArrayList<>();
+				for (int id = 0; id < points.length; id++) {
+					if (GeoGridIndex.haversineKm(q[0], q[1], points[id][0], points[id][1]) <= radius) {
+						expected.add((long) id);
+					}
+				}
+				expected.sort(Comparator.comparingDouble(id -> GeoGridIndex.haversineKm(q[0], q[1], points[id.intValue()][0], points[id.intValue()][1])));
+
+				List<Long> actual = index.nearby(q[0], q[1], radius, LIMIT).stream()
+						.map(GeoGridIndex.Hit::destinationId)
+						.toList();
+				assertThat(actual).as("nearby(%s, %s, %s)", q[0], q[1], radius).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void withinMatchesALinearScanIncludingAntimeridianBoxes() {
+		Random random = new Random(7);
+		double[][] points = points(random);
+		GeoGridIndex index = index(points, 2.0);
+
+		List<double[]> boxes = new ArrayList<>(List.of(
+				// minLat, minLon, maxLat, maxLon
+				new double[]{80.0, -180.0, 90.0, 180.0},
+				new double[]{-90.0, -180.0, -85.0, 180.0},
+				new double[]{-10.0, 170.0, 10.0, -170.0},
+				new double[]{60.0, 179.0, 90.0, -179.0},
+				new double[]{-90.0, 90.0, 90.0, -90.0}));
+		for (int i = 0; i < 40; i++) {
+			double lat1 = random.nextDouble() * 180 - 90;
+			double lat2 = random.nextDouble() * 180 - 90;
+			boxes.add(new double[]{Math.min(lat1, lat2), random.nextDouble() * 360 - 180,
+					Math.max(lat1, lat2), random.nextDouble() * 360 - 180});
+		}
+
+		for (double[] box : boxes) {
+			boolean wraps = box[1] > box[3];
+			List<Long> expected = new ArrayList<>();
+			for (int id = 0; id < points.length; id++) {
+				double lat = points[id][0];
+				double lon = points[id][1];
+				boolean lonInside = wraps ? lon >= box[1] || lon <= box[3] : lon >= box[1] && lon <= box[3];
+				if (lat >= box[0] && lat <= box[2] && lonInside) {
+					expected.add((long) id);
+				}
+			}
+
+			List<Long> actual = index.within(box[0], box[1], box[2], box[3], LIMIT).stream()
+					.map(GeoGridIndex.Hit::destinationId)
+					.toList();
+			assertThat(actual).as("within(%s, %s, %s, %s)", box[0], box[1], box[2], box[3]).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void movedAndRemovedPointsLeaveTheirOldCell() {
+		GeoGridIndex index = new GeoGridIndex(1.0);
+		index.put(1, 48.85, 2.35);
+		index.put(1, 41.9, 12.5);
+		index.put(2, 41.89, 12.49);
+		index.remove(2);
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.nearby(48.85, 2.35, 50, 10)).isEmpty();
+		assertThat(index.nearby(41.9, 12.5, 50, 10)).extracting(GeoGridIndex.Hit::destinationId).containsExactly(1L);
+	}
+
+	// Uniform points plus clusters at both poles and along the antimeridian
+	private static double[][] points(Random random) {
+		double[][] points = new double[POINTS][];
+		for (int i = 0; i < POINTS; i++) {
+			double lat;
+			double lon;
+			switch (i % 4) {
+				case 0 -> {
+					lat = 85 + random.nextDouble() * 5;
+					lon = random.nextDouble() * 360 - 180;
+				}
+				case 1 -> {
+					lat = -90 + random.nextDouble() * 5;
+					lon = random.nextDouble() * 360 - 180;
+				}
+				case 2 -> {
+					lat = random.nextDouble() * 180 - 90;
+					lon = random.nextBoolean() ? 180 - random.nextDouble() * 3 : -180 + random.nextDouble() * 3;
+				}
+				default -> {
+					lat = random.nextDouble() * 180 - 90;
+					lon = random.nextDouble() * 360 - 180;
+				}
+			}
+			points[i] = new double[]{lat, lon};
+		}
+		points[0] = new double[]{90.0, 0.0};
+		points[1] = new double[]{-90.0, 0.0};
+		points[2] = new double[]{0.0, 180.0};
+		points[3] = new double[]{0.0, -180.0};
+		return points;
+	}
+
+	private static GeoGridIndex index(double[][] points, double cellDegrees) {
+		GeoGridIndex index = new GeoGridIndex(cellDegrees);
+		for (int id = 0; id < points.length; id++) {
+			index.put(id, points[id][0], points[id][1]);
+		}
+		return index;
+	}
+}
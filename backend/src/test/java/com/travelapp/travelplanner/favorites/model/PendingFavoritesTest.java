@@ -0,0 +1,59 @@
+package com.travelapp.travelplanner.favorites.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PendingFavoritesTest {
+
+	@Test
+	void togglingBackCancelsThePendingChange() {
+		PendingFavorites pending = new PendingFavorites(new HashSet<>(Set.of(1L)));
+
+		assertThat(pending.change(2L, true)).isEqualTo(PendingFavorites.Outcome.RECORDED);
+		assertThat(pending.change(2L, true)).isEqualTo(PendingFavorites.Outcome.UNCHANGED);
+		assertThat(pending.change(1L, false)).isEqualTo(PendingFavorites.Outcome.RECORDED);
+		assertThat(pending.overlay()).isEqualTo(Map.of(1L, false, 2L, true));
+
+		assertThat(pending.change(2L, false)).isEqualTo(PendingFavorites.Outcome.COLLAPSED);
+		assertThat(pending.change(1L, true)).isEqualTo(PendingFavorites.Outcome.COLLAPSED);
+		assertThat(pending.size()).isZero();
+		assertThat(pending.isFavorite(1L)).isTrue();
+		assertThat(pending.isFavorite(2L)).isFalse();
+	}
+
+	@Test
+	void togglesDuringAFlushCompareWithTheBatch() {
+		PendingFavorites pending = new PendingFavorites(new HashSet<>());
+		pending.change(3L, true);
+
+		Map<Long, Boolean> batch = pending.beginFlush();
+		assertThat(batch).isEqualTo(Map.of(3L, true));
+		// Still visible while being written
+		assertThat(pending.isFavorite(3L)).isTrue();
+		assertThat(pending.change(3L, false)).isEqualTo(PendingFavorites.Outcome.RECORDED);
+
+		pending.endFlush(true);
+		assertThat(pending.overlay()).isEqualTo(Map.of(3L, false));
+		assertThat(pending.isFavorite(3L)).isFalse();
+	}
+
+	@Test
+	void failedFlushKeepsTheBatchUnlessReplaced() {
+		PendingFavorites pending = new PendingFavorites(new HashSet<>());
+		pending.change(4L, true);
+		pending.change(5L, true);
+
+		pending.beginFlush();
+		// Cancels the in-flight add of 5 once the flush has failed
+		pending.change(5L, false);
+		pending.endFlush(false);
+
+		assertThat(pending.overlay()).isEqualTo(Map.of(4L, true));
+		assertThat(pending.size()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,219 @@
+package com.travelapp.travelplanner.favorites.service;
+
+import com.travelapp.travelplanner.destination.repository.DestinationRepository;
+import com.travelapp.travelplanner.exceptions.BadRequestException;
+import com.travelapp.travelplanner.exceptions.ResourceNotFoundException;
+import com.travelapp.travelplanner.favorites.dto.FavoritesSyncRequest;
+import com.travelapp.travelplanner.favorites.dto.FavoritesSyncResponse;
+import com.travelapp.travelplanner.favorites.event.FavoriteChangedEvent;
+import com.travelapp.travelplanner.favorites.repository.FavoritesRepository;
+import com.travelapp.travelplanner.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FavoritesServiceTest {
+
+	private static final Long USER = 7L;
+	private static final int MAX_ITEMS = 5;
+
+	private final FavoritesRepository favoritesRepository = mock(FavoritesRepository.class);
+	private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+	private final FavoritesWriteBehind writeBehind = mock(FavoritesWriteBehind.class);
+	private final List<Object> events = new ArrayList<>();
+	private FavoritesService service;
+
+	// The user's favorite destination ids in the table, and the destinations that exist
+	private final Set<Long> stored = new TreeSet<>();
+	private final Set<Long> destinations = new TreeSet<>(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+	@BeforeEach
+	void setUp() {
+		when(favoritesRepository.findDestinationIdsByUserId(USER)).thenAnswer(call -> List.copyOf(stored));
+		when(destinationRepository.findExistingIds(anyCollection())).thenAnswer(call ->
+				call.<Collection<Long>>getArgument(0).stream().filter(destinations::contains).toList());
+		// Like the native insert, skips destinations that do not exist
+		when(favoritesRepository.insertAll(anyLong(), anyCollection(), any())).thenAnswer(call -> {
+			int inserted = 0;
+			for (Long id : call.<Collection<Long>>getArgument(1)) {
+				if (destinations.contains(id) && stored.add(id)) {
+					inserted++;
+				}
+			}
+			return inserted;
+		});
+		when(favoritesRepository.deleteAll(anyLong(), anyCollection())).thenAnswer(call -> {
+			int deleted = 0;
+			for (Long id : call.<Collection<Long>>getArgument(1)) {
+				if (stored.remove(id)) {
+					deleted++;
+				}
+			}
+			return deleted;
+		});
+		service = new FavoritesService(favoritesRepository, mock(UserRepository.class), destinationRepository,
+				events::add, writeBehind, MAX_ITEMS);
+	}
+
+	@Test
+	void fullSetReplacesTheStoredFavorites() {
+		stored.addAll(List.of(1L, 2L, 3L));
+
+		FavoritesSyncResponse response = service.sync(USER, fullSet(2L, 3L, 4L));
+
+		assertThat(response.getAdded()).containsExactly(4L);
+		assertThat(response.getRemoved()).containsExactly(1L);
+		assertThat(stored).containsExactly(2L, 3L, 4L);
+		assertThat(events).containsExactly(
+				new FavoriteChangedEvent(USER, 4L, true),
+				new FavoriteChangedEvent(USER, 1L, false));
+	}
+
+	@Test
+	void emptyFullSetClearsAllFavorites() {
+		stored.addAll(List.of(1L, 2L));
+
+		FavoritesSyncResponse response = service.sync(USER, fullSet());
+
+		assertThat(response.getAdded()).isEmpty();
+		assertThat(response.getRemoved()).containsExactly(1L, 2L);
+		assertThat(stored).isEmpty();
+	}
+
+	@Test
+	void operationsSkipIdsAlreadyInTheWantedState() {
+		stored.addAll(List.of(1L, 2L));
+
+		FavoritesSyncResponse response = service.sync(USER, operations(List.of(2L, 5L), List.of(1L, 6L)));
+
+		assertThat(response.getAdded()).containsExactly(5L);
+		assertThat(response.getRemoved()).containsExactly(1L);
+		assertThat(stored).containsExactly(2L, 5L);
+		assertThat(events).containsExactly(
+				new FavoriteChangedEvent(USER, 5L, true),
+				new FavoriteChangedEvent(USER, 1L, false));
+	}
+
+	@Test
+	void nothingToDoWritesNothing() {
+		stored.addAll(List.of(1L, 2L));
+
+		FavoritesSyncResponse response = service.sync(USER, fullSet(1L, 2L));
+
+		assertThat(response.getAdded()).isEmpty();
+		assertThat(response.getRemoved()).isEmpty();
+		verify(favoritesRepository, never()).insertAll(anyLong(), anyCollection(), any());
+		verify(favoritesRepository, never()).deleteAll(anyLong(), anyCollection());
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void pendingChangesAreFlushedBeforeTheDiff() {
+		service.sync(USER, fullSet(1L));
+
+		var order = inOrder(writeBehind, favoritesRepository);
+		order.verify(writeBehind).flush(USER);
+		order.verify(favoritesRepository).findDestinationIdsByUserId(USER);
+	}
+
+	@Test
+	void rejectsFullSetCombinedWithOperations() {
+		FavoritesSyncRequest request = fullSet(1L);
+		request.setAdd(List.of(2L));
+
+		assertThatThrownBy(() -> service.sync(USER, request))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageContaining("either");
+		assertNothingWritten();
+	}
+
+	@Test
+	void rejectsAnIdBothAddedAndRemoved() {
+		assertThatThrownBy(() -> service.sync(USER, operations(List.of(1L, 2L), List.of(2L))))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageContaining("both added and removed");
+		assertNothingWritten();
+	}
+
+	@Test
+	void rejectsMoreThanMaxItems() {
+		assertThatThrownBy(() -> service.sync(USER, operations(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L))))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageContaining("At most " + MAX_ITEMS);
+		assertNothingWritten();
+
+		// Exactly the limit is fine
+		assertThat(service.sync(USER, operations(List.of(1L, 2L, 3L), List.of(4L, 5L))).getAdded())
+				.containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void rejectsNullIds() {
+		assertThatThrownBy(() -> service.sync(USER, operations(Arrays.asList(1L, null), null)))
+				.isInstanceOf(BadRequestException.class);
+		assertNothingWritten();
+	}
+
+	@Test
+	void missingDestinationFailsTheWholeSync() {
+		stored.add(1L);
+
+		assertThatThrownBy(() -> service.sync(USER, fullSet(2L, 98L, 99L)))
+				.isInstanceOf(ResourceNotFoundException.class)
+				.hasMessageContaining("[98, 99]");
+		verify(favoritesRepository, never()).insertAll(anyLong(), anyCollection(), any());
+		verify(favoritesRepository, never()).deleteAll(anyLong(), anyCollection());
+		assertThat(stored).containsExactly(1L);
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void destinationDeletedAfterTheCheckIsNotReportedAsAdded() {
+		// Passes the existence check, then is gone by the time of the insert
+		when(destinationRepository.findExistingIds(anyCollection())).thenAnswer(call -> List.copyOf(call.<Collection<Long>>getArgument(0)));
+		destinations.remove(4L);
+
+		FavoritesSyncResponse response = service.sync(USER, operations(List.of(4L, 5L), null));
+
+		assertThat(response.getAdded()).containsExactly(5L);
+		assertThat(stored).containsExactly(5L);
+		assertThat(events).containsExactly(new FavoriteChangedEvent(USER, 5L, true));
+	}
+
+	private void assertNothingWritten() {
+		verify(writeBehind, never()).flush(any());
+		verify(favoritesRepository, never()).insertAll(anyLong(), anyCollection(), any());
+		verify(favoritesRepository, never()).deleteAll(anyLong(), anyCollection());
+		assertThat(events).isEmpty();
+	}
+
+	private static FavoritesSyncRequest fullSet(Long... ids) {
+		FavoritesSyncRequest request = new FavoritesSyncRequest();
+		request.setDestinationIds(List.of(ids));
+		return request;
+	}
+
+	private static FavoritesSyncRequest operations(List<Long> add, List<Long> remove) {
+		FavoritesSyncRequest request = new FavoritesSyncRequest();
+		request.setAdd(add);
+		request.setRemove(remove);
+		return request;
+	}
+}
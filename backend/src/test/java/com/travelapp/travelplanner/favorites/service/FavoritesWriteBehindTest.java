@@ -0,0 +1,127 @@
+package com.travelapp.travelplanner.favorites.service;
+
+import com.travelapp.travelplanner.favorites.event.FavoriteChangedEvent;
+import com.travelapp.travelplanner.favorites.repository.FavoritesRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FavoritesWriteBehindTest {
+
+	private static final Long USER = 7L;
+	private static final Long OTHER_USER = 8L;
+
+	private final FavoritesRepository favoritesRepository = mock(FavoritesRepository.class);
+	private final List<Object> events = new ArrayList<>();
+	private FavoritesWriteBehind writeBehind;
+
+	// The users' favorite destination ids in the table, and the destinations that exist
+	private final Set<Long> stored = new TreeSet<>();
+	private final Set<Long> otherStored = new TreeSet<>();
+	private final Set<Long> destinations = new TreeSet<>(List.of(1L, 2L, 3L));
+
+	@BeforeEach
+	void setUp() {
+		when(favoritesRepository.findDestinationIdsByUserId(USER)).thenAnswer(call -> List.copyOf(stored));
+		when(favoritesRepository.findDestinationIdsByUserId(OTHER_USER)).thenAnswer(call -> List.copyOf(otherStored));
+		// Like the native insert, skips destinations that do not exist
+		when(favoritesRepository.insertAll(anyLong(), anyCollection(), any())).thenAnswer(call -> {
+			int inserted = 0;
+			for (Long id : call.<Collection<Long>>getArgument(1)) {
+				if (destinations.contains(id) && storedOf(call.getArgument(0)).add(id)) {
+					inserted++;
+				}
+			}
+			return inserted;
+		});
+		when(favoritesRepository.deleteAll(anyLong(), anyCollection())).thenAnswer(call -> {
+			int deleted = 0;
+			for (Long id : call.<Collection<Long>>getArgument(1)) {
+				if (storedOf(call.getArgument(0)).remove(id)) {
+					deleted++;
+				}
+			}
+			return deleted;
+		});
+		writeBehind = writeBehind(100);
+	}
+
+	@Test
+	void flushWritesTheNetChangesAndPublishesThem() {
+		stored.add(1L);
+
+		writeBehind.record(USER, 2L, true);
+		writeBehind.record(USER, 3L, true);
+		writeBehind.record(USER, 3L, false);
+		writeBehind.record(USER, 1L, false);
+		assertThat(stored).containsExactly(1L);
+
+		writeBehind.flush(USER);
+
+		assertThat(stored).containsExactly(2L);
+		assertThat(writeBehind.pendingChanges(USER)).isEmpty();
+		assertThat(events).containsExactly(
+				new FavoriteChangedEvent(USER, 2L, true),
+				new FavoriteChangedEvent(USER, 1L, false));
+	}
+
+	@Test
+	void destinationDeletedBeforeTheFlushGetsNoEvent() {
+		writeBehind.record(USER, 2L, true);
+		writeBehind.record(USER, 3L, true);
+		destinations.remove(3L);
+
+		writeBehind.flush(USER);
+
+		assertThat(stored).containsExactly(2L);
+		assertThat(events).containsExactly(new FavoriteChangedEvent(USER, 2L, true));
+	}
+
+	@Test
+	void reachingMaxPendingFlushesEveryUser() {
+		writeBehind = writeBehind(3);
+
+		writeBehind.record(USER, 1L, true);
+		writeBehind.record(OTHER_USER, 2L, true);
+		assertThat(stored).isEmpty();
+		assertThat(otherStored).isEmpty();
+
+		writeBehind.record(USER, 3L, true);
+
+		assertThat(stored).containsExactly(1L, 3L);
+		assertThat(otherStored).containsExactly(2L);
+		assertThat(writeBehind.pendingChanges(USER)).isEmpty();
+		assertThat(writeBehind.pendingChanges(OTHER_USER)).isEmpty();
+
+		// The count is back to zero, so the next toggles are deferred again
+		writeBehind.record(OTHER_USER, 1L, true);
+		writeBehind.record(USER, 2L, true);
+		assertThat(stored).containsExactly(1L, 3L);
+		assertThat(otherStored).containsExactly(2L);
+		assertThat(writeBehind.pendingChanges(USER)).containsExactly(Map.entry(2L, true));
+	}
+
+	private FavoritesWriteBehind writeBehind(int maxPending) {
+		return new FavoritesWriteBehind(favoritesRepository, events::add, mock(PlatformTransactionManager.class),
+				new SimpleMeterRegistry(), true, maxPending);
+	}
+
+	private Set<Long> storedOf(Long userId) {
+		return USER.equals(userId) ? stored : otherStored;
+	}
+}
@@ -0,0 +1,133 @@
+package com.travelapp.travelplanner.home.service;
+
+import com.travelapp.travelplanner.booking.dto.BookingResponse;
+import com.travelapp.travelplanner.booking.service.BookingService;
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.destination.service.DestinationService;
+import com.travelapp.travelplanner.favorites.service.FavoritesService;
+import com.travelapp.travelplanner.home.dto.HomeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HomeServiceTest {
+
+	private static final Long USER = 7L;
+	private static final int PAGE_SIZE = 2;
+	private static final Duration TIMEOUT = Duration.ofMillis(300);
+
+	private final BookingService bookingService = mock(BookingService.class);
+	private final FavoritesService favoritesService = mock(FavoritesService.class);
+	private final DestinationService destinationService = mock(DestinationService.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private HomeService service;
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void allPartsInOneResponse() {
+		service = service(4, 4);
+		List<BookingResponse> bookings = List.of(mock(BookingResponse.class));
+		when(bookingService.getUpcomingBookings(anyLong(), anyInt())).thenReturn(bookings);
+		when(favoritesService.getFavoriteDestinationIds(USER)).thenReturn(List.of(3L, 5L));
+		when(destinationService.getFirstDestinations(PAGE_SIZE + 1)).thenReturn(destinations(PAGE_SIZE + 1));
+
+		HomeResponse home = service.getHome(USER);
+
+		assertThat(home.getFailedParts()).isEmpty();
+		assertThat(home.getUpcomingBookings()).isEqualTo(bookings);
+		assertThat(home.getFavoriteDestinationIds()).containsExactly(3L, 5L);
+		assertThat(home.getDestinations()).extracting(Destination::getId).containsExactly(0L, 1L);
+		assertThat(home.isMoreDestinations()).isTrue();
+	}
+
+	@Test
+	void slowAndFailingPartsAreLeftOutAndNamed() throws InterruptedException {
+		service = service(4, 4);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		when(bookingService.getUpcomingBookings(anyLong(), anyInt())).thenAnswer(call -> {
+			try {
+				Thread.sleep(10_000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return List.of();
+		});
+		when(favoritesService.getFavoriteDestinationIds(USER)).thenThrow(new IllegalStateException("database down"));
+		when(destinationService.getFirstDestinations(PAGE_SIZE + 1)).thenReturn(destinations(1));
+
+		long started = System.nanoTime();
+		HomeResponse home = service.getHome(USER);
+		long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+		assertThat(home.getFailedParts()).containsExactly("upcomingBookings", "favoriteDestinationIds");
+		assertThat(home.getUpcomingBookings()).isNull();
+		assertThat(home.getFavoriteDestinationIds()).isNull();
+		assertThat(home.getDestinations()).hasSize(1);
+		assertThat(home.isMoreDestinations()).isFalse();
+		// Waited for the slow part only up to its timeout, which then cancelled it
+		assertThat(tookMillis).isBetween(TIMEOUT.toMillis(), 5_000L);
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(failures("upcomingBookings", "timeout")).isEqualTo(1);
+		assertThat(failures("favoriteDestinationIds", "error")).isEqualTo(1);
+	}
+
+	@Test
+	void fullPoolRunsPartsOnTheCallingThread() {
+		// One thread and one queue slot: the third part is rejected by the pool
+		service = service(1, 1);
+		CountDownLatch destinationsDone = new CountDownLatch(1);
+		AtomicReference<Thread> destinationsThread = new AtomicReference<>();
+		when(bookingService.getUpcomingBookings(anyLong(), anyInt())).thenAnswer(call -> {
+			// Keeps the only pool thread busy until the caller has run its part
+			destinationsDone.await(5, TimeUnit.SECONDS);
+			return List.of();
+		});
+		when(favoritesService.getFavoriteDestinationIds(USER)).thenReturn(List.of(3L));
+		when(destinationService.getFirstDestinations(PAGE_SIZE + 1)).thenAnswer(call -> {
+			destinationsThread.set(Thread.currentThread());
+			destinationsDone.countDown();
+			return destinations(1);
+		});
+
+		HomeResponse home = service.getHome(USER);
+
+		assertThat(destinationsThread.get()).isSameAs(Thread.currentThread());
+		assertThat(home.getFailedParts()).isEmpty();
+		assertThat(home.getUpcomingBookings()).isEmpty();
+		assertThat(home.getFavoriteDestinationIds()).containsExactly(3L);
+		assertThat(home.getDestinations()).hasSize(1);
+	}
+
+	private HomeService service(int threads, int queueCapacity) {
+		return new HomeService(bookingService, favoritesService, destinationService, meterRegistry,
+				threads, queueCapacity, 10, PAGE_SIZE, TIMEOUT, TIMEOUT, Duration.ofSeconds(5));
+	}
+
+	private double failures(String part, String reason) {
+		return meterRegistry.counter("home.part.failures", "part", part, "reason", reason).count();
+	}
+
+	private static List<Destination> destinations(int count) {
+		return LongStream.range(0, count)
+				.mapToObj(id -> Destination.builder().id(id).name("Destination " + id).build())
+				.toList();
+	}
+}
@@ -0,0 +1,95 @@
+package com.travelapp.travelplanner.itinerary.optimizer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RouteOptimizerTest {
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+	@AfterAll
+	static void shutdown() {
+		POOL.shutdown();
+	}
+
+	@Test
+	void findsTheShortestOpenPathOnSmallInputs() {
+		RouteOptimizer optimizer = new RouteOptimizer(POOL);
+		Random random = new Random(11);
+		for (int n = 1; n <= 8; n++) {
+			for (int instance = 0; instance < 10; instance++) {
+				double[][] distances = planarDistances(random, n);
+
+				RouteOptimizer.Result result = optimizer.optimize(distances, 256, 5_000, instance);
+
+				assertThat(result.order()).as("a permutation of %d stops", n)
+						.containsExactlyInAnyOrder(identity(n));
+				assertThat(result.length()).isCloseTo(RouteOptimizer.pathLength(distances, result.order()), within(1e-9));
+				assertThat(result.length()).as("n=%d instance=%d", n, instance)
+						.isCloseTo(bruteForce(distances), within(1e-6));
+			}
+		}
+	}
+
+	@Test
+	void returnsAValidOrderEvenWithoutTimeLeft() {
+		double[][] distances = planarDistances(new Random(3), 30);
+
+		RouteOptimizer.Result result = new RouteOptimizer(POOL).optimize(distances, 256, 0, 1);
+
+		assertThat(result.order()).containsExactlyInAnyOrder(identity(30));
+		assertThat(result.restarts()).isPositive();
+	}
+
+	private static double[][] planarDistances(Random random, int n) {
+		double[][] points = new double[n][];
+		for (int i = 0; i < n; i++) {
+			points[i] = new double[]{random.nextDouble() * 1000, random.nextDouble() * 1000};
+		}
+		double[][] distances = new double[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				distances[i][j] = Math.hypot(points[i][0] - points[j][0], points[i][1] - points[j][1]);
+			}
+		}
+		return distances;
+	}
+
+	private static double bruteForce(double[][] distances) {
+		int[] order = identity(distances.length);
+		double[] best = {Double.MAX_VALUE};
+		permute(order, 0, distances, best);
+		return best[0];
+	}
+
+	private static void permute(int[] order, int k, double[][] distances, double[] best) {
+		if (k == order.length) {
+			best[0] = Math.min(best[0], RouteOptimizer.pathLength(distances, order));
+			return;
+		}
+		for (int i = k; i < order.length; i++) {
+			swap(order, k, i);
+			permute(order, k + 1, distances, best);
+			swap(order, k, i);
+		}
+	}
+
+	private static void swap(int[] order, int i, int j) {
+		int tmp = order[i];
+		order[i] = order[j];
+		order[j] = tmp;
+	}
+
+	private static int[] identity(int n) {
+		int[] order = new int[n];
+		Arrays.setAll(order, i -> i);
+		return order;
+	}
+}
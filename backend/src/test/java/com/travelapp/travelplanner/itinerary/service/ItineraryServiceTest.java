@@ -0,0 +1,135 @@
+package com.travelapp.travelplanner.itinerary.service;
+
+import com.travelapp.travelplanner.booking.service.BookingService;
+import com.travelapp.travelplanner.destination.model.Destination;
+import com.travelapp.travelplanner.destination.repository.DestinationRepository;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryRequest;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryResponse;
+import com.travelapp.travelplanner.itinerary.dto.ItineraryStop;
+import com.travelapp.travelplanner.pricing.service.PricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItineraryServiceTest {
+
+	private static final LocalDate START = LocalDate.of(2030, 6, 1);
+
+	// Paris, Lyon, Rome: Lyon lies between the other two
+	private final Destination paris = destination(1L, 48.8566, 2.3522, 100.0);
+	private final Destination lyon = destination(2L, 45.7640, 4.8357, 80.0);
+	private final Destination rome = destination(3L, 41.9028, 12.4964, 90.0);
+
+	private final DestinationRepository destinationRepository = mock(DestinationRepository.class);
+	private final PricingService pricingService = mock(PricingService.class);
+	private ItineraryService service;
+
+	// Nightly rate per traveler by destination id, overriding the base price
+	private Map<Long, Double> rates = Map.of();
+
+	@BeforeEach
+	void setUp() {
+		when(destinationRepository.findAllById(any())).thenReturn(List.of(paris, lyon, rome));
+		when(pricingService.priceStay(any(), any(), any(), anyInt())).thenAnswer(call -> {
+			Destination destination = call.getArgument(0);
+			long nights = ChronoUnit.DAYS.between((LocalDate) call.getArgument(1), (LocalDate) call.getArgument(2));
+			int travelers = call.getArgument(3);
+			double rate = rates.getOrDefault(destination.getId(), destination.getPrice());
+			return BigDecimal.valueOf(rate * nights * travelers);
+		});
+		service = new ItineraryService(destinationRepository, mock(BookingService.class), pricingService);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void ordersStopsAlongTheRouteAndGivesEachTheMinimumPlusTheRestToTheCheapest() {
+		ItineraryResponse response = service.plan(request(10, 2, null));
+
+		List<ItineraryStop> stops = response.getStops();
+		assertThat(stops.stream().map(ItineraryStop::getDestinationId).toList())
+				.isIn(List.of(1L, 2L, 3L), List.of(3L, 2L, 1L));
+		// 3 x 2 minimum nights, the other 4 at Lyon (lowest rate)
+		assertThat(nightsAt(stops, 1L)).isEqualTo(2);
+		assertThat(nightsAt(stops, 2L)).isEqualTo(6);
+		assertThat(nightsAt(stops, 3L)).isEqualTo(2);
+		assertThat(stops.get(0).getStartDate()).isEqualTo(START);
+		assertThat(stops.get(2).getEndDate()).isEqualTo(START.plusDays(10));
+		for (int i = 1; i < stops.size(); i++) {
+			assertThat(stops.get(i).getStartDate()).isEqualTo(stops.get(i - 1).getEndDate());
+		}
+		// Two travelers: (2 x 100 + 6 x 80 + 2 x 90) x 2
+		assertThat(response.getStayCost()).isEqualTo(1720.0);
+	}
+
+	@Test
+	void remainingNightsFollowTheRateTableNotTheBasePrice() {
+		// A rule makes Rome the cheapest stop although its base price is not
+		rates = Map.of(3L, 50.0);
+
+		ItineraryResponse response = service.plan(request(9, 1, null));
+
+		assertThat(nightsAt(response.getStops(), 3L)).isEqualTo(7);
+		assertThat(nightsAt(response.getStops(), 1L)).isEqualTo(1);
+		assertThat(nightsAt(response.getStops(), 2L)).isEqualTo(1);
+		assertThat(response.getStayCost()).isEqualTo((100.0 + 80.0 + 7 * 50.0) * 2);
+	}
+
+	@Test
+	void withinBudgetComparesTheTotalCostWithTheBudget() {
+		ItineraryResponse unbounded = service.plan(request(6, 1, null));
+		double total = unbounded.getTotalCost();
+		assertThat(unbounded.isWithinBudget()).isTrue();
+		assertThat(total).isEqualTo(unbounded.getStayCost() + unbounded.getTravelCost());
+
+		assertThat(service.plan(request(6, 1, total + 1)).isWithinBudget()).isTrue();
+		ItineraryResponse over = service.plan(request(6, 1, total - 1));
+		assertThat(over.isWithinBudget()).isFalse();
+		// The budget is advisory: the plan is the same
+		assertThat(over.getStops()).isEqualTo(unbounded.getStops());
+	}
+
+	private static ItineraryRequest request(int nights, int minNightsPerStop, Double budget) {
+		ItineraryRequest request = new ItineraryRequest();
+		request.setDestinationIds(List.of(1L, 2L, 3L));
+		request.setStartDate(START);
+		request.setEndDate(START.plusDays(nights));
+		request.setTravelers(2);
+		request.setMinNightsPerStop(minNightsPerStop);
+		request.setBudget(budget);
+		return request;
+	}
+
+	private static int nightsAt(List<ItineraryStop> stops, long destinationId) {
+		return stops.stream()
+				.filter(stop -> stop.getDestinationId() == destinationId)
+				.mapToInt(ItineraryStop::getNights)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static Destination destination(long id, double lat, double lon, double price) {
+		Destination destination = new Destination();
+		destination.setId(id);
+		destination.setName("d" + id);
+		destination.setLatitude(lat);
+		destination.setLongitude(lon);
+		destination.setPrice(price);
+		return destination;
+	}
+}
@@ -0,0 +1,60 @@
+package com.travelapp.travelplanner.pricing.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateTableTest {
+
+	// A Monday
+	private static final LocalDate FIRST_DAY = LocalDate.of(2026, 6, 1);
+
+	@Test
+	void stayPriceSumsTheDailyRates() {
+		RateTable table = RateTable.compile(100, FIRST_DAY, 30, List.of());
+
+		assertThat(table.stayCents(FIRST_DAY, FIRST_DAY.plusDays(3))).isEqualTo(30_000);
+		assertThat(table.quoteCents(FIRST_DAY, FIRST_DAY.plusDays(3), 2)).isEqualTo(60_000);
+	}
+
+	@Test
+	void seasonAndWeekdayRulesStackOnTheDaysTheyCover() {
+		RateTable table = RateTable.compile(100, FIRST_DAY, 30, List.of(
+				rule(PricingRuleKind.SEASON, 1.5).startDate(FIRST_DAY.plusDays(5)).endDate(FIRST_DAY.plusDays(6)).build(),
+				rule(PricingRuleKind.WEEKDAY, 2).dayOfWeek(7).build(),
+				// Starts before the table: only its covered days count
+				rule(PricingRuleKind.SEASON, 0.5).startDate(FIRST_DAY.minusDays(10)).endDate(FIRST_DAY).build()));
+
+		// Mon 50, Tue..Fri 100 each, Sat 150, Sun 100 * 1.5 * 2
+		assertThat(table.stayCents(FIRST_DAY, FIRST_DAY.plusDays(7))).isEqualTo(5_000 + 40_000 + 15_000 + 30_000);
+		assertThat(table.stayCents(FIRST_DAY.plusDays(13), FIRST_DAY.plusDays(14))).isEqualTo(20_000);
+	}
+
+	@Test
+	void largestReachedOccupancyTierApplies() {
+		RateTable table = RateTable.compile(100, FIRST_DAY, 30, List.of(
+				rule(PricingRuleKind.OCCUPANCY, 0.8).minTravelers(6).build(),
+				rule(PricingRuleKind.OCCUPANCY, 0.9).minTravelers(3).build()));
+
+		assertThat(table.occupancyMultiplier(2)).isEqualTo(1.0);
+		assertThat(table.occupancyMultiplier(4)).isEqualTo(0.9);
+		assertThat(table.occupancyMultiplier(6)).isEqualTo(0.8);
+		assertThat(table.quoteCents(FIRST_DAY, FIRST_DAY.plusDays(1), 3)).isEqualTo(27_000);
+	}
+
+	@Test
+	void coversOnlyCompiledDays() {
+		RateTable table = RateTable.compile(100, FIRST_DAY, 10, List.of());
+
+		assertThat(table.covers(FIRST_DAY, FIRST_DAY.plusDays(10))).isTrue();
+		assertThat(table.covers(FIRST_DAY, FIRST_DAY.plusDays(11))).isFalse();
+		assertThat(table.covers(FIRST_DAY.minusDays(1), FIRST_DAY)).isFalse();
+	}
+
+	private static PricingRule.PricingRuleBuilder rule(PricingRuleKind kind, double multiplier) {
+		return PricingRule.builder().name(kind.name()).kind(kind).multiplier(multiplier);
+	}
+}
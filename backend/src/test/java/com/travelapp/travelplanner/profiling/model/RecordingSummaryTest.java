@@ -0,0 +1,86 @@
+package com.travelapp.travelplanner.profiling.model;
+
+import com.travelapp.travelplanner.profiling.event.CallEvent;
+import com.travelapp.travelplanner.profiling.event.RepositoryCallEvent;
+import com.travelapp.travelplanner.profiling.event.ServiceCallEvent;
+import com.travelapp.travelplanner.profiling.event.TokenVerificationEvent;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingSummaryTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void callEventsAreGroupedByComponentAndMethod() throws Exception {
+		Path file = dir.resolve("calls.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(ServiceCallEvent.NAME).withThreshold(Duration.ZERO);
+			recording.enable(RepositoryCallEvent.NAME).withThreshold(Duration.ZERO);
+			recording.enable(TokenVerificationEvent.NAME).withThreshold(Duration.ZERO);
+			recording.start();
+			for (int i = 0; i < 3; i++) {
+				call(new ServiceCallEvent(), "BookingService", "createBooking", i == 2);
+			}
+			call(new ServiceCallEvent(), "FavoritesService", "sync", false);
+			call(new RepositoryCallEvent(), "BookingRepository", "findStateById", false);
+			TokenVerificationEvent token = new TokenVerificationEvent();
+			token.outcome = "valid";
+			token.commit();
+			recording.stop();
+			recording.dump(file);
+		}
+
+		Map<String, Object> report = RecordingSummary.summarize(file, 10);
+
+		List<Map<String, Object>> services = (List<Map<String, Object>>) report.get("serviceCalls");
+		assertThat(services).extracting(row -> row.get("name"))
+				.containsExactlyInAnyOrder("BookingService.createBooking", "FavoritesService.sync");
+		Map<String, Object> create = services.stream()
+				.filter(row -> row.get("name").equals("BookingService.createBooking")).findFirst().orElseThrow();
+		assertThat(create.get("count")).isEqualTo(3L);
+		assertThat(create.get("failed")).isEqualTo(1L);
+		assertThat((List<Map<String, Object>>) report.get("repositoryCalls")).extracting(row -> row.get("name"))
+				.containsExactly("BookingRepository.findStateById");
+		assertThat((List<Map<String, Object>>) report.get("tokenVerifications")).extracting(row -> row.get("name"))
+				.containsExactly("valid");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void topLimitsEveryList() throws Exception {
+		Path file = dir.resolve("many.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(ServiceCallEvent.NAME).withThreshold(Duration.ZERO);
+			recording.start();
+			for (int i = 0; i < 5; i++) {
+				call(new ServiceCallEvent(), "Service" + i, "run", false);
+			}
+			recording.stop();
+			recording.dump(file);
+		}
+
+		Map<String, Object> report = RecordingSummary.summarize(file, 2);
+
+		assertThat((List<?>) report.get("serviceCalls")).hasSize(2);
+	}
+
+	private static void call(CallEvent event, String component, String method, boolean failed) throws InterruptedException {
+		event.begin();
+		Thread.sleep(1);
+		event.component = component;
+		event.method = method;
+		event.failed = failed;
+		event.commit();
+	}
+}
@@ -0,0 +1,44 @@
+package com.travelapp.travelplanner.recommendation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CooccurrenceModelTest {
+
+	@Test
+	void similarRanksByCosineAndRemovalUndoesCounts() {
+		CooccurrenceModel model = new CooccurrenceModel();
+		model.addInteraction(1, 10);
+		model.addInteraction(1, 20);
+		model.addInteraction(2, 10);
+		model.addInteraction(2, 20);
+		model.addInteraction(2, 30);
+
+		List<CooccurrenceModel.ScoredItem> similar = model.similar(10, 5);
+		assertThat(similar).extracting(CooccurrenceModel.ScoredItem::destinationId).containsExactly(20L, 30L);
+
+		model.removeInteraction(2, 30);
+		assertThat(model.similar(30, 5)).isEmpty();
+		assertThat(model.similar(10, 5)).extracting(CooccurrenceModel.ScoredItem::destinationId).containsExactly(20L);
+	}
+
+	@Test
+	void userRecommendationsExcludeOwnedDestinations() {
+		CooccurrenceModel model = new CooccurrenceModel();
+		model.addInteraction(1, 10);
+		model.addInteraction(2, 10);
+		model.addInteraction(2, 30);
+		// a second interaction with the same destination does not double count
+		model.addInteraction(2, 30);
+
+		assertThat(model.recommendForUser(1, 5))
+				.extracting(CooccurrenceModel.ScoredItem::destinationId)
+				.containsExactly(30L);
+
+		model.removeInteraction(2, 30);
+		assertThat(model.recommendForUser(1, 5)).hasSize(1);
+	}
+}
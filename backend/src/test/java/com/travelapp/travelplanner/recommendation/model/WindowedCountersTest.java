@@ -0,0 +1,70 @@
+package com.travelapp.travelplanner.recommendation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WindowedCountersTest {
+
+	private static final long MINUTE = 60_000;
+
+	@Test
+	void sumCoversOnlyTheNewestBuckets() {
+		WindowedCounters counters = new WindowedCounters(MINUTE, 10);
+		long now = 1_000 * MINUTE;
+		counters.add(1, now, 1);
+		counters.add(1, now - MINUTE, 2);
+		counters.add(1, now - 5 * MINUTE, 4);
+
+		assertThat(counters.sum(1, now, 1)).isEqualTo(1);
+		assertThat(counters.sum(1, now, 2)).isEqualTo(3);
+		assertThat(counters.sum(1, now, 10)).isEqualTo(7);
+		assertThat(counters.sum(2, now, 10)).isZero();
+	}
+
+	@Test
+	void slotsFromAnEarlierLapAreResetAndTooOldEventsIgnored() {
+		WindowedCounters counters = new WindowedCounters(MINUTE, 4);
+		long now = 1_000 * MINUTE;
+		counters.add(1, now - 4 * MINUTE, 5);
+		counters.add(1, now, 1);
+		counters.add(1, now - 4 * MINUTE, 5);
+
+		assertThat(counters.sum(1, now, 4)).isEqualTo(1);
+		assertThat(counters.sum(1, now + 4 * MINUTE, 4)).isZero();
+	}
+
+	@Test
+	void pruneDropsDestinationsWithoutRecentEvents() {
+		WindowedCounters counters = new WindowedCounters(MINUTE, 4);
+		long now = 1_000 * MINUTE;
+		counters.add(1, now - 3 * MINUTE, 1);
+		counters.add(2, now, 1);
+
+		counters.prune(now + 2 * MINUTE);
+
+		assertThat(counters.destinationIds()).containsExactly(2L);
+	}
+
+	@Test
+	void concurrentIncrementsAreNotLost() throws InterruptedException {
+		WindowedCounters counters = new WindowedCounters(MINUTE, 4);
+		long now = 1_000 * MINUTE;
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			pool.execute(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					counters.add(1, now, 1);
+				}
+			});
+		}
+		pool.shutdown();
+		assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(counters.sum(1, now, 1)).isEqualTo(40_000);
+	}
+}
@@ -0,0 +1,98 @@
+package com.travelapp.travelplanner.recommendation.service;
+
+import com.travelapp.travelplanner.booking.event.BookingChangedEvent;
+import com.travelapp.travelplanner.booking.model.BookingStatus;
+import com.travelapp.travelplanner.booking.repository.BookingRepository;
+import com.travelapp.travelplanner.favorites.event.FavoriteChangedEvent;
+import com.travelapp.travelplanner.favorites.repository.FavoritesRepository;
+import com.travelapp.travelplanner.recommendation.dto.TrendingDestinationResponse;
+import com.travelapp.travelplanner.recommendation.model.TrendingWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingServiceTest {
+
+	private final BookingRepository bookingRepository = mock(BookingRepository.class);
+	private final FavoritesRepository favoritesRepository = mock(FavoritesRepository.class);
+	private TrendingService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new TrendingService(bookingRepository, favoritesRepository, 3, 1, 10);
+	}
+
+	@Test
+	void seedsCountsFromTheDatabase() {
+		LocalDateTime recent = LocalDateTime.now().minusMinutes(10);
+		when(bookingRepository.findDestinationActivitySince(any())).thenReturn(rows(1L, recent, 1L, recent));
+		when(favoritesRepository.findDestinationActivitySince(any())).thenReturn(rows(2L, recent));
+
+		service.resync();
+
+		assertThat(service.getTrending(TrendingWindow.HOUR, 10))
+				.extracting(TrendingDestinationResponse::getDestinationId, TrendingDestinationResponse::getScore)
+				.containsExactly(tuple(1L, 6.0), tuple(2L, 1.0));
+	}
+
+	@Test
+	void eventsDeliveredDuringTheSeedingQueriesAreKept() {
+		LocalDateTime recent = LocalDateTime.now().minusMinutes(10);
+		// Committed after the queries read the tables, delivered while they run
+		when(bookingRepository.findDestinationActivitySince(any())).thenAnswer(call -> {
+			service.onBookingChanged(new BookingChangedEvent(100L, 5L, 1L, null, BookingStatus.PENDING));
+			return rows(1L, recent);
+		});
+		when(favoritesRepository.findDestinationActivitySince(any())).thenAnswer(call -> {
+			service.onFavoriteChanged(new FavoriteChangedEvent(5L, 2L, true));
+			return List.of();
+		});
+
+		service.resync();
+
+		assertThat(score(1L)).isEqualTo(6.0);
+		assertThat(score(2L)).isEqualTo(1.0);
+
+		// The journal stops with the swap: later events count once
+		service.onFavoriteChanged(new FavoriteChangedEvent(6L, 2L, true));
+		assertThat(score(2L)).isEqualTo(2.0);
+	}
+
+	@Test
+	void failedResyncKeepsTheLiveCounts() {
+		service.onBookingChanged(new BookingChangedEvent(100L, 5L, 1L, null, BookingStatus.PENDING));
+		when(bookingRepository.findDestinationActivitySince(any())).thenThrow(new IllegalStateException("database down"));
+
+		assertThatThrownBy(service::resync).isInstanceOf(IllegalStateException.class);
+
+		service.onBookingChanged(new BookingChangedEvent(101L, 5L, 1L, null, BookingStatus.PENDING));
+		service.refresh();
+		assertThat(score(1L)).isEqualTo(6.0);
+	}
+
+	private double score(long destinationId) {
+		return service.getTrending(TrendingWindow.HOUR, 10).stream()
+				.filter(entry -> entry.getDestinationId() == destinationId)
+				.mapToDouble(TrendingDestinationResponse::getScore)
+				.findFirst()
+				.orElse(0);
+	}
+
+	private static List<Object[]> rows(Object... idsAndTimes) {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < idsAndTimes.length; i += 2) {
+			rows.add(new Object[]{idsAndTimes[i], idsAndTimes[i + 1]});
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,60 @@
+package com.travelapp.travelplanner.security.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationIndexTest {
+
+	@Test
+	void revokedTokenIdsAreRejectedAndOthersPass() {
+		RevocationIndex index = new RevocationIndex();
+		index.revokeToken("revoked", 10_000);
+
+		assertThat(index.isRevoked("revoked", 1, 0)).isTrue();
+		assertThat(index.isRevoked("other", 1, 0)).isFalse();
+		assertThat(index.isRevoked(null, 1, 0)).isFalse();
+	}
+
+	@Test
+	void userRevocationOnlyCoversTokensIssuedInEarlierSeconds() {
+		RevocationIndex index = new RevocationIndex();
+		index.revokeUser(7, 5_400, 10_000);
+
+		assertThat(index.isRevoked("a", 7, 4_000)).isTrue();
+		// iat is whole seconds: a re-login in the same second gets a working token
+		assertThat(index.isRevoked("a", 7, 5_000)).isFalse();
+		assertThat(index.isRevoked("a", 7, 6_000)).isFalse();
+		assertThat(index.isRevoked("a", 8, 4_000)).isFalse();
+	}
+
+	@Test
+	void compactDropsExpiredEntries() {
+		RevocationIndex index = new RevocationIndex();
+		index.revokeToken("short", 1_000);
+		index.revokeToken("long", 9_000);
+		index.revokeUser(7, 500, 1_000);
+
+		assertThat(index.compact(2_000)).isEqualTo(2);
+		assertThat(index.isRevoked("short", 1, 0)).isFalse();
+		assertThat(index.isRevoked("long", 1, 0)).isTrue();
+		assertThat(index.isRevoked(null, 7, 0)).isFalse();
+	}
+
+	@Test
+	void staysExactWhileGrowingPastInitialCapacity() {
+		RevocationIndex index = new RevocationIndex();
+		for (int i = 0; i < 5_000; i++) {
+			index.revokeToken("token-" + i, Long.MAX_VALUE);
+		}
+
+		for (int i = 0; i < 5_000; i++) {
+			assertThat(index.isRevoked("token-" + i, 1, 0)).isTrue();
+		}
+		for (int i = 0; i < 1_000; i++) {
+			assertThat(index.isRevoked(UUID.randomUUID().toString(), 1, 0)).isFalse();
+		}
+	}
+}
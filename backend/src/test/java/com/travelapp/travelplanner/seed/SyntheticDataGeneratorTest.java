@@ -0,0 +1,79 @@
+package com.travelapp.travelplanner.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDataGeneratorTest {
+
+	private static final LocalDate ANCHOR = LocalDate.of(2026, 6, 1);
+
+	@Test
+	void sameSeedGivesTheSameRowsWhateverTheChunkOrder() {
+		SyntheticDataGenerator first = generator(42);
+		SyntheticDataGenerator second = generator(42);
+
+		List<SyntheticDataGenerator.BookingRow> forward = new ArrayList<>();
+		first.bookings(0, 0, 500, forward::add);
+		first.bookings(1, 500, 1000, forward::add);
+		List<SyntheticDataGenerator.BookingRow> secondChunk = new ArrayList<>();
+		second.bookings(1, 500, 1000, secondChunk::add);
+		List<SyntheticDataGenerator.BookingRow> firstChunk = new ArrayList<>();
+		second.bookings(0, 0, 500, firstChunk::add);
+
+		assertThat(forward.subList(0, 500)).isEqualTo(firstChunk);
+		assertThat(forward.subList(500, 1000)).isEqualTo(secondChunk);
+		assertThat(second.destination(17)).isEqualTo(first.destination(17));
+		assertThat(generator(43).destination(17)).isNotEqualTo(first.destination(17));
+	}
+
+	@Test
+	void bookingsFavourPopularDestinations() {
+		SyntheticDataGenerator generator = generator(7);
+		int[] counts = new int[1000];
+		generator.bookings(0, 0, 20_000, row -> counts[row.destinationIndex()]++);
+
+		int[] sorted = counts.clone();
+		Arrays.sort(sorted);
+		int top10 = 0;
+		for (int i = sorted.length - 10; i < sorted.length; i++) {
+			top10 += sorted[i];
+		}
+		// Zipf(1.1) over 1000 ranks puts about 40% of draws on the top 1%
+		assertThat(top10).isBetween(6_000, 10_000);
+	}
+
+	@Test
+	void bookingsAreConsistent() {
+		generator(7).bookings(0, 0, 5_000, row -> {
+			assertThat(row.endDate()).isAfter(row.startDate());
+			assertThat(row.startDate()).isAfterOrEqualTo(row.createdAt().toLocalDate());
+			assertThat(row.createdAt().toLocalDate()).isBefore(ANCHOR);
+			assertThat(row.travelers()).isBetween(1, 6);
+			assertThat(row.totalPrice().signum()).isPositive();
+		});
+	}
+
+	@Test
+	void favoritesAreDistinctPerUser() {
+		Set<Long> pairs = new HashSet<>();
+		int[] rows = new int[1];
+		generator(7).favorites(0, 0, 2_000, row -> {
+			rows[0]++;
+			assertThat(pairs.add((long) row.userIndex() << 32 | row.destinationIndex())).isTrue();
+		});
+		// Mean of two per user
+		assertThat(rows[0]).isBetween(3_000, 5_000);
+	}
+
+	private static SyntheticDataGenerator generator(long seed) {
+		return new SyntheticDataGenerator(seed, ANCHOR, 5_000, 1_000, 365, 2.0, 1.1, 0.6);
+	}
+}
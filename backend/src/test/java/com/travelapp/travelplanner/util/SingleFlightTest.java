@@ -0,0 +1,132 @@
+package com.travelapp.travelplanner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10));
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			results.add(pool.submit(() -> flight.load(1L, () -> {
+				loads.incrementAndGet();
+				started.countDown();
+				await(release);
+				return "paris";
+			})));
+			if (i == 0) {
+				await(started);
+			}
+		}
+		// Let the other seven reach the running load before it finishes
+		Thread.sleep(200);
+		release.countDown();
+
+		for (Future<String> result : results) {
+			assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("paris");
+		}
+		pool.shutdown();
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(flight.coalesced()).isEqualTo(7);
+		assertThat(flight.coalescingRatio()).isEqualTo(7 / 8.0);
+	}
+
+	@Test
+	void finishedLoadsAreNotReused() {
+		SingleFlight<Long, Integer> flight = new SingleFlight<>("test", Duration.ofSeconds(10));
+		AtomicInteger loads = new AtomicInteger();
+
+		flight.load(1L, loads::incrementAndGet);
+		flight.load(1L, loads::incrementAndGet);
+
+		assertThat(loads.get()).isEqualTo(2);
+		assertThat(flight.coalesced()).isZero();
+	}
+
+	@Test
+	void waitingCallersGetTheLeadersException() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10));
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		Future<String> leader = pool.submit(() -> flight.load(1L, () -> {
+			await(release);
+			throw new IllegalArgumentException("missing");
+		}));
+		Thread.sleep(50);
+
+		Thread releaser = new Thread(() -> {
+			sleep(50);
+			release.countDown();
+		});
+		releaser.start();
+		assertThatThrownBy(() -> flight.load(1L, () -> "unused"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("missing");
+		assertThat(catchCause(leader)).isInstanceOf(IllegalArgumentException.class);
+		pool.shutdown();
+	}
+
+	@Test
+	void callersStopWaitingAtTheDeadlineAndLoadThemselves() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofMillis(100));
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		pool.submit(() -> flight.load(1L, () -> {
+			await(release);
+			return "stuck";
+		}));
+		Thread.sleep(20);
+
+		assertThat(flight.load(1L, () -> "own")).isEqualTo("own");
+		assertThat(flight.timeouts()).isEqualTo(1);
+		// Past the deadline the stuck load is no longer joined
+		assertThat(flight.load(1L, () -> "fresh")).isEqualTo("fresh");
+		assertThat(flight.loads()).isEqualTo(2);
+
+		release.countDown();
+		pool.shutdown();
+	}
+
+	private static Throwable catchCause(Future<?> future) {
+		try {
+			future.get(10, TimeUnit.SECONDS);
+			return null;
+		} catch (Exception e) {
+			return e.getCause();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -12,6 +12,11 @@ export const authApi = {
         return response.data;
     },
 
+    // Revokes the current access token and the given refresh token
+    logout: async (refreshToken: string | null): Promise<void> => {
+        await axiosInstance.post('/auth/logout', refreshToken ? { refreshToken } : null);
+    },
+
     // Note: Your backend doesn't have /me endpoint yet
     // You might need to add it or decode JWT on frontend
     getCurrentUser: async (): Promise<User> => {
@@ -1,4 +1,6 @@
 import axios from 'axios';
+import type { AxiosError, InternalAxiosRequestConfig } from 'axios';
+import type { AuthResponse } from '../types';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -23,13 +25,49 @@ axiosInstance.interceptors.request.use(
     }
 );
 
+// Refresh tokens are single use, so concurrent 401s must share one refresh call
+let refreshInFlight: Promise<string> | null = null;
+
+const refreshAccessToken = (refreshToken: string): Promise<string> => {
+    if (!refreshInFlight) {
+        refreshInFlight = axios
+            .post<AuthResponse>(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+            .then((response) => {
+                localStorage.setItem('token', response.data.token);
+                localStorage.setItem('refreshToken', response.data.refreshToken);
+                return response.data.token;
+            })
+            .finally(() => {
+                refreshInFlight = null;
+            });
+    }
+    return refreshInFlight;
+};
+
 // Response interceptor to handle errors
 axiosInstance.interceptors.response.use(
     (response) => response,
-    (error) => {
+    async (error: AxiosError) => {
+        const original = error.config as (InternalAxiosRequestConfig & { _retried?: boolean }) | undefined;
+        const refreshToken = localStorage.getItem('refreshToken');
+
+        // Access token expired or revoked: try once with a refreshed one
+        const isAuthCall = original?.url?.startsWith('/auth/') ?? false;
+        if (error.response?.status === 401 && original && !original._retried && !isAuthCall && refreshToken) {
+            original._retried = true;
+            try {
+                const token = await refreshAccessToken(refreshToken);
+                original.headers.Authorization = `Bearer ${token}`;
+                return axiosInstance(original);
+            } catch {
+                // Fall through to a fresh login
+            }
+        }
+
         if (error.response?.status === 401) {
             // Token expired or invalid
             localStorage.removeItem('token');
+            localStorage.removeItem('refreshToken');
             localStorage.removeItem('user');
             window.location.href = '/login';
         }
@@ -1,9 +1,12 @@
 import axiosInstance from './axios';
-import type { BookingRequest, BookingResponse } from '../types';
+import type { BookingPageResponse, BookingRequest, BookingResponse, BookingSearchParams } from '../types';
 
 export const bookingsApi = {
-    create: async (data: BookingRequest): Promise<BookingResponse> => {
-        const response = await axiosInstance.post<BookingResponse>('/bookings', data);
+    // Resending the same idempotencyKey returns the booking created the first time
+    create: async (data: BookingRequest, idempotencyKey?: string): Promise<BookingResponse> => {
+        const response = await axiosInstance.post<BookingResponse>('/bookings', data, {
+            headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined,
+        });
         return response.data;
     },
 
@@ -27,11 +30,18 @@ export const bookingsApi = {
         return response.data;
     },
 
-    updateStatus: async (id: number, status: 'PENDING' | 'CONFIRMED' | 'CANCELLED'): Promise<BookingResponse> => {
+    // One page at a time; pass the previous page's nextCursor as cursor for the next
+    searchBookings: async (params: BookingSearchParams): Promise<BookingPageResponse> => {
+        const response = await axiosInstance.get<BookingPageResponse>('/bookings/admin/search', { params });
+        return response.data;
+    },
+
+    // With version the change is refused (409) if someone else changed the booking first
+    updateStatus: async (id: number, status: 'PENDING' | 'CONFIRMED' | 'CANCELLED', version?: number | null): Promise<BookingResponse> => {
         const response = await axiosInstance.patch<BookingResponse>(
             `/bookings/admin/${id}/status`,
             null,
-            { params: { status } }
+            { params: { status, version: version ?? undefined } }
         );
         return response.data;
     },
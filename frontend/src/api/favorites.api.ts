@@ -6,11 +6,25 @@ export interface FavoriteRequest {
 }
 
 export interface FavoriteResponse {
-    id: number;
+    // Null while the server holds the favorite for write-behind
+    id: number | null;
     userId: number;
     destination: Destination;
 }
 
+// Either the full wanted set (destinationIds) or a batch of operations (add/remove)
+export interface FavoritesSyncRequest {
+    destinationIds?: number[];
+    add?: number[];
+    remove?: number[];
+}
+
+export interface FavoritesSyncResponse {
+    added: number[];
+    removed: number[];
+    favorites: FavoriteResponse[];
+}
+
 export const favoritesApi = {
     getAll: async (): Promise<FavoriteResponse[]> => {
         const response = await axiosInstance.get<FavoriteResponse[]>('/favorites');
@@ -31,4 +45,9 @@ export const favoritesApi = {
     removeByDestination: async (destinationId: number): Promise<void> => {
         await axiosInstance.delete(`/favorites/by-destination/${destinationId}`);
     },
+
+    sync: async (request: FavoritesSyncRequest): Promise<FavoritesSyncResponse> => {
+        const response = await axiosInstance.post<FavoritesSyncResponse>('/favorites/sync', request);
+        return response.data;
+    },
 };
\ No newline at end of file
@@ -0,0 +1,18 @@
+import axiosInstance from './axios';
+import type { BookingResponse, Destination } from '../types';
+
+// A part listed in failedParts is null: fetch it from its own endpoint
+export interface HomeResponse {
+    upcomingBookings: BookingResponse[] | null;
+    favoriteDestinationIds: number[] | null;
+    destinations: Destination[] | null;
+    moreDestinations: boolean;
+    failedParts: string[];
+}
+
+export const homeApi = {
+    get: async (): Promise<HomeResponse> => {
+        const response = await axiosInstance.get<HomeResponse>('/home');
+        return response.data;
+    },
+};
@@ -0,0 +1,19 @@
+import axiosInstance from './axios';
+
+export type TrendingWindow = '1h' | '24h' | '7d';
+
+export interface TrendingDestination {
+    destinationId: number;
+    bookings: number;
+    favorites: number;
+    score: number;
+}
+
+export const recommendationsApi = {
+    trending: async (window: TrendingWindow, limit = 8): Promise<TrendingDestination[]> => {
+        const response = await axiosInstance.get<TrendingDestination[]>('/recommendations/trending', {
+            params: { window, limit },
+        });
+        return response.data;
+    },
+};
@@ -9,13 +9,16 @@ interface TravelCardProps {
     onDelete?: (id: number) => void;
     onRemoveFavorite?: (destinationId: number) => void;
     isFavoritePage?: boolean;
+    // Known favorite state (e.g. from the home response); skips the per-card lookup
+    favorite?: boolean;
 }
 
 export const TravelCard: React.FC<TravelCardProps> = ({
     destination,
     onDelete,
     onRemoveFavorite,
-    isFavoritePage = false
+    isFavoritePage = false,
+    favorite
 }) => {
     const navigate = useNavigate();
     const { isAdmin } = useAuth();
@@ -35,12 +38,14 @@ export const TravelCard: React.FC<TravelCardProps> = ({
             };
         }
 
-        if (!isFavoritePage) {
-            checkIfFavorite();
-        } else {
+        if (isFavoritePage) {
             setIsFavorite(true);
+        } else if (favorite !== undefined) {
+            setIsFavorite(favorite);
+        } else {
+            checkIfFavorite();
         }
-    }, [destination.id, isFavoritePage]);
+    }, [destination.id, isFavoritePage, favorite]);
 
     const handleClick = () => {
         navigate(`/destination/${destination.id}`);
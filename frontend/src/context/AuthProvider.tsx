@@ -34,6 +34,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
             };
 
             localStorage.setItem('token', jwtToken);
+            localStorage.setItem('refreshToken', response.refreshToken);
             localStorage.setItem('user', JSON.stringify(userData));
 
             setToken(jwtToken);
@@ -67,7 +68,10 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
     };
 
     const logout = () => {
+        // Best effort: the local session ends even if the server cannot be reached
+        authApi.logout(localStorage.getItem('refreshToken')).catch(() => undefined);
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
         setToken(null);
         setUser(null);
@@ -1,51 +1,47 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { bookingsApi } from '../api/bookings.api';
-import type { BookingResponse } from '../types';
+import type { BookingResponse, BookingSearchParams } from '../types';
 
 type BookingStatus = 'PENDING' | 'CONFIRMED' | 'CANCELLED';
 
+const PAGE_SIZE = 50;
+
 export const AdminBookings: React.FC = () => {
     const navigate = useNavigate();
     const [bookings, setBookings] = useState<BookingResponse[]>([]);
-    const [filteredBookings, setFilteredBookings] = useState<BookingResponse[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState('');
 
-    // Filters
+    // Filters, applied by the server; the email is only sent on submit
     const [statusFilter, setStatusFilter] = useState<string>('ALL');
-    const [searchTerm, setSearchTerm] = useState('');
+    const [emailInput, setEmailInput] = useState('');
+    const [emailFilter, setEmailFilter] = useState('');
+    const [createdFrom, setCreatedFrom] = useState('');
+    const [createdTo, setCreatedTo] = useState('');
+
+    const searchParams = (cursor?: string): BookingSearchParams => ({
+        status: statusFilter === 'ALL' ? undefined : (statusFilter as BookingStatus),
+        email: emailFilter || undefined,
+        createdFrom: createdFrom ? `${createdFrom}T00:00:00` : undefined,
+        createdTo: createdTo ? `${createdTo}T23:59:59.999999` : undefined,
+        size: PAGE_SIZE,
+        cursor,
+    });
 
     useEffect(() => {
         fetchBookings();
-    }, []);
-
-    useEffect(() => {
-        const applyFilters = () => {
-            let result = [...bookings];
-
-            // Status filter
-            if (statusFilter !== 'ALL') {
-                result = result.filter((booking) => booking.status === statusFilter);
-            }
-
-            // Search by destination name
-            if (searchTerm) {
-                result = result.filter((booking) =>
-                    booking.destination.name.toLowerCase().includes(searchTerm.toLowerCase())
-                );
-            }
-
-            setFilteredBookings(result);
-        };
-        applyFilters();
-    }, [bookings, statusFilter, searchTerm]);
+    }, [statusFilter, emailFilter, createdFrom, createdTo]);
 
     const fetchBookings = async () => {
         try {
             setLoading(true);
-            const data = await bookingsApi.getAllBookings();
-            setBookings(data);
+            setError('');
+            const page = await bookingsApi.searchBookings(searchParams());
+            setBookings(page.items);
+            setNextCursor(page.nextCursor);
         } catch (err) {
             if (err instanceof Error) {
                 setError(err.message || 'Failed to load bookings');
@@ -55,19 +51,39 @@ export const AdminBookings: React.FC = () => {
         }
     };
 
-    const handleUpdateStatus = async (bookingId: number, newStatus: BookingStatus) => {
+    const loadMore = async () => {
+        if (!nextCursor) {
+            return;
+        }
+        try {
+            setLoadingMore(true);
+            const page = await bookingsApi.searchBookings(searchParams(nextCursor));
+            setBookings((current) => [...current, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            if (err instanceof Error) {
+                setError(err.message || 'Failed to load bookings');
+            }
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
+    const handleUpdateStatus = async (bookingId: number, newStatus: BookingStatus, version: number | null) => {
         if (!window.confirm(`Change status to ${newStatus}?`)) {
             return;
         }
 
         try {
-            await bookingsApi.updateStatus(bookingId, newStatus);
+            const updated = await bookingsApi.updateStatus(bookingId, newStatus, version);
             alert(`Booking status updated to ${newStatus}`);
-            fetchBookings();
+            setBookings((current) => current.map((booking) => (booking.id === bookingId ? updated : booking)));
         } catch (err) {
             if (err instanceof Error) {
                 alert(err.message || 'Failed to update booking status');
             }
+            // Most failures mean the booking changed meanwhile: show its current state
+            fetchBookings();
         }
     };
 
@@ -139,12 +155,19 @@ export const AdminBookings: React.FC = () => {
                         <span className="mr-2">🔍</span> Filters
                     </h2>
 
-                    <div className="grid grid-cols-1 md:grid-cols-2 gap-4">
+                    <form
+                        onSubmit={(e) => {
+                            e.preventDefault();
+                            setEmailFilter(emailInput.trim());
+                        }}
+                        className="grid grid-cols-1 md:grid-cols-4 gap-4"
+                    >
                         <input
-                            type="text"
-                            placeholder="Search by destination..."
-                            value={searchTerm}
-                            onChange={(e) => setSearchTerm(e.target.value)}
+                            type="email"
+                            placeholder="User email, then Enter..."
+                            value={emailInput}
+                            onChange={(e) => setEmailInput(e.target.value)}
+                            onBlur={() => setEmailFilter(emailInput.trim())}
                             className="px-4 py-3 rounded-lg border border-gray-300 dark:border-gray-600 bg-white dark:bg-gray-700 text-gray-900 dark:text-white placeholder-gray-400 dark:placeholder-gray-500 focus:outline-none focus:ring-2 focus:ring-purple-500"
                         />
 
@@ -158,7 +181,23 @@ export const AdminBookings: React.FC = () => {
                             <option value="CONFIRMED">✅ Confirmed</option>
                             <option value="CANCELLED">❌ Cancelled</option>
                         </select>
-                    </div>
+
+                        <input
+                            type="date"
+                            title="Booked on or after"
+                            value={createdFrom}
+                            onChange={(e) => setCreatedFrom(e.target.value)}
+                            className="px-4 py-3 rounded-lg border border-gray-300 dark:border-gray-600 bg-white dark:bg-gray-700 text-gray-900 dark:text-white focus:outline-none focus:ring-2 focus:ring-purple-500"
+                        />
+
+                        <input
+                            type="date"
+                            title="Booked on or before"
+                            value={createdTo}
+                            onChange={(e) => setCreatedTo(e.target.value)}
+                            className="px-4 py-3 rounded-lg border border-gray-300 dark:border-gray-600 bg-white dark:bg-gray-700 text-gray-900 dark:text-white focus:outline-none focus:ring-2 focus:ring-purple-500"
+                        />
+                    </form>
                 </div>
 
                 {/* Stats */}
@@ -166,7 +205,7 @@ export const AdminBookings: React.FC = () => {
                     <div className="bg-white dark:bg-gray-800 rounded-xl shadow-md p-6 border border-gray-200 dark:border-gray-700">
                         <div className="text-3xl mb-2">📋</div>
                         <div className="text-2xl font-bold text-gray-900 dark:text-white">{bookings.length}</div>
-                        <div className="text-sm text-gray-600 dark:text-gray-400">Total Bookings</div>
+                        <div className="text-sm text-gray-600 dark:text-gray-400">Loaded Bookings</div>
                     </div>
 
                     <div className="bg-green-50 dark:bg-green-900/20 rounded-xl shadow-md p-6 border border-green-200 dark:border-green-800">
@@ -197,17 +236,17 @@ export const AdminBookings: React.FC = () => {
                 {/* Bookings List */}
                 <div className="mb-6">
                     <h2 className="text-2xl font-bold text-gray-900 dark:text-white mb-6">
-                        Bookings <span className="text-purple-600 dark:text-purple-400">({filteredBookings.length})</span>
+                        Bookings <span className="text-purple-600 dark:text-purple-400">({bookings.length}{nextCursor ? '+' : ''})</span>
                     </h2>
 
-                    {filteredBookings.length === 0 ? (
+                    {bookings.length === 0 ? (
                         <div className="bg-white dark:bg-gray-800 rounded-xl shadow-md p-12 text-center border border-gray-200 dark:border-gray-700">
                             <div className="text-6xl mb-4">📭</div>
                             <p className="text-xl text-gray-600 dark:text-gray-400">No bookings found</p>
                         </div>
                     ) : (
                         <div className="space-y-4">
-                            {filteredBookings.map((booking) => (
+                            {bookings.map((booking) => (
                                 <div
                                     key={booking.id}
                                     className="bg-white dark:bg-gray-800 rounded-xl shadow-lg hover:shadow-xl transition-shadow border border-gray-200 dark:border-gray-700 p-6"
@@ -262,9 +301,9 @@ export const AdminBookings: React.FC = () => {
 
                                     {/* Action Buttons */}
                                     <div className="flex flex-wrap gap-2 pt-4 border-t border-gray-200 dark:border-gray-700">
-                                        {booking.status !== 'CONFIRMED' && (
+                                        {booking.status === 'PENDING' && (
                                             <button
-                                                onClick={() => handleUpdateStatus(booking.id, 'CONFIRMED')}
+                                                onClick={() => handleUpdateStatus(booking.id, 'CONFIRMED', booking.version)}
                                                 className="px-4 py-2 bg-green-600 hover:bg-green-700 dark:bg-green-500 dark:hover:bg-green-600 text-white text-sm font-medium rounded-lg transition"
                                             >
                                                 ✅ Confirm
@@ -273,16 +312,16 @@ export const AdminBookings: React.FC = () => {
 
                                         {booking.status !== 'CANCELLED' && (
                                             <button
-                                                onClick={() => handleUpdateStatus(booking.id, 'CANCELLED')}
+                                                onClick={() => handleUpdateStatus(booking.id, 'CANCELLED', booking.version)}
                                                 className="px-4 py-2 bg-red-600 hover:bg-red-700 dark:bg-red-500 dark:hover:bg-red-600 text-white text-sm font-medium rounded-lg transition"
                                             >
                                                 ❌ Cancel
                                             </button>
                                         )}
 
-                                        {booking.status !== 'PENDING' && (
+                                        {booking.status === 'CONFIRMED' && (
                                             <button
-                                                onClick={() => handleUpdateStatus(booking.id, 'PENDING')}
+                                                onClick={() => handleUpdateStatus(booking.id, 'PENDING', booking.version)}
                                                 className="px-4 py-2 bg-yellow-600 hover:bg-yellow-700 dark:bg-yellow-500 dark:hover:bg-yellow-600 text-white text-sm font-medium rounded-lg transition"
                                             >
                                                 ⏳ Set Pending
@@ -295,6 +334,18 @@ export const AdminBookings: React.FC = () => {
                                     </div>
                                 </div>
                             ))}
+
+                            {nextCursor && (
+                                <div className="text-center pt-2">
+                                    <button
+                                        onClick={loadMore}
+                                        disabled={loadingMore}
+                                        className="px-6 py-3 bg-purple-600 hover:bg-purple-700 disabled:opacity-50 text-white font-medium rounded-lg transition"
+                                    >
+                                        {loadingMore ? 'Loading...' : 'Load more'}
+                                    </button>
+                                </div>
+                            )}
                         </div>
                     )}
                 </div>
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate, useLocation } from 'react-router-dom';
 import { destinationsApi } from '../api/destinations.api';
 import { bookingsApi } from '../api/bookings.api';
@@ -21,6 +21,9 @@ export const BookingForm: React.FC = () => {
     const [travelers, setTravelers] = useState(initialTravelers);
     const [startDate, setStartDate] = useState('');
 
+    // Same key while the request is unchanged, so a retry after a timeout cannot book twice
+    const idempotency = useRef<{ request: string; key: string } | null>(null);
+
     useEffect(() => {
         if (id) {
             fetchDestination(Number(id));
@@ -60,13 +63,19 @@ export const BookingForm: React.FC = () => {
 
         const endDate = calculateEndDate(startDate);
 
+        const request = {
+            destinationId: Number(id),
+            startDate,
+            endDate,
+            travelers,
+        };
+        const fingerprint = JSON.stringify(request);
+        if (idempotency.current?.request !== fingerprint) {
+            idempotency.current = { request: fingerprint, key: crypto.randomUUID() };
+        }
+
         try {
-            await bookingsApi.create({
-                destinationId: Number(id),
-                startDate,
-                endDate,
-                travelers,
-            });
+            await bookingsApi.create(request, idempotency.current.key);
 
             setSuccess(true);
             setTimeout(() => {
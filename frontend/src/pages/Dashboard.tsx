@@ -1,7 +1,10 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { destinationsApi } from '../api/destinations.api';
-import type { Destination } from '../types';
+import { favoritesApi } from '../api/favorites.api';
+import { homeApi } from '../api/home.api';
+import { recommendationsApi, type TrendingDestination, type TrendingWindow } from '../api/recommendations.api';
+import type { BookingResponse, Destination } from '../types';
 import { TravelCard } from '../components/TravelCard';
 import { useAuth } from '../hooks/useAuth';
 
@@ -16,6 +19,9 @@ export const Dashboard: React.FC = () => {
     const [filteredDestinations, setFilteredDestinations] = useState<Destination[]>([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
+    const [upcomingBookings, setUpcomingBookings] = useState<BookingResponse[]>([]);
+    // Undefined until known; cards then look up their own state
+    const [favoriteIds, setFavoriteIds] = useState<Set<number>>();
 
     // Filter and sort state
     const [searchTerm, setSearchTerm] = useState('');
@@ -25,12 +31,30 @@ export const Dashboard: React.FC = () => {
     const [sortBy, setSortBy] = useState<Sort>('name');
     const [sortOrder, setSortOrder] = useState<Order>('asc');
 
+    // Trending state
+    const [trendingWindow, setTrendingWindow] = useState<TrendingWindow>('24h');
+    const [trending, setTrending] = useState<TrendingDestination[]>([]);
+
     useEffect(() => {
-        const fetchDestinations = async () => {
+        // One request for first paint; parts the server could not load fall back to their own endpoints
+        const fetchHome = async () => {
             try {
                 setLoading(true);
-                const data = await destinationsApi.getAll();
-                setDestinations(data);
+                const home = await homeApi.get();
+                setUpcomingBookings(home.upcomingBookings ?? []);
+                if (home.destinations) {
+                    setDestinations(home.destinations);
+                }
+                if (home.favoriteDestinationIds) {
+                    setFavoriteIds(new Set(home.favoriteDestinationIds));
+                } else {
+                    favoritesApi.getAll()
+                        .then((favorites) => setFavoriteIds(new Set(favorites.map((fav) => fav.destination.id))))
+                        .catch(() => setFavoriteIds(undefined));
+                }
+                if (!home.destinations || home.moreDestinations) {
+                    setDestinations(await destinationsApi.getAll());
+                }
             } catch (err) {
                 if (err instanceof Error) {
                     setError(err.message || 'Failed to load destinations');
@@ -40,9 +64,16 @@ export const Dashboard: React.FC = () => {
             }
         };
 
-        fetchDestinations();
+        fetchHome();
     }, []);
 
+    useEffect(() => {
+        // Trending is a nice-to-have: the dashboard works without it
+        recommendationsApi.trending(trendingWindow)
+            .then(setTrending)
+            .catch(() => setTrending([]));
+    }, [trendingWindow]);
+
     useEffect(() => {
         const applyFiltersAndSort = () => {
             let result = [...destinations];
@@ -122,6 +153,10 @@ export const Dashboard: React.FC = () => {
         }
     };
 
+    const trendingDestinations = trending
+        .map((t) => ({ stats: t, destination: destinations.find((d) => d.id === t.destinationId) }))
+        .filter((t): t is { stats: TrendingDestination; destination: Destination } => t.destination !== undefined);
+
     if (loading) {
         return (
             <div className="min-h-screen bg-gray-50 dark:bg-gray-900 flex items-center justify-center">
@@ -206,6 +241,63 @@ export const Dashboard: React.FC = () => {
                     </div>
                 )}
 
+                {/* Upcoming Trips */}
+                {upcomingBookings.length > 0 && (
+                    <div className="bg-white dark:bg-gray-800 rounded-xl shadow-md p-6 mb-8 border border-gray-200 dark:border-gray-700">
+                        <h2 className="text-xl font-semibold text-gray-900 dark:text-white mb-4 flex items-center">
+                            <span className="mr-2">🧳</span> Upcoming Trips
+                        </h2>
+                        <div className="flex flex-wrap gap-3">
+                            {upcomingBookings.map((booking) => (
+                                <button
+                                    key={booking.id}
+                                    onClick={() => navigate('/my-bookings')}
+                                    className="px-4 py-2 text-sm text-left rounded-lg bg-gray-100 dark:bg-gray-700 hover:bg-gray-200 dark:hover:bg-gray-600 transition"
+                                >
+                                    <span className="font-semibold text-gray-900 dark:text-white">{booking.destination.name}</span>
+                                    <span className="ml-2 text-gray-500 dark:text-gray-400">
+                                        {new Date(booking.startDate).toLocaleDateString()} · {booking.status}
+                                    </span>
+                                </button>
+                            ))}
+                        </div>
+                    </div>
+                )}
+
+                {/* Trending Section */}
+                {trendingDestinations.length > 0 && (
+                    <div className="bg-white dark:bg-gray-800 rounded-xl shadow-md p-6 mb-8 border border-gray-200 dark:border-gray-700">
+                        <div className="flex items-center justify-between mb-4">
+                            <h2 className="text-xl font-semibold text-gray-900 dark:text-white flex items-center">
+                                <span className="mr-2">🔥</span> Trending
+                            </h2>
+                            <select
+                                value={trendingWindow}
+                                onChange={(e) => setTrendingWindow(e.target.value as TrendingWindow)}
+                                className="px-3 py-2 rounded-lg border border-gray-300 dark:border-gray-600 bg-white dark:bg-gray-700 text-gray-900 dark:text-white focus:outline-none focus:ring-2 focus:ring-blue-500"
+                            >
+                                <option value="1h">Last hour</option>
+                                <option value="24h">Last 24 hours</option>
+                                <option value="7d">Last 7 days</option>
+                            </select>
+                        </div>
+                        <div className="flex flex-wrap gap-3">
+                            {trendingDestinations.map(({ stats, destination }) => (
+                                <button
+                                    key={destination.id}
+                                    onClick={() => navigate(`/destination/${destination.id}`)}
+                                    className="px-4 py-2 text-sm text-left rounded-lg bg-gray-100 dark:bg-gray-700 hover:bg-gray-200 dark:hover:bg-gray-600 transition"
+                                >
+                                    <span className="font-semibold text-gray-900 dark:text-white">{destination.name}</span>
+                                    <span className="ml-2 text-gray-500 dark:text-gray-400">
+                                        {stats.bookings} bookings · {stats.favorites} favorites
+                                    </span>
+                                </button>
+                            ))}
+                        </div>
+                    </div>
+                )}
+
                 {/* Filters Section */}
                 <div className="bg-white dark:bg-gray-800 rounded-xl shadow-md p-6 mb-8 border border-gray-200 dark:border-gray-700">
                     <h2 className="text-xl font-semibold text-gray-900 dark:text-white mb-4 flex items-center">
@@ -301,7 +393,12 @@ export const Dashboard: React.FC = () => {
                     ) : (
                         <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
                             {filteredDestinations.map((dest) => (
-                                <TravelCard key={dest.id} destination={dest} onDelete={handleDeleteDestination} />
+                                <TravelCard
+                                    key={dest.id}
+                                    destination={dest}
+                                    onDelete={handleDeleteDestination}
+                                    favorite={favoriteIds?.has(dest.id)}
+                                />
                             ))}
                         </div>
                     )}
@@ -105,7 +105,7 @@ export const Favorites: React.FC = () => {
                         <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
                             {favorites.map((favorite) => (
                                 <TravelCard
-                                    key={favorite.id}
+                                    key={favorite.destination.id}
                                     destination={favorite.destination}
                                     onRemoveFavorite={handleRemoveFavorite}
                                     isFavoritePage={true}
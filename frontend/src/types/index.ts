@@ -7,6 +7,7 @@ export interface User {
 
 export interface AuthResponse {
     token: string;
+    refreshToken: string;
 }
 
 export interface LoginRequest {
@@ -28,6 +29,8 @@ export interface Destination {
     description: string;
     imageUrl: string;
     price: number;
+    latitude?: number | null;
+    longitude?: number | null;
 }
 
 export interface BookingRequest {
@@ -44,7 +47,30 @@ export interface BookingResponse {
     endDate: string;
     travelers: number;
     status: 'PENDING' | 'CONFIRMED' | 'CANCELLED';
+    totalPrice: number | null;
     createdAt: string;
+    // Null for archived bookings
+    version: number | null;
+}
+
+// Admin search filters; unset fields do not filter. createdFrom/createdTo are ISO date-times
+export interface BookingSearchParams {
+    status?: 'PENDING' | 'CONFIRMED' | 'CANCELLED';
+    destinationId?: number;
+    email?: string;
+    startFrom?: string;
+    startTo?: string;
+    createdFrom?: string;
+    createdTo?: string;
+    order?: 'asc' | 'desc';
+    size?: number;
+    cursor?: string;
+}
+
+// nextCursor is null on the last page
+export interface BookingPageResponse {
+    items: BookingResponse[];
+    nextCursor: string | null;
 }
 
 export interface CreateDestinationRequest {